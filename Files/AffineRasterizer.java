@@ -0,0 +1,973 @@
+/**
+ * AffineRasterizer.java - Pure Java inverse-mapping affine image rasterizer
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+
+/**
+ * This class draws a source <code>PixelBuffer</code> into a destination <code>PixelBuffer</code>
+ * under an arbitrary <code>AffineTransform</code> without going through
+ * <code>Graphics2D.drawImage</code>, making the cost of each frame both controllable and
+ * measurable. It works by inverse mapping: every destination pixel center is mapped back through
+ * the inverse transform into source space and the source is sampled at that point.
+ * <br />
+ * <br />
+ * Rather than perform a full matrix multiplication per pixel, the source coordinates of the first
+ * covered pixel of each scanline are computed once, after which moving one pixel to the right
+ * simply adds the inverse transform's x-column to the running coordinates. The range of
+ * destination columns whose centers map inside the source is also solved for up front, so that
+ * pixels outside the image are never visited. Destination rows are split into bands and
+ * rasterized in parallel via <code>RowBandTask</code>.
+ * <br />
+ * <br />
+ * Nearest-neighbor sampling takes the source pixel under each destination pixel center. For
+ * translations this reproduces the default behavior of <code>Graphics2D.drawImage</code> as used
+ * by <code>ImagePanel.paintComponent</code>, but under a scale with a fractional offset Java2D
+ * rounds the edges of the image differently, so that the two may differ by a row or column of
+ * pixels. Bilinear sampling blends the four nearest source pixels, clamping at the edges of the
+ * image.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Affine_transformation">Affine transformation</a>
+ * @author Andrew Eissen
+ */
+final class AffineRasterizer {
+
+  /** Fixed-point precision used for the bilinear sampling weights */
+  static final int WEIGHT_BITS = 8;
+  static final int WEIGHT_ONE = 1 << AffineRasterizer.WEIGHT_BITS;
+
+  /**
+   * Available sampling methods
+   */
+  enum Sampling {
+    NEAREST,
+    BILINEAR
+  }
+
+  /**
+   * Classes of transform, each of which is drawn by its own specialized routine
+   */
+  enum TransformClass {
+    IDENTITY,            // Rows copied as is
+    INTEGER_TRANSLATION, // Rows copied at a whole-pixel offset
+    AXIS_ALIGNED_SCALE,  // Scales and flips without rotation; columns looked up from a table
+    QUADRANT_ROTATION,   // Multiples of 90 degrees; axes swapped and looked up from a table
+    GENERAL              // Anything else; full incremental inverse mapping
+  }
+
+  /**
+   * Private constructor; this class holds only static utility methods.
+   */
+  private AffineRasterizer() {
+  }
+
+  // Utility methods
+
+  /**
+   * This method draws the source image into the destination under the given transform, which maps
+   * source pixel coordinates to destination pixel coordinates. Destination pixels not covered by
+   * the transformed source are left untouched, so the destination should already contain the
+   * desired background. A non-invertible transform collapses the image to nothing and draws no
+   * pixels, mirroring <code>Graphics2D</code>.
+   * <br />
+   * <br />
+   * The transform is first classified by <code>AffineRasterizer.classify</code>, and the cheap
+   * classes are dispatched to specialized routines. Translations become a
+   * <code>System.arraycopy</code> per row, while axis-aligned scales and quadrant rotations look
+   * source columns up from a table computed once per band rather than stepping coordinates per
+   * pixel. These three read an indexed source through its palette colors, leaving it unexpanded.
+   * Everything else goes through the general scanline path.
+   *
+   * @param source <code>PixelBuffer</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param transform <code>AffineTransform</code> from source to destination space
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @param parallel <code>boolean</code> whether rows may be rasterized in bands across cores
+   * @return void
+   */
+  protected static void rasterize(PixelBuffer source, PixelBuffer destination,
+      AffineTransform transform, AffineRasterizer.Sampling sampling, boolean parallel) {
+
+    // Declarations
+    AffineTransform inverse;
+
+    try {
+      inverse = transform.createInverse();
+    } catch (NoninvertibleTransformException ex) {
+      return;
+    }
+
+    switch (AffineRasterizer.classify(transform, sampling)) {
+      case IDENTITY:
+      case INTEGER_TRANSLATION:
+        RowBandTask.fill(destination, (PixelBuffer buffer, int startRow, int endRow) -> {
+          AffineRasterizer.translateRows(source, buffer, transform, startRow, endRow);
+        }, parallel);
+        break;
+      case AXIS_ALIGNED_SCALE:
+        RowBandTask.fill(destination, (PixelBuffer buffer, int startRow, int endRow) -> {
+          AffineRasterizer.scaleRows(source, buffer, inverse, startRow, endRow);
+        }, parallel);
+        break;
+      case QUADRANT_ROTATION:
+        RowBandTask.fill(destination, (PixelBuffer buffer, int startRow, int endRow) -> {
+          AffineRasterizer.rotateRows(source, buffer, inverse, startRow, endRow);
+        }, parallel);
+        break;
+      default:
+        RowBandTask.fill(destination, (PixelBuffer buffer, int startRow, int endRow) -> {
+          AffineRasterizer.rasterizeRows(source, buffer, inverse, sampling, startRow, endRow);
+        }, parallel);
+        break;
+    }
+  }
+
+  /**
+   * This method draws a run-length encoded image into the destination under the given transform,
+   * exactly as <code>AffineRasterizer.rasterize</code> would draw the decoded image. Where the
+   * transform maps source rows onto destination rows, that is, for translations and axis-aligned
+   * scales under nearest-neighbor sampling, each run is drawn as a single filled span of the
+   * destination, so that the cost of a row depends on its number of runs rather than its width.
+   * Rotations, shears and bilinear sampling fall back to drawing the decoded image.
+   *
+   * @param source <code>RunLengthImage</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param transform <code>AffineTransform</code> from source to destination space
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @param parallel <code>boolean</code> whether rows may be rasterized in bands across cores
+   * @return void
+   */
+  protected static void rasterize(RunLengthImage source, PixelBuffer destination,
+      AffineTransform transform, AffineRasterizer.Sampling sampling, boolean parallel) {
+
+    // Declarations
+    AffineTransform inverse;
+
+    try {
+      inverse = transform.createInverse();
+    } catch (NoninvertibleTransformException ex) {
+      return;
+    }
+
+    switch (AffineRasterizer.classify(transform, sampling)) {
+      case IDENTITY:
+      case INTEGER_TRANSLATION:
+        RowBandTask.fill(destination, (PixelBuffer buffer, int startRow, int endRow) -> {
+          AffineRasterizer.translateRuns(source, buffer, transform, startRow, endRow);
+        }, parallel);
+        break;
+      case AXIS_ALIGNED_SCALE:
+        RowBandTask.fill(destination, (PixelBuffer buffer, int startRow, int endRow) -> {
+          AffineRasterizer.scaleRuns(source, buffer, inverse, startRow, endRow);
+        }, parallel);
+        break;
+      default:
+        AffineRasterizer.rasterize(source.getDecoded(), destination, transform, sampling,
+          parallel);
+        break;
+    }
+  }
+
+  /**
+   * This method draws a tiled image into the destination under the given transform, exactly as
+   * <code>AffineRasterizer.rasterize</code> would draw the whole image were it held in a single
+   * <code>PixelBuffer</code>. Each destination pixel is mapped back into the image as in the
+   * general path, and the tile under its source point is fetched from the image as needed, so
+   * that only the tiles under the visible part of the image are ever produced. As consecutive
+   * pixels mostly fall in the same tile, the tile last used is kept at hand between pixels.
+   *
+   * @param source <code>TiledImage</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param transform <code>AffineTransform</code> from source to destination space
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @param parallel <code>boolean</code> whether rows may be rasterized in bands across cores
+   * @return void
+   */
+  protected static void rasterize(TiledImage source, PixelBuffer destination,
+      AffineTransform transform, AffineRasterizer.Sampling sampling, boolean parallel) {
+
+    // Declarations
+    AffineTransform inverse;
+
+    try {
+      inverse = transform.createInverse();
+    } catch (NoninvertibleTransformException ex) {
+      return;
+    }
+
+    RowBandTask.fill(destination, (PixelBuffer buffer, int startRow, int endRow) -> {
+      AffineRasterizer.rasterizeTileRows(source, buffer, inverse, sampling, startRow, endRow);
+    }, parallel);
+  }
+
+  /**
+   * This method determines which specialized routine may draw an image under the given transform.
+   * Under nearest-neighbor sampling, any pure translation maps whole source pixels onto whole
+   * destination pixels and so is treated as an integer translation, as are scales and quadrant
+   * rotations which need only a lookup per pixel. Bilinear sampling blends neighboring pixels
+   * whenever a pixel does not land exactly on another, so only identity and whole-pixel
+   * translations are special-cased for it.
+   *
+   * @param transform <code>AffineTransform</code> from source to destination space
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @return transformClass <code>AffineRasterizer.TransformClass</code>
+   */
+  protected static AffineRasterizer.TransformClass classify(AffineTransform transform,
+      AffineRasterizer.Sampling sampling) {
+
+    // Declarations
+    boolean translationOnly, integral, nearest;
+
+    // Definitions
+    translationOnly = transform.getScaleX() == 1.0 && transform.getScaleY() == 1.0
+      && transform.getShearX() == 0.0 && transform.getShearY() == 0.0;
+    integral = transform.getTranslateX() == Math.rint(transform.getTranslateX())
+      && transform.getTranslateY() == Math.rint(transform.getTranslateY());
+    nearest = sampling != AffineRasterizer.Sampling.BILINEAR;
+
+    if (translationOnly && transform.getTranslateX() == 0.0
+        && transform.getTranslateY() == 0.0) {
+      return AffineRasterizer.TransformClass.IDENTITY;
+    } else if (translationOnly && (integral || nearest)) {
+      return AffineRasterizer.TransformClass.INTEGER_TRANSLATION;
+    } else if (nearest && transform.getShearX() == 0.0 && transform.getShearY() == 0.0) {
+      return AffineRasterizer.TransformClass.AXIS_ALIGNED_SCALE;
+    } else if (nearest && transform.getScaleX() == 0.0 && transform.getScaleY() == 0.0) {
+      return AffineRasterizer.TransformClass.QUADRANT_ROTATION;
+    } else {
+      return AffineRasterizer.TransformClass.GENERAL;
+    }
+  }
+
+  /**
+   * This method draws rows <tt>[startRow, endRow)</tt> for a pure translation. The translation is
+   * rounded to whole pixels as <code>Graphics2D.drawImage</code> does, with halves rounded up,
+   * after which each covered destination row is a straight copy of part of a source row, or, for
+   * an indexed source, a lookup of each index in its palette.
+   *
+   * @param source <code>PixelBuffer</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param transform <code>AffineTransform</code> from source to destination space
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   * @return void
+   */
+  private static void translateRows(PixelBuffer source, PixelBuffer destination,
+      AffineTransform transform, int startRow, int endRow) {
+
+    // Declarations
+    int offsetX, offsetY, fromX, toX, fromY, toY;
+
+    // Definitions; source pixel (u, v) lands on destination pixel (u + offsetX, v + offsetY)
+    offsetX = (int) Math.floor(transform.getTranslateX() + 0.5);
+    offsetY = (int) Math.floor(transform.getTranslateY() + 0.5);
+    fromX = Math.max(0, offsetX);
+    toX = Math.min(destination.getWidth(), source.getWidth() + offsetX);
+    fromY = Math.max(startRow, offsetY);
+    toY = Math.min(endRow, source.getHeight() + offsetY);
+
+    for (int y = fromY; y < toY && fromX < toX; y++) {
+      AffineRasterizer.copyRow(source, (y - offsetY) * source.getWidth() + fromX - offsetX,
+        destination.getPixels(), y * destination.getWidth() + fromX, toX - fromX);
+    }
+  }
+
+  /**
+   * This method draws rows <tt>[startRow, endRow)</tt> for a scale or flip without rotation.
+   * As each destination column then always maps to the same source column, the source column of
+   * every destination column is computed once into a table. Each row is then a simple gather from
+   * a single source row, and consecutive rows drawn from the same source row are copied outright.
+   *
+   * @param source <code>PixelBuffer</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param inverse <code>AffineTransform</code> from destination to source space
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   * @return void
+   */
+  private static void scaleRows(PixelBuffer source, PixelBuffer destination,
+      AffineTransform inverse, int startRow, int endRow) {
+
+    // Declarations
+    int[] dstPixels, columns, span;
+    int srcWidth, dstWidth, v, previousV, rowOffset;
+
+    // Definitions
+    dstPixels = destination.getPixels();
+    srcWidth = source.getWidth();
+    dstWidth = destination.getWidth();
+    span = new int[2];
+    columns = AffineRasterizer.buildLookup(inverse.getScaleX(), inverse.getTranslateX(), srcWidth,
+      dstWidth, span);
+    previousV = -1;
+
+    for (int y = startRow; y < endRow && span[0] < span[1]; y++) {
+      v = (int) Math.floor(inverse.getScaleY() * (y + 0.5) + inverse.getTranslateY());
+
+      if (v < 0 || v >= source.getHeight()) {
+        previousV = -1;
+        continue;
+      }
+
+      rowOffset = y * dstWidth;
+
+      if (v == previousV) {
+
+        // Same source row as the row above; copy it rather than gather it again
+        System.arraycopy(dstPixels, rowOffset - dstWidth + span[0], dstPixels,
+          rowOffset + span[0], span[1] - span[0]);
+      } else {
+        AffineRasterizer.gatherRow(source, v * srcWidth, columns, dstPixels, rowOffset, span);
+      }
+
+      previousV = v;
+    }
+  }
+
+  /**
+   * This method draws rows <tt>[startRow, endRow)</tt> of a run-length encoded image for a pure
+   * translation, rounded to whole pixels as in <code>AffineRasterizer.translateRows</code>. Each
+   * run is shifted by the offset, clipped to the destination and filled as a single span.
+   *
+   * @param source <code>RunLengthImage</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param transform <code>AffineTransform</code> from source to destination space
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   * @return void
+   */
+  private static void translateRuns(RunLengthImage source, PixelBuffer destination,
+      AffineTransform transform, int startRow, int endRow) {
+
+    // Declarations
+    int[] ends, colors;
+    int offsetX, offsetY, fromY, toY, runStart;
+
+    // Definitions
+    offsetX = (int) Math.floor(transform.getTranslateX() + 0.5);
+    offsetY = (int) Math.floor(transform.getTranslateY() + 0.5);
+    fromY = Math.max(startRow, offsetY);
+    toY = Math.min(endRow, source.getHeight() + offsetY);
+
+    for (int y = fromY; y < toY; y++) {
+      ends = source.getRunEnds(y - offsetY);
+      colors = source.getRunColors(y - offsetY);
+      runStart = 0;
+
+      for (int index = 0; index < ends.length; index++) {
+        destination.fillSpan(y, Math.max(0, runStart + offsetX),
+          Math.min(destination.getWidth(), ends[index] + offsetX), colors[index]);
+        runStart = ends[index];
+      }
+    }
+  }
+
+  /**
+   * This method draws rows <tt>[startRow, endRow)</tt> of a run-length encoded image for a scale
+   * or flip without rotation. The source column of every destination column is tabulated just as
+   * in <code>AffineRasterizer.scaleRows</code>; as the table is monotonic, the destination columns
+   * drawn from any one run form a contiguous range, whose end is found by binary search. Each row
+   * then costs a few searches per run rather than a lookup per pixel.
+   *
+   * @param source <code>RunLengthImage</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param inverse <code>AffineTransform</code> from destination to source space
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   * @return void
+   */
+  private static void scaleRuns(RunLengthImage source, PixelBuffer destination,
+      AffineTransform inverse, int startRow, int endRow) {
+
+    // Declarations
+    int[] columns, span, ends, colors;
+    int v, x, run, runStart, next;
+
+    // Definitions
+    span = new int[2];
+    columns = AffineRasterizer.buildLookup(inverse.getScaleX(), inverse.getTranslateX(),
+      source.getWidth(), destination.getWidth(), span);
+
+    for (int y = startRow; y < endRow && span[0] < span[1]; y++) {
+      v = (int) Math.floor(inverse.getScaleY() * (y + 0.5) + inverse.getTranslateY());
+
+      if (v < 0 || v >= source.getHeight()) {
+        continue;
+      }
+
+      ends = source.getRunEnds(v);
+      colors = source.getRunColors(v);
+
+      for (x = span[0]; x < span[1]; x = next) {
+
+        // Run containing the source column of x, and the columns drawn from it
+        run = AffineRasterizer.findRun(ends, columns[x]);
+        runStart = (run == 0) ? 0 : ends[run - 1];
+        next = AffineRasterizer.findSpanEnd(columns, x, span[1], runStart, ends[run]);
+
+        destination.fillSpan(y, x, next, colors[run]);
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the run containing the given source column, found by binary search over
+   * the exclusive run ends.
+   *
+   * @param ends <code>int[]</code>
+   * @param column <code>int</code>
+   * @return run <code>int</code>
+   */
+  private static int findRun(int[] ends, int column) {
+
+    // Declarations
+    int low, high, middle;
+
+    // Definitions
+    low = 0;
+    high = ends.length - 1;
+
+    while (low < high) {
+      middle = (low + high) >>> 1;
+
+      if (ends[middle] <= column) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Returns the first column in <tt>[from, to)</tt> whose tabulated source column falls outside
+   * <tt>[runStart, runEnd)</tt>, or <code>to</code> if there is none. The column at
+   * <code>from</code> must fall inside it; as the table is monotonic, the columns that do form a
+   * prefix of the range.
+   *
+   * @param columns <code>int[]</code> monotonic lookup table
+   * @param from <code>int</code>
+   * @param to <code>int</code>
+   * @param runStart <code>int</code>
+   * @param runEnd <code>int</code>
+   * @return end <code>int</code>
+   */
+  private static int findSpanEnd(int[] columns, int from, int to, int runStart, int runEnd) {
+
+    // Declarations
+    int low, high, middle;
+
+    // Definitions
+    low = from + 1;
+    high = to;
+
+    while (low < high) {
+      middle = (low + high) >>> 1;
+
+      if (columns[middle] >= runStart && columns[middle] < runEnd) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * This method draws rows <tt>[startRow, endRow)</tt> for a rotation by a multiple of 90 degrees,
+   * optionally combined with a scale. The axes are swapped, so each destination row reads down a
+   * single source column while each destination column always maps to the same source row; the
+   * latter is computed once into a table of row offsets.
+   *
+   * @param source <code>PixelBuffer</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param inverse <code>AffineTransform</code> from destination to source space
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   * @return void
+   */
+  private static void rotateRows(PixelBuffer source, PixelBuffer destination,
+      AffineTransform inverse, int startRow, int endRow) {
+
+    // Declarations
+    int[] dstPixels, rows, span;
+    int srcWidth, dstWidth, u;
+
+    // Definitions
+    dstPixels = destination.getPixels();
+    srcWidth = source.getWidth();
+    dstWidth = destination.getWidth();
+    span = new int[2];
+    rows = AffineRasterizer.buildLookup(inverse.getShearY(), inverse.getTranslateY(),
+      source.getHeight(), dstWidth, span);
+
+    for (int x = span[0]; x < span[1]; x++) {
+      rows[x] *= srcWidth;
+    }
+
+    for (int y = startRow; y < endRow && span[0] < span[1]; y++) {
+      u = (int) Math.floor(inverse.getShearX() * (y + 0.5) + inverse.getTranslateX());
+
+      if (u < 0 || u >= srcWidth) {
+        continue;
+      }
+
+      AffineRasterizer.gatherRow(source, u, rows, dstPixels, y * dstWidth, span);
+    }
+  }
+
+  /**
+   * This method copies <code>length</code> consecutive source pixels, starting at index
+   * <code>srcOffset</code>, into the destination array. Packed RGB sources are copied outright,
+   * while the indices of an indexed source are looked up in its palette colors, so that the
+   * source is never expanded.
+   *
+   * @param source <code>PixelBuffer</code>
+   * @param srcOffset <code>int</code> index of the first source pixel
+   * @param dstPixels <code>int[]</code>
+   * @param dstOffset <code>int</code> index of the first destination pixel
+   * @param length <code>int</code>
+   * @return void
+   */
+  private static void copyRow(PixelBuffer source, int srcOffset, int[] dstPixels, int dstOffset,
+      int length) {
+
+    // Declarations
+    byte[] indices;
+    int[] colors;
+
+    // Definitions
+    indices = source.getIndices();
+    colors = source.getColors();
+
+    if (indices == null) {
+      PixelKernels.copy(source.getPixels(), srcOffset, dstPixels, dstOffset, length);
+      return;
+    }
+
+    for (int index = 0; index < length; index++) {
+      dstPixels[dstOffset + index] = colors[indices[srcOffset + index] & 0xFF];
+    }
+  }
+
+  /**
+   * This method fills columns <tt>[span[0], span[1])</tt> of a destination row from the source
+   * pixels at index <tt>base + table[x]</tt>, the table being built by
+   * <code>AffineRasterizer.buildLookup</code>. As with <code>AffineRasterizer.copyRow</code>, an
+   * indexed source is read through its palette colors rather than expanded.
+   *
+   * @param source <code>PixelBuffer</code>
+   * @param base <code>int</code> source index added to every table entry
+   * @param table <code>int[]</code> source index offset of each destination column
+   * @param dstPixels <code>int[]</code>
+   * @param rowOffset <code>int</code> index of the destination row's first pixel
+   * @param span <code>int[]</code> first and last-plus-one columns to fill
+   * @return void
+   */
+  private static void gatherRow(PixelBuffer source, int base, int[] table, int[] dstPixels,
+      int rowOffset, int[] span) {
+
+    // Declarations
+    byte[] indices;
+    int[] srcPixels, colors;
+
+    // Definitions
+    indices = source.getIndices();
+    colors = source.getColors();
+
+    if (indices == null) {
+      srcPixels = source.getPixels();
+
+      for (int x = span[0]; x < span[1]; x++) {
+        dstPixels[rowOffset + x] = srcPixels[base + table[x]];
+      }
+    } else {
+      for (int x = span[0]; x < span[1]; x++) {
+        dstPixels[rowOffset + x] = colors[indices[base + table[x]] & 0xFF];
+      }
+    }
+  }
+
+  /**
+   * This method builds the lookup table used by the scale and rotation routines, mapping each
+   * destination column <code>x</code> to source index <tt>floor(scale * (x + 0.5) + offset)</tt>.
+   * As the mapping is monotonic, the columns landing within <tt>[0, limit)</tt> form a single
+   * contiguous range, which is returned in <code>span</code>.
+   *
+   * @param scale <code>double</code>
+   * @param offset <code>double</code>
+   * @param limit <code>int</code> exclusive upper bound of valid source indices
+   * @param dstWidth <code>int</code>
+   * @param span <code>int[]</code> receives the first and last-plus-one covered column
+   * @return lookup <code>int[]</code>
+   */
+  private static int[] buildLookup(double scale, double offset, int limit, int dstWidth,
+      int[] span) {
+
+    // Declarations
+    int[] lookup;
+    int index;
+
+    // Definitions
+    lookup = new int[dstWidth];
+    span[0] = dstWidth;
+    span[1] = 0;
+
+    for (int x = 0; x < dstWidth; x++) {
+      index = (int) Math.floor(scale * (x + 0.5) + offset);
+      lookup[x] = index;
+
+      if (index >= 0 && index < limit) {
+        span[0] = Math.min(span[0], x);
+        span[1] = x + 1;
+      }
+    }
+
+    return lookup;
+  }
+
+  /**
+   * This method rasterizes destination rows <tt>[startRow, endRow)</tt>. For each row, the span
+   * of columns whose centers map inside the source is computed, the source coordinates of the
+   * first column are obtained from the inverse transform, and the remaining columns are visited by
+   * adding the constant per-column step. Under bilinear sampling, the coordinates of the whole
+   * span are stepped first and then sampled together by <code>PixelKernels.sampleBilinear</code>,
+   * which may process several columns per instruction.
+   *
+   * @param source <code>PixelBuffer</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param inverse <code>AffineTransform</code> from destination to source space
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   * @return void
+   */
+  private static void rasterizeRows(PixelBuffer source, PixelBuffer destination,
+      AffineTransform inverse, AffineRasterizer.Sampling sampling, int startRow, int endRow) {
+
+    // Declarations
+    int[] srcPixels, dstPixels;
+    int srcWidth, srcHeight, dstWidth, rowOffset, u, v;
+    double stepX, stepY, centerY, sourceX, sourceY;
+    int[] span;
+    double[] pointsX, pointsY;
+
+    // Definitions
+    srcPixels = source.getPixels();
+    dstPixels = destination.getPixels();
+    srcWidth = source.getWidth();
+    srcHeight = source.getHeight();
+    dstWidth = destination.getWidth();
+    stepX = inverse.getScaleX();
+    stepY = inverse.getShearY();
+    span = new int[2];
+    pointsX = (sampling == AffineRasterizer.Sampling.BILINEAR) ? new double[dstWidth] : null;
+    pointsY = (sampling == AffineRasterizer.Sampling.BILINEAR) ? new double[dstWidth] : null;
+
+    for (int y = startRow; y < endRow; y++) {
+      centerY = y + 0.5;
+
+      // Source coordinates of the center of column 0 on this row
+      sourceX = inverse.getShearX() * centerY + inverse.getTranslateX() + 0.5 * stepX;
+      sourceY = inverse.getScaleY() * centerY + inverse.getTranslateY() + 0.5 * stepY;
+
+      if (!AffineRasterizer.coveredSpan(sourceX, sourceY, stepX, stepY, srcWidth, srcHeight,
+          dstWidth, span)) {
+        continue;
+      }
+
+      sourceX += span[0] * stepX;
+      sourceY += span[0] * stepY;
+      rowOffset = y * dstWidth;
+
+      if (sampling == AffineRasterizer.Sampling.BILINEAR) {
+
+        // Step the coordinates of the whole span, then sample them in one go
+        for (int x = span[0]; x < span[1]; x++, sourceX += stepX, sourceY += stepY) {
+          pointsX[x] = sourceX;
+          pointsY[x] = sourceY;
+        }
+
+        PixelKernels.sampleBilinear(srcPixels, srcWidth, srcHeight, pointsX, pointsY, span[0],
+          span[1], dstPixels, rowOffset);
+        continue;
+      }
+
+      for (int x = span[0]; x < span[1]; x++, sourceX += stepX, sourceY += stepY) {
+        u = (int) Math.floor(sourceX);
+        v = (int) Math.floor(sourceY);
+
+        // Guard against rounding at the very edges of the solved span
+        if (u < 0 || v < 0 || u >= srcWidth || v >= srcHeight) {
+          continue;
+        }
+
+        dstPixels[rowOffset + x] = srcPixels[v * srcWidth + u];
+      }
+    }
+  }
+
+  /**
+   * This method rasterizes destination rows <tt>[startRow, endRow)</tt> of a tiled image, as
+   * <code>AffineRasterizer.rasterizeRows</code> does for a single buffer. The tile holding each
+   * source point is found by shifting its coordinates, and is only fetched from the image when it
+   * differs from that of the previous pixel.
+   *
+   * @param source <code>TiledImage</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param inverse <code>AffineTransform</code> from destination to source space
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   * @return void
+   */
+  private static void rasterizeTileRows(TiledImage source, PixelBuffer destination,
+      AffineTransform inverse, AffineRasterizer.Sampling sampling, int startRow, int endRow) {
+
+    // Declarations
+    int[] dstPixels, tilePixels, span;
+    int srcWidth, srcHeight, dstWidth, rowOffset, u, v, shift, mask, column, row, tileColumn,
+      tileRow, tileWidth;
+    double stepX, stepY, centerY, sourceX, sourceY;
+    PixelBuffer tile;
+
+    // Definitions
+    dstPixels = destination.getPixels();
+    srcWidth = source.getWidth();
+    srcHeight = source.getHeight();
+    dstWidth = destination.getWidth();
+    shift = source.getTileShift();
+    mask = source.getTileSize() - 1;
+    stepX = inverse.getScaleX();
+    stepY = inverse.getShearY();
+    span = new int[2];
+    tile = null;
+    tilePixels = null;
+    tileColumn = -1;
+    tileRow = -1;
+    tileWidth = 0;
+
+    for (int y = startRow; y < endRow; y++) {
+      centerY = y + 0.5;
+
+      // Source coordinates of the center of column 0 on this row
+      sourceX = inverse.getShearX() * centerY + inverse.getTranslateX() + 0.5 * stepX;
+      sourceY = inverse.getScaleY() * centerY + inverse.getTranslateY() + 0.5 * stepY;
+
+      if (!AffineRasterizer.coveredSpan(sourceX, sourceY, stepX, stepY, srcWidth, srcHeight,
+          dstWidth, span)) {
+        continue;
+      }
+
+      sourceX += span[0] * stepX;
+      sourceY += span[0] * stepY;
+      rowOffset = y * dstWidth;
+
+      for (int x = span[0]; x < span[1]; x++, sourceX += stepX, sourceY += stepY) {
+        u = (int) Math.floor(sourceX);
+        v = (int) Math.floor(sourceY);
+
+        // Guard against rounding at the very edges of the solved span
+        if (u < 0 || v < 0 || u >= srcWidth || v >= srcHeight) {
+          continue;
+        }
+
+        column = u >> shift;
+        row = v >> shift;
+
+        if (column != tileColumn || row != tileRow) {
+          tile = source.getTile(column, row);
+          tilePixels = tile.getPixels();
+          tileWidth = tile.getWidth();
+          tileColumn = column;
+          tileRow = row;
+        }
+
+        dstPixels[rowOffset + x] = (sampling == AffineRasterizer.Sampling.BILINEAR)
+          ? AffineRasterizer.sampleTiledBilinear(source, tile, column, row, sourceX, sourceY)
+          : tilePixels[(v & mask) * tileWidth + (u & mask)];
+      }
+    }
+  }
+
+  /**
+   * This method blends the four source pixels of a tiled image surrounding the given point, as
+   * <code>AffineRasterizer.sampleBilinear</code> does for a single buffer. The neighbors are read
+   * straight from the given tile where all four lie within it, and otherwise looked up in the
+   * image one by one, as happens along the edges of each tile.
+   *
+   * @param source <code>TiledImage</code>
+   * @param tile <code>PixelBuffer</code> tile containing the point
+   * @param column <code>int</code> column of the tile
+   * @param row <code>int</code> row of the tile
+   * @param sourceX <code>double</code>
+   * @param sourceY <code>double</code>
+   * @return rgb <code>int</code>
+   */
+  private static int sampleTiledBilinear(TiledImage source, PixelBuffer tile, int column, int row,
+      double sourceX, double sourceY) {
+
+    // Declarations
+    double centerX, centerY;
+    int x0, y0, x1, y1, fx, fy, shift, mask;
+    int[] pixels;
+
+    // Definitions; sample relative to pixel centers, clamping at the edges of the whole image
+    centerX = sourceX - 0.5;
+    centerY = sourceY - 0.5;
+    x0 = (int) Math.floor(centerX);
+    y0 = (int) Math.floor(centerY);
+    fx = (int) ((centerX - x0) * AffineRasterizer.WEIGHT_ONE);
+    fy = (int) ((centerY - y0) * AffineRasterizer.WEIGHT_ONE);
+    x1 = Math.min(x0 + 1, source.getWidth() - 1);
+    y1 = Math.min(y0 + 1, source.getHeight() - 1);
+    x0 = Math.max(x0, 0);
+    y0 = Math.max(y0, 0);
+    shift = source.getTileShift();
+    mask = source.getTileSize() - 1;
+
+    if (x0 >> shift == column && x1 >> shift == column && y0 >> shift == row
+        && y1 >> shift == row) {
+      pixels = tile.getPixels();
+
+      return AffineRasterizer.blend(pixels[(y0 & mask) * tile.getWidth() + (x0 & mask)],
+        pixels[(y0 & mask) * tile.getWidth() + (x1 & mask)],
+        pixels[(y1 & mask) * tile.getWidth() + (x0 & mask)],
+        pixels[(y1 & mask) * tile.getWidth() + (x1 & mask)], fx, fy);
+    }
+
+    return AffineRasterizer.blend(source.getRGB(x0, y0), source.getRGB(x1, y0),
+      source.getRGB(x0, y1), source.getRGB(x1, y1), fx, fy);
+  }
+
+  /**
+   * This method solves for the range of columns <tt>[span[0], span[1])</tt> on a single row whose
+   * source coordinates, starting at <tt>(sourceX, sourceY)</tt> for column 0 and advancing by
+   * <tt>(stepX, stepY)</tt> per column, fall within the source image. The range is widened by a
+   * column on either side to absorb floating point error, with exact bounds checks left to the
+   * caller.
+   *
+   * @param sourceX <code>double</code>
+   * @param sourceY <code>double</code>
+   * @param stepX <code>double</code>
+   * @param stepY <code>double</code>
+   * @param srcWidth <code>int</code>
+   * @param srcHeight <code>int</code>
+   * @param dstWidth <code>int</code>
+   * @param span <code>int[]</code> receives the first and last-plus-one column
+   * @return covered <code>boolean</code> whether any column may be covered
+   */
+  protected static boolean coveredSpan(double sourceX, double sourceY, double stepX, double stepY,
+      int srcWidth, int srcHeight, int dstWidth, int[] span) {
+
+    // Declarations
+    double low, high;
+
+    // Definitions
+    low = 0;
+    high = dstWidth;
+
+    // Columns for which 0 <= sourceX + x * stepX < srcWidth
+    if (stepX == 0) {
+      if (sourceX < 0 || sourceX >= srcWidth) {
+        return false;
+      }
+    } else {
+      low = Math.max(low, Math.min(-sourceX / stepX, (srcWidth - sourceX) / stepX));
+      high = Math.min(high, Math.max(-sourceX / stepX, (srcWidth - sourceX) / stepX));
+    }
+
+    // Columns for which 0 <= sourceY + x * stepY < srcHeight
+    if (stepY == 0) {
+      if (sourceY < 0 || sourceY >= srcHeight) {
+        return false;
+      }
+    } else {
+      low = Math.max(low, Math.min(-sourceY / stepY, (srcHeight - sourceY) / stepY));
+      high = Math.min(high, Math.max(-sourceY / stepY, (srcHeight - sourceY) / stepY));
+    }
+
+    if (low > high) {
+      return false;
+    }
+
+    span[0] = Math.max(0, (int) Math.floor(low) - 1);
+    span[1] = Math.min(dstWidth, (int) Math.ceil(high) + 1);
+
+    return span[0] < span[1];
+  }
+
+  /**
+   * This method blends the four source pixels surrounding the given point, whose coordinates are
+   * relative to pixel corners, using fixed-point weights. Neighbors beyond the edge of the image
+   * are clamped to the nearest edge pixel.
+   *
+   * @param pixels <code>int[]</code>
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param sourceX <code>double</code>
+   * @param sourceY <code>double</code>
+   * @return rgb <code>int</code>
+   */
+  protected static int sampleBilinear(int[] pixels, int width, int height, double sourceX,
+      double sourceY) {
+
+    // Declarations
+    double centerX, centerY;
+    int x0, y0, x1, y1, fx, fy;
+
+    // Definitions; sample relative to pixel centers
+    centerX = sourceX - 0.5;
+    centerY = sourceY - 0.5;
+    x0 = (int) Math.floor(centerX);
+    y0 = (int) Math.floor(centerY);
+    fx = (int) ((centerX - x0) * AffineRasterizer.WEIGHT_ONE);
+    fy = (int) ((centerY - y0) * AffineRasterizer.WEIGHT_ONE);
+    x1 = Math.min(x0 + 1, width - 1);
+    y1 = Math.min(y0 + 1, height - 1);
+    x0 = Math.max(x0, 0);
+    y0 = Math.max(y0, 0);
+
+    return AffineRasterizer.blend(pixels[y0 * width + x0], pixels[y0 * width + x1],
+      pixels[y1 * width + x0], pixels[y1 * width + x1], fx, fy);
+  }
+
+  /**
+   * This method blends four packed ARGB pixels channel by channel with fixed-point weights
+   * <code>fx</code> and <code>fy</code> in <tt>[0, WEIGHT_ONE)</tt>.
+   *
+   * @param topLeft <code>int</code>
+   * @param topRight <code>int</code>
+   * @param bottomLeft <code>int</code>
+   * @param bottomRight <code>int</code>
+   * @param fx <code>int</code> horizontal weight of the right-hand pixels
+   * @param fy <code>int</code> vertical weight of the bottom pixels
+   * @return argb <code>int</code>
+   */
+  protected static int blend(int topLeft, int topRight, int bottomLeft, int bottomRight, int fx,
+      int fy) {
+
+    // Declarations
+    int result, shift, top, bottom;
+
+    // Definitions
+    result = 0;
+
+    for (shift = 0; shift < 32; shift += 8) {
+      top = ((topLeft >>> shift) & 0xFF) * (AffineRasterizer.WEIGHT_ONE - fx)
+        + ((topRight >>> shift) & 0xFF) * fx;
+      bottom = ((bottomLeft >>> shift) & 0xFF) * (AffineRasterizer.WEIGHT_ONE - fx)
+        + ((bottomRight >>> shift) & 0xFF) * fx;
+      result |= (((top * (AffineRasterizer.WEIGHT_ONE - fy) + bottom * fy)
+        >>> (2 * AffineRasterizer.WEIGHT_BITS)) & 0xFF) << shift;
+    }
+
+    return result;
+  }
+}
@@ -3,15 +3,24 @@
  * Begun 08/24/18
  * @author Andrew Eissen
  */
-//package graphicsprojectone;
+package graphicsprojectone;
 
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.Rectangle2D;
 import javax.swing.*;
 import java.util.ArrayList;
-import java.awt.geom.AffineTransform;
+import java.util.Arrays;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 /**
  * This class is the central class of the program package, used to construct and display the user
@@ -48,43 +57,116 @@ final class Application extends JFrame {
   /*
    * Table of contents
    *
-   * Constructors       -> Line 089
-   * Setters            -> Line 137
-   * Getters            -> Line 209
-   * GUI method         -> Line 286
-   * Utility methods    -> Line 394
-   * Animation methods  -> Line 500
-   * Image methods      -> Line 671
-   * TimerListener      -> Line 805
+   * Constructors       -> Line 171
+   * Setters            -> Line 236
+   * Getters            -> Line 342
+   * GUI methods        -> Line 497
+   * Utility methods    -> Line 669
+   * Animation methods  -> Line 838
+   * Image methods      -> Line 1071
    */
 
   /** Project 1 template files package's default <code>setInterval</code>-esque delay period */
   private static final int TIMER_DELAY = 1600;
 
-  /** Rubric requirement states images must be at least 25 pixels large; has own getter method */
-  private static final int IMAGE_SIZE = 25;
+  /** Rate in Hz at which keyframes are tweened, via <tt>-Dgraphicsprojectone.frameRate=...</tt> */
+  private static final int FRAME_RATE = Integer.getInteger("graphicsprojectone.frameRate", 60);
+
+  /** Rubric requirement states images must be at least 25 pixels large; used if none is given */
+  private static final int DEFAULT_IMAGE_SIZE = 25;
 
   /** If true, permits iteration through individual transforms; enables unit test functionality */
   private static final boolean DEBUG = false;
 
+  /** Optional software rasterizer sampling, set via <tt>-Dgraphicsprojectone.sampling=...</tt> */
+  private static final String SAMPLING = System.getProperty("graphicsprojectone.sampling", "");
+
+  /** Per-panel rendered frame cache size in megabytes; <tt>0</tt> disables frame caching */
+  private static final int FRAME_CACHE_MEGABYTES =
+    Integer.getInteger("graphicsprojectone.frameCacheMegabytes", 16);
+
+  /** If true, frames are rendered on worker threads rather than in <code>paintComponent</code> */
+  private static final boolean RENDER_PIPELINE =
+    Boolean.parseBoolean(System.getProperty("graphicsprojectone.renderPipeline", "true"));
+
+  /** If true, images are drawn as vector shapes, via <tt>-Dgraphicsprojectone.vector=true</tt> */
+  private static final boolean VECTOR_MODE = Boolean.getBoolean("graphicsprojectone.vector");
+
+  /** If true, images are drawn from a mip pyramid, via <tt>-Dgraphicsprojectone.mipmap=true</tt> */
+  private static final boolean MIPMAP = Boolean.getBoolean("graphicsprojectone.mipmap");
+
+  /** If true, images are drawn as tiles made on demand, via <tt>-Dgraphicsprojectone.tiled</tt> */
+  private static final boolean TILED_MODE = Boolean.getBoolean("graphicsprojectone.tiled");
+
+  /** If true, images are drawn from their runs, via <tt>-Dgraphicsprojectone.runLength=true</tt> */
+  private static final boolean RUN_LENGTH_MODE = Boolean.getBoolean("graphicsprojectone.runLength");
+
+  /** Width and height in pixels of the tiles of tiled images */
+  private static final int TILE_SIZE = 256;
+
+  /** Per-image tile cache size in megabytes, via <tt>-D...tileCacheMegabytes=...</tt> */
+  private static final int TILE_CACHE_MEGABYTES =
+    Integer.getInteger("graphicsprojectone.tileCacheMegabytes", 64);
+
+  /** Optional directory in which generated images are kept, via <tt>-D...imageCache=...</tt> */
+  private static final String IMAGE_CACHE = System.getProperty("graphicsprojectone.imageCache",
+    "");
+
+  /** Optional names of the image generators of each panel, via <tt>-D...generators=...</tt> */
+  private static final String GENERATORS = System.getProperty("graphicsprojectone.generators",
+    "");
+
+  /** Optional image files shown instead of the generated images, via <tt>-D...imageFiles</tt> */
+  private static final String IMAGE_FILES = System.getProperty("graphicsprojectone.imageFiles",
+    "");
+
+  /** Size in megabytes of the cache of decoded image files shared by every panel */
+  private static final int DECODED_CACHE_MEGABYTES =
+    Integer.getInteger("graphicsprojectone.decodedCacheMegabytes", 64);
+
+  /** Instances drawn in a single canvas in place of the panels, via <tt>-D...sprites=...</tt> */
+  private static final int SPRITES = Integer.getInteger("graphicsprojectone.sprites", 0);
+
+  /** Transformation script resources of the production and testing cycles */
+  private static final String TRANSFORMATION_SCRIPT = "transformations.txt";
+  private static final String TEST_TRANSFORMATION_SCRIPT = "test-transformations.txt";
+
+  /** Optional script file replacing the above, set via <tt>-Dgraphicsprojectone.script=...</tt> */
+  private static final String SCRIPT_FILE = System.getProperty("graphicsprojectone.script", "");
+
+  /** Optional CSV file to which metrics are written on exit, via <tt>-D...metricsCsv=...</tt> */
+  private static final String METRICS_CSV = System.getProperty("graphicsprojectone.metricsCsv", "");
+
+  /** Greatest number of lines kept in the status log, via <tt>-D...logLines=...</tt> */
+  private static final int LOG_LINES = Integer.getInteger("graphicsprojectone.logLines", 1000);
+
+  /** Optional file to which the status log is copied, via <tt>-D...logFile=...</tt> */
+  private static final String LOG_FILE = System.getProperty("graphicsprojectone.logFile", "");
+
   // Window fields
   private int windowHeight, windowWidth;
   private String windowTitle;
 
+  // Image fields
+  private int imageSize;
+  private ImageLoader imageLoader;
+
   // GUI fields
   private JFrame mainFrame;
   private JPanel mainPanel, upperPanel, buttonPanel, imagesPanel, logPanel;
   private ImagePanel leftImagePanel, centerImagePanel, rightImagePanel;
+  private SpriteCanvas spriteCanvas;
   private JButton startButton, pauseButton, clearButton;
   private JLabel leftLabel, rightLabel;
   private JTextArea logTextArea;
   private JScrollPane logScrollPane;
+  private StatusLog statusLog;
   private ArrayList<ImagePanel> imageArray;
 
   // Animation fields
-  private int frameCounter;
-  private AffineTransform affineTransform;
-  private Timer animationTimer;
+  private Simulation simulation;
+  private RenderPipeline renderPipeline;
+  private PaintMetrics paintMetrics;
 
   // Constructors
 
@@ -99,14 +181,22 @@ final class Application extends JFrame {
     this.setWindowWidth(640);
     this.setWindowTitle("Java 2D Project");
 
+    // Image fields
+    this.setImageSize(Application.DEFAULT_IMAGE_SIZE);
+    this.setImageLoader(new ImageLoader(Application.DECODED_CACHE_MEGABYTES * 1024L * 1024L, 2));
+
     // Animation fields
     this.setImageArray(new ArrayList<>());
-    this.setFrameCounter(0);
-    this.setAffineTransform(new AffineTransform());
-    this.setAnimationTimer(new Timer(Application.TIMER_DELAY, new Application.TimerListener()));
+    this.setSimulation(Application.createSimulation(this::publishTransformation,
+      this::publishFrame));
+    this.setPaintMetrics(new PaintMetrics(this.getImageArray(), this::getRenderPipeline,
+      this::getSimulation));
 
     // Construct interface
     this.constructGUI();
+
+    // Publish metrics once the panels they cover exist
+    this.publishMetrics();
   }
 
   /**
@@ -115,8 +205,9 @@ final class Application extends JFrame {
    * @param windowHeight <code>int</code>
    * @param windowWidth <code>int</code>
    * @param windowTitle <code>String</code>
+   * @param imageSize <code>int</code> width and height of the generated images in pixels
    */
-  protected Application(int windowHeight, int windowWidth, String windowTitle) {
+  protected Application(int windowHeight, int windowWidth, String windowTitle, int imageSize) {
 
     // Window fields
     super(windowTitle);
@@ -124,14 +215,22 @@ final class Application extends JFrame {
     this.setWindowWidth(windowWidth);
     this.setWindowTitle(windowTitle);
 
+    // Image fields
+    this.setImageSize(imageSize);
+    this.setImageLoader(new ImageLoader(Application.DECODED_CACHE_MEGABYTES * 1024L * 1024L, 2));
+
     // Animation fields
     this.setImageArray(new ArrayList<>());
-    this.setFrameCounter(0);
-    this.setAffineTransform(new AffineTransform());
-    this.setAnimationTimer(new Timer(Application.TIMER_DELAY, new Application.TimerListener()));
+    this.setSimulation(Application.createSimulation(this::publishTransformation,
+      this::publishFrame));
+    this.setPaintMetrics(new PaintMetrics(this.getImageArray(), this::getRenderPipeline,
+      this::getSimulation));
 
     // Construct interface
     this.constructGUI();
+
+    // Publish metrics once the panels they cover exist
+    this.publishMetrics();
   }
 
   // Setters
@@ -166,6 +265,30 @@ final class Application extends JFrame {
     this.windowTitle = windowTitle;
   }
 
+  /**
+   * Setter for <code>Application.imageSize</code>
+   *
+   * @param imageSize <code>int</code>
+   * @return void
+   */
+  private void setImageSize(int imageSize) {
+    if (imageSize <= 0) {
+      throw new IllegalArgumentException("Invalid image size: " + imageSize);
+    }
+
+    this.imageSize = imageSize;
+  }
+
+  /**
+   * Setter for <code>Application.imageLoader</code>
+   *
+   * @param imageLoader <code>ImageLoader</code>
+   * @return void
+   */
+  private void setImageLoader(ImageLoader imageLoader) {
+    this.imageLoader = imageLoader;
+  }
+
   /**
    * Setter for <code>Application.imageArray</code>
    *
@@ -177,33 +300,43 @@ final class Application extends JFrame {
   }
 
   /**
-   * Setter for <code>Application.frameCounter</code>
+   * Setter for <code>Application.simulation</code>
+   *
+   * @param simulation <code>Simulation</code>
+   * @return void
+   */
+  private void setSimulation(Simulation simulation) {
+    this.simulation = simulation;
+  }
+
+  /**
+   * Setter for <code>Application.renderPipeline</code>
    *
-   * @param frameCounter <code>int</code>
+   * @param renderPipeline <code>RenderPipeline</code>
    * @return void
    */
-  private void setFrameCounter(int frameCounter) {
-    this.frameCounter = frameCounter;
+  private void setRenderPipeline(RenderPipeline renderPipeline) {
+    this.renderPipeline = renderPipeline;
   }
 
   /**
-   * Setter for <code>Application.affineTransform</code>
+   * Setter for <code>Application.paintMetrics</code>
    *
-   * @param affineTransform <code>AffineTransform</code>
+   * @param paintMetrics <code>PaintMetrics</code>
    * @return void
    */
-  private void setAffineTransform(AffineTransform affineTransform) {
-    this.affineTransform = affineTransform;
+  private void setPaintMetrics(PaintMetrics paintMetrics) {
+    this.paintMetrics = paintMetrics;
   }
 
   /**
-   * Setter for <code>Application.animationTimer</code>
+   * Setter for <code>Application.statusLog</code>
    *
-   * @param animationTimer <code>Timer</code>
+   * @param statusLog <code>StatusLog</code>
    * @return void
    */
-  private void setAnimationTimer(Timer animationTimer) {
-    this.animationTimer = animationTimer;
+  private void setStatusLog(StatusLog statusLog) {
+    this.statusLog = statusLog;
   }
 
   // Getters
@@ -235,6 +368,76 @@ final class Application extends JFrame {
     return this.windowTitle;
   }
 
+  /**
+   * Getter for <code>Application.imageSize</code>
+   *
+   * @return imageSize <code>int</code>
+   */
+  protected int getImageSize() {
+    return this.imageSize;
+  }
+
+  /**
+   * Getter for <code>Application.imageLoader</code>
+   *
+   * @return imageLoader <code>ImageLoader</code>
+   */
+  protected ImageLoader getImageLoader() {
+    return this.imageLoader;
+  }
+
+  /**
+   * Getter for private constant <code>Application.SAMPLING</code>, converted to the matching
+   * <code>AffineRasterizer.Sampling</code>. If no sampling was specified, <code>null</code> is
+   * returned and images are drawn by <code>Graphics2D</code> as before.
+   *
+   * @return sampling <code>AffineRasterizer.Sampling</code>
+   */
+  protected static AffineRasterizer.Sampling getSamplingConstant() {
+    return (Application.SAMPLING.isEmpty())
+      ? null
+      : AffineRasterizer.Sampling.valueOf(Application.SAMPLING.toUpperCase());
+  }
+
+  /**
+   * Returns the paths listed in private constant <code>Application.IMAGE_FILES</code>, one per
+   * image panel from left to right, with surrounding whitespace removed. A panel whose entry is
+   * left empty, as in <tt>,Images/Pic2.PNG</tt>, keeps its generated image.
+   *
+   * @return imageFiles <code>String[]</code>, empty if no files were named
+   */
+  protected static String[] getImageFiles() {
+    return (Application.IMAGE_FILES.isBlank())
+      ? new String[0]
+      : Arrays.stream(Application.IMAGE_FILES.split(",")).map(String::strip).limit(3)
+        .toArray(String[]::new);
+  }
+
+  /**
+   * Returns the names of the image generators of the three image panels, from left to right, as
+   * listed in private constant <code>Application.GENERATORS</code>. Panels for which no name is
+   * listed, as with <tt>,,spiral</tt>, keep the flag, triangle and letter Z respectively.
+   *
+   * @return generatorNames <code>String[]</code> of three names
+   */
+  protected static String[] getGeneratorNames() {
+
+    // Declarations
+    String[] names, listed;
+
+    // Definitions
+    names = new String[] {"flag", "triangle", "letterZ"};
+    listed = Application.GENERATORS.split(",");
+
+    for (int position = 0; position < Math.min(names.length, listed.length); position++) {
+      if (!listed[position].isBlank()) {
+        names[position] = listed[position].strip();
+      }
+    }
+
+    return names;
+  }
+
   /**
    * Getter for <code>Application.imageArray</code>
    *
@@ -245,45 +448,53 @@ final class Application extends JFrame {
   }
 
   /**
-   * Getter for <code>Application.frameCounter</code>
+   * Getter for <code>Application.simulation</code>
    *
-   * @return frameCounter <code>int</code>
+   * @return simulation <code>Simulation</code>
    */
-  protected int getFrameCounter() {
-    return this.frameCounter;
+  protected Simulation getSimulation() {
+    return this.simulation;
   }
 
   /**
-   * Getter for <code>Application.affineTransform</code>
+   * Getter for <code>Application.renderPipeline</code>
    *
-   * @return affineTransform <code>AffineTransform</code>
+   * @return renderPipeline <code>RenderPipeline</code>, or <code>null</code> if disabled
    */
-  protected AffineTransform getAffineTransform() {
-    return this.affineTransform;
+  protected RenderPipeline getRenderPipeline() {
+    return this.renderPipeline;
   }
 
   /**
-   * Getter for <code>Application.animationTimer</code>
+   * Getter for <code>Application.paintMetrics</code>
    *
-   * @return animationTimer <code>Timer</code>
+   * @return paintMetrics <code>PaintMetrics</code>
    */
-  protected Timer getAnimationTimer() {
-    return this.animationTimer;
+  protected PaintMetrics getPaintMetrics() {
+    return this.paintMetrics;
   }
 
   /**
-   * Getter for private constant <code>Application.IMAGE_SIZE</code>. Use of a getter and a
-   * <code>private</code> constant indicated to be a better practice overall for the use of
-   * constants across classes than public static constants (see included thread).
+   * Getter for <code>Application.statusLog</code>
    *
-   * @see <a href="https://stackoverflow.com/questions/10047802">SO Thread</a>
-   * @return IMAGE_SIZE <code>int</code>
+   * @return statusLog <code>StatusLog</code>
    */
-  protected int getImageSizeConstant() {
-    return Application.IMAGE_SIZE;
+  protected StatusLog getStatusLog() {
+    return this.statusLog;
   }
 
-  // GUI method
+  /**
+   * Returns the snapshot of the animation transform most recently published by
+   * <code>Application.simulation</code>. Once a single shared mutable field, the transform is now
+   * read without locking, and a copy may be freely modified by the caller.
+   *
+   * @return snapshot <code>TransformSnapshot</code>
+   */
+  protected TransformSnapshot getTransformSnapshot() {
+    return this.getSimulation().getSnapshot();
+  }
+
+  // GUI methods
 
   /**
    * This method is the hand-assembled user GUI handler, used to construct a Swing-based user GUI
@@ -298,7 +509,8 @@ final class Application extends JFrame {
    * images required by the Project 1 design rubric, and a user log displaying messages related to
    * the transformations required for every frame and any errors encountered in the running of the
    * program. Assorted borders and background colors were applied as well to make the GUI appear a
-   * bit more professional and sharp in appearance.
+   * bit more professional and sharp in appearance. If the images are shown as sprites, a single
+   * <code>SpriteCanvas</code> takes the place of the three panels, which are then never built.
    *
    * @return void
    */
@@ -311,23 +523,22 @@ final class Application extends JFrame {
     this.imagesPanel = new JPanel(new GridLayout(1, 3, 10, 10));
     this.logPanel = new JPanel(new GridLayout(1, 1));
 
-    // ImagePanel/JPanel objects
-    this.leftImagePanel = new ImagePanel(this, this.buildFlag());     // 4-color flag 2D array
-    this.centerImagePanel = new ImagePanel(this, this.buildTriangle()); // Blue triangle array
-    this.rightImagePanel = new ImagePanel(this, this.buildLetterZ());   // Gray/black "Z" array
-
-    // Add ImagePanels to grouping ArrayList for easy repainting later
-    this.getImageArray().add(this.leftImagePanel);
-    this.getImageArray().add(this.centerImagePanel);
-    this.getImageArray().add(this.rightImagePanel);
+    // Time the keyframe lookup and tweening done by each step of the simulation
+    this.getSimulation().setStepLatency(this.getPaintMetrics().getHistogram("simulation.step"));
+
+    // Show many copies of the images in a single canvas, or each image in a panel of its own
+    if (Application.SPRITES > 0) {
+      this.spriteCanvas = new SpriteCanvas(new SpriteBatch(
+        Application.loadImages(this.getImageSize()), Application.SPRITES));
+      this.spriteCanvas.setSampling(Application.getSamplingConstant());
+      this.spriteCanvas.setRenderLatency(this.getPaintMetrics().getHistogram("render.sprites"));
+      this.spriteCanvas.setBackground(Color.WHITE);
+      this.spriteCanvas.setBorder(BorderFactory.createLineBorder(Color.GRAY));
+    } else {
+      this.constructImagePanels();
+    }
 
-    // Apply borders and backgrounds
-    this.leftImagePanel.setBackground(Color.WHITE);
-    this.centerImagePanel.setBackground(Color.WHITE);
-    this.rightImagePanel.setBackground(Color.WHITE);
-    this.leftImagePanel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
-    this.centerImagePanel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
-    this.rightImagePanel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
+    // Apply borders
     this.buttonPanel.setBorder(BorderFactory.createTitledBorder("Options"));
     this.imagesPanel.setBorder(BorderFactory.createTitledBorder("Images"));
     this.logPanel.setBorder(BorderFactory.createTitledBorder("Status log"));
@@ -345,6 +556,7 @@ final class Application extends JFrame {
     this.logTextArea.setFont(new Font("Monospaced", 0, 12));
     this.logTextArea.setLineWrap(true);
     this.logScrollPane = new JScrollPane(this.logTextArea);
+    this.setStatusLog(this.createStatusLog());
 
     // Add JButtons and JLabels to buttonPanel
     this.buttonPanel.add(this.leftLabel);
@@ -353,10 +565,15 @@ final class Application extends JFrame {
     this.buttonPanel.add(this.clearButton);
     this.buttonPanel.add(this.rightLabel);
 
-    // Add image JPanels to imagesPanel
-    this.imagesPanel.add(this.leftImagePanel);
-    this.imagesPanel.add(this.centerImagePanel);
-    this.imagesPanel.add(this.rightImagePanel);
+    // Add image JPanels, or the sprite canvas alone, to imagesPanel
+    if (this.spriteCanvas != null) {
+      this.imagesPanel.setLayout(new GridLayout(1, 1));
+      this.imagesPanel.add(this.spriteCanvas);
+    } else {
+      this.imagesPanel.add(this.leftImagePanel);
+      this.imagesPanel.add(this.centerImagePanel);
+      this.imagesPanel.add(this.rightImagePanel);
+    }
 
     // Add log elements to logPanel
     this.logPanel.add(this.logScrollPane);
@@ -389,6 +606,64 @@ final class Application extends JFrame {
     this.mainFrame.setResizable(false);
     this.mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     this.mainFrame.setVisible(true);
+
+    // Decode any image files in the background now that the window and log are up
+    this.loadImageFiles();
+  }
+
+  /**
+   * This method builds the three <code>ImagePanel</code> objects shown when the images are not
+   * shown as sprites, timing the generation and buffering of each image, and equips them with the
+   * sampling, mipmaps, frame caches and swap chains configured at launch. If the render pipeline
+   * is enabled, it is created here too, as only the panels are rendered by it.
+   *
+   * @return void
+   */
+  private void constructImagePanels() {
+
+    // ImagePanel/JPanel objects, timing the generation and buffering of each image
+    this.leftImagePanel = this.getPaintMetrics().getHistogram("buildImage").time(() ->
+      this.createImagePanel(0, Application::buildFlagShapes, Application::buildFlagRuns));
+    this.centerImagePanel = this.getPaintMetrics().getHistogram("buildImage").time(() ->
+      this.createImagePanel(1, Application::buildTriangleShapes, Application::buildTriangleRuns));
+    this.rightImagePanel = this.getPaintMetrics().getHistogram("buildImage").time(() ->
+      this.createImagePanel(2, Application::buildLetterZShapes, Application::buildLetterZRuns));
+
+    // Names identify each panel's metrics
+    this.leftImagePanel.setName("left");
+    this.centerImagePanel.setName("center");
+    this.rightImagePanel.setName("right");
+
+    // Add ImagePanels to grouping ArrayList for easy repainting later
+    this.getImageArray().add(this.leftImagePanel);
+    this.getImageArray().add(this.centerImagePanel);
+    this.getImageArray().add(this.rightImagePanel);
+
+    // Optionally hand painting over to the software rasterizer and cache rendered frames
+    this.getImageArray().forEach((ImagePanel panel) -> {
+      panel.setSampling(Application.getSamplingConstant());
+      panel.setPaintLatency(this.getPaintMetrics().getHistogram("paint." + panel.getName()));
+      panel.setBackground(Color.WHITE);
+      panel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
+
+      if (Application.MIPMAP && panel.getPixelBuffer() != null) {
+        panel.setMipPyramid(new MipPyramid(panel.getPixelBuffer()));
+      }
+
+      if (Application.FRAME_CACHE_MEGABYTES > 0) {
+        panel.setFrameCache(new FrameCache(Application.FRAME_CACHE_MEGABYTES * 1024L * 1024L));
+      }
+
+      if (Application.RENDER_PIPELINE) {
+        panel.setSwapChain(new SwapChain());
+        panel.setRenderLatency(this.getPaintMetrics().getHistogram("render." + panel.getName()));
+      }
+    });
+
+    // Render frames on worker threads, repainting the panels whenever new frames are swapped in
+    if (Application.RENDER_PIPELINE) {
+      this.setRenderPipeline(new RenderPipeline(this.getImageArray(), this::presentFrames));
+    }
   }
 
   // Utility methods
@@ -413,14 +688,16 @@ final class Application extends JFrame {
    * <br />
    * Originally, this method prepended the new entries via
    * <code>this.logTextArea.insert(message + "\n", 0);</code>, though this was eventually reverted
-   * in favor of the basic append method.
+   * in favor of the basic append method. Entries are now handed to <code>StatusLog</code>, which
+   * caps the number of lines kept and shows the entries of each frame in a single update, so that
+   * this method may be safely called from any thread.
    *
    * @see <a href="https://stackoverflow.com/questions/869264">Debugging SO thread</a>
    * @param message <code>String</code>
    * @return void
    */
   private void addLogEntry(String message) {
-    this.logTextArea.append(message + "\n");
+    this.getStatusLog().append(message);
 
     if (Application.DEBUG) {
       System.out.println(message);
@@ -433,13 +710,14 @@ final class Application extends JFrame {
    * <code>Application.startAnimation</code> and <code>Application.pauseAnimation</code>, which were
    * judged to be too similar. In an effort to reduce redundant and copy/pasted code, the author
    * reconciled the handlers into a single method making use of the reflection paradigm to pass the
-   * name of the <code>Timer</code> method needed to start or stop the animation.
+   * name of the <code>Simulation</code> method needed to start or stop the animation.
    * <br />
    * <br />
-   * Reflection is used to invoke the needed <code>Timer</code> method depending on the button
-   * pressed. The options used are <code>Timer.start</code> and <code>Timer.stop</code>, with the
-   * option needed specified via the inclusion a <code>String</code> representation of the method
-   * signature, namely parameter <code>methodName</code>.
+   * Reflection is used to invoke the needed <code>Simulation</code> method depending on the button
+   * pressed. The options used are <code>Simulation.start</code> and <code>Simulation.stop</code>,
+   * with the option needed specified via the inclusion a <code>String</code> representation of the
+   * method signature, namely parameter <code>methodName</code>. These originally invoked the
+   * equivalent methods of a <code>javax.swing.Timer</code>, which the simulation has replaced.
    *
    * @see java.lang.reflect
    * @param condition <code>boolean</code> assists in displaying message based on run status
@@ -456,24 +734,24 @@ final class Application extends JFrame {
       Method timerMethod;
 
       // Definition
-      timerMethod = Timer.class.getDeclaredMethod(methodName);
+      timerMethod = Simulation.class.getDeclaredMethod(methodName);
 
       /**
        * In the case of the <code>if</code> block, the message displayed (and the need to invoke a
-       * <code>Timer</code> method) hangs on whether or not the timer should be running at the
+       * <code>Simulation</code> method) hangs on whether or not the timer should be running at the
        * moment. If the button pressed is the "Start" button and the animation itself is running,
        * the user shouldn't be pushing the button, so an illegitimate button press message is
        * displayed to let the user know that the animation is playing. If the animation is not
        * playing, the message displayed is a success message and the method is invoked. The same
        * applies to the "Pause" button, just in reverse.
        */
-      if (this.getAnimationTimer().isRunning() == condition) {
+      if (this.getSimulation().isRunning() == condition) {
 
         // Indicate in log that the desired operation is in the process of implementation
         this.addLogEntry(successMessage);
 
-        // Invoke either Timer.start or Timer.stop
-        timerMethod.invoke(this.getAnimationTimer());
+        // Invoke either Simulation.start or Simulation.stop
+        timerMethod.invoke(this.getSimulation());
       } else {
 
         // Alert user to the fact that button has been pressed in error
@@ -494,248 +772,439 @@ final class Application extends JFrame {
    * @return void
    */
   private void clearLog() {
-    this.logTextArea.setText("");
+    this.getStatusLog().clear();
+  }
+
+  /**
+   * This method builds the <code>StatusLog</code> through which entries reach the user GUI log,
+   * keeping at most <code>Application.LOG_LINES</code> lines. If a file was named via
+   * <tt>-Dgraphicsprojectone.logFile=...</tt>, entries are also copied to it by an
+   * <code>AsyncLogWriter</code>, which is closed when the application exits so that no entry is
+   * lost. Should the file fail to open, the error is logged and the log is kept in the GUI alone.
+   *
+   * @return statusLog <code>StatusLog</code>
+   */
+  private StatusLog createStatusLog() {
+
+    // Declarations
+    AsyncLogWriter fileWriter;
+    IOException error;
+    StatusLog log;
+
+    // Definitions
+    fileWriter = null;
+    error = null;
+
+    if (!Application.LOG_FILE.isEmpty()) {
+      try {
+        fileWriter = new AsyncLogWriter(Path.of(Application.LOG_FILE));
+        Runtime.getRuntime().addShutdownHook(new Thread(fileWriter::close, "StatusLog"));
+      } catch (IOException ex) {
+        error = ex;
+      }
+    }
+
+    log = new StatusLog(this.logTextArea, Application.LOG_LINES, fileWriter);
+
+    if (error != null) {
+      log.append("Error: " + error);
+    }
+
+    return log;
+  }
+
+  /**
+   * This method publishes <code>Application.paintMetrics</code> over JMX, making the paint
+   * latencies, frame rate and cache statistics of the running application visible in e.g.
+   * JConsole. If a file was named via <tt>-Dgraphicsprojectone.metricsCsv=...</tt>, the metrics
+   * are also written to it as comma-separated values when the application exits.
+   *
+   * @return void
+   */
+  private void publishMetrics() {
+    this.getPaintMetrics().register();
+
+    if (!Application.METRICS_CSV.isEmpty()) {
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try {
+          this.getPaintMetrics().writeCsv(Application.METRICS_CSV);
+        } catch (IOException ex) {
+          System.err.println("Error: " + ex);
+        }
+      }, "PaintMetrics"));
+    }
   }
 
   // Animation methods
 
   /**
-   * This method is the primary animation handler method of the class. It is called by the
-   * <code>TimerListener</code>'s required <code>actionPerformed</code> method on a preset interval
-   * once the <code>Application.startAnimation</code> button handler is invoked on the press of
-   * "Start." As per <a href="https://stackoverflow.com/questions/869264">a relevant SO thread</a>
-   * related to debugging, the author implemented a debugging <code>boolean</code> constant used to
-   * choose between transformation methods and change the number of total transformation operations
-   * accordingly. The <code>Application.DEBUG</code> constant takes advantage of the compiler's
-   * efficiency in handling <code>if (constant)</code> comparisons and allows the author to choose
-   * between the use of the testing <code>Application.testTransformation</code> method and the
-   * production <code>Application.performTransformation</code> method as needed for unit testing.
-   * This testing methodology is discussed in more detail in the author's <code>.pdf</code>
-   * submission document, whose screenshots and included test matrix make use of the test method
-   * <code>Application.testTransformation</code> in discussion of the author's chosen test plan.
-   * <br />
-   * <br />
-   * The method begins by performing the requisite transformation operation via the invocation of
-   * <code>Application.performTransformation</code> or <code>Application.testTransformation</code>
-   * before iterating through the three main <code>ImagePanel</code> objects contained in
-   * <code>Application.imageArray</code> and repainting them. Once completed, the method increases
-   * the <code>frameCounter</code> by one and checks to see if the associated value is greater than
-   * the maximum number. If it is, the counter is reset and the images set back to default by the
-   * assignment of a new, fresh <code>AffineTransform</code> instance.
+   * This method builds the <code>Simulation</code> that steps the transformation cycle loaded by
+   * <code>Application.loadTransformScript</code>, reaching a new keyframe every
+   * <code>Application.TIMER_DELAY</code> milliseconds and tweening between keyframes at
+   * <code>Application.FRAME_RATE</code>.
+   *
+   * @param keyframeListener <code>Consumer</code> invoked on the simulation thread per keyframe
+   * @param frameListener <code>Consumer</code> invoked on the simulation thread after each step
+   * @return simulation <code>Simulation</code>
+   */
+  protected static Simulation createSimulation(Consumer<TransformSnapshot> keyframeListener,
+      Consumer<TransformSnapshot> frameListener) {
+    return new Simulation(Application.loadTransformScript(), Application.TIMER_DELAY,
+      Application.FRAME_RATE, keyframeListener, frameListener);
+  }
+
+  /**
+   * This method loads and compiles the script describing the transformation cycle. Originally, the
+   * cycle was hardcoded as a <code>switch</code> statement over the frame number in
+   * <code>Application.performTransformation</code>, itself a variation of the block included in
+   * <code>CMSC405P1Template.paintComponent</code>, alongside a second such statement in
+   * <code>Application.testTransformation</code> and a pair of constants holding the final frame of
+   * each. Every change to the sequence therefore meant editing, and keeping in sync, code in three
+   * places. The operations are now read from a text script, compiled once by
+   * <code>TransformScript</code> into the cumulative transform of every frame.
    * <br />
    * <br />
-   * Much of this method's functionality was extracted from the larger method included in the P1
-   * template files, namely <code>CMSC405P1Template.paintComponent</code>. It made more sense to
-   * isolate functionality related to custom <code>JPanel</code> image items in a separate class,
-   * namely <code>ImagePanel</code>, than to keep everything in one class, in accordance with the
-   * <a href="https://en.wikipedia.org/wiki/Single_responsibility_principle">single responsibility
-   * principle</a>.
+   * As per <a href="https://stackoverflow.com/questions/869264">a relevant SO thread</a> related to
+   * debugging, the <code>Application.DEBUG</code> constant chooses between the production script
+   * and the test plan script. The latter inspects each individual transform separately, and was
+   * instrumental in helping the author uncover the fact that the program was using the default
+   * <code>Graphics2D</code> coordinate system that lists increasing y-axis values in a downward
+   * direction. It is discussed in more detail in the author's <code>.pdf</code> submission
+   * document, whose screenshots and included test matrix make use of it. Either may be replaced
+   * without rebuilding by naming a script file via <tt>-Dgraphicsprojectone.script=...</tt>.
    *
    * @see <a href="https://stackoverflow.com/questions/869264">Debugging SO thread</a>
+   * @return script <code>TransformScript</code>
+   * @throws UncheckedIOException if the script cannot be read
+   */
+  protected static TransformScript loadTransformScript() {
+    try {
+      if (!Application.SCRIPT_FILE.isEmpty()) {
+        return TransformScript.loadFile(Path.of(Application.SCRIPT_FILE));
+      } else if (Application.DEBUG) {
+        return TransformScript.loadResource(Application.TEST_TRANSFORMATION_SCRIPT);
+      } else {
+        return TransformScript.loadResource(Application.TRANSFORMATION_SCRIPT);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * This method is invoked on the simulation thread each time <code>Application.simulation</code>
+   * reaches a new keyframe. The snapshot was once handed over to
+   * <code>Application.handleTransformation</code> on the Event Dispatch Thread, as Swing components
+   * may only be touched there, but as <code>StatusLog</code> now takes entries from any thread and
+   * batches them into a single update per frame, it is handled here directly.
+   *
+   * @param snapshot <code>TransformSnapshot</code>
    * @return void
    */
-  private void handleTransformation() {
+  private void publishTransformation(TransformSnapshot snapshot) {
+    this.handleTransformation(snapshot);
+  }
+
+  /**
+   * This method builds the image panel at the given position. If an image file was named for the
+   * position, the panel is given a placeholder to show until the file is loaded by
+   * <code>Application.loadImageFiles</code>; otherwise it draws the built-in image of the position
+   * in the form selected by the other options, or in raster form the image of the
+   * <code>ImageGenerator</code> named for it. Tiled images are read from the image cache, if any,
+   * so that they too may come from any generator. Run-length images, being built from the runs
+   * of the built-in images, ignore the generators named.
+   *
+   * @param position <code>int</code> index of the panel, from left to right
+   * @param shapes <code>IntFunction</code> building the image as a <code>VectorImage</code>
+   * @param runs <code>IntFunction</code> building the image as a <code>RunLengthImage</code>
+   * @return panel <code>ImagePanel</code>
+   */
+  private ImagePanel createImagePanel(int position, IntFunction<VectorImage> shapes,
+      IntFunction<RunLengthImage> runs) {
 
-    // Declaration
-    int maxTransformations;
+    // Declarations
+    String name;
+    RunLengthImage runImage;
 
-    // Concatenate current and required transforms based on frame number
-    if (Application.DEBUG) {
-      maxTransformations = 6;
-      this.testTransformation();
+    // Definitions
+    name = Application.getGeneratorNames()[position];
+
+    if (position < Application.getImageFiles().length
+        && !Application.getImageFiles()[position].isEmpty()) {
+      return new ImagePanel(this::getTransformSnapshot,
+        ImageLoader.createPlaceholder(this.getImageSize(), this.getImageSize()));
+    } else if (Application.VECTOR_MODE) {
+      return new ImagePanel(this::getTransformSnapshot, shapes.apply(this.getImageSize()));
+    } else if (Application.TILED_MODE && !Application.IMAGE_CACHE.isEmpty()) {
+      return new ImagePanel(this::getTransformSnapshot,
+        Application.loadTiles(name, this.getImageSize()));
+    } else if (Application.TILED_MODE) {
+      runImage = runs.apply(this.getImageSize());
+
+      return new ImagePanel(this::getTransformSnapshot, Application.buildTiles(
+        runImage.getWidth(), runImage.getHeight(), runImage::fillTile));
+    } else if (Application.RUN_LENGTH_MODE) {
+      return new ImagePanel(this::getTransformSnapshot, runs.apply(this.getImageSize()));
     } else {
-      maxTransformations = 4;
-      this.performTransformation();
+      return new ImagePanel(this::getTransformSnapshot,
+        Application.loadImage(name, this.getImageSize()));
     }
+  }
 
-    // Repaint all ImagePanels once undertaken
-    this.getImageArray().forEach((ImagePanel panel) -> {
-      panel.repaint();
-    });
+  /**
+   * This method has the shared <code>ImageLoader</code> load the image files named via
+   * <tt>-Dgraphicsprojectone.imageFiles=...</tt> in the background, each being shown by the panel
+   * at its position once decoded. The current frame is then published anew, so that the image
+   * appears even while the animation is paused. Files that cannot be loaded are reported in the
+   * log, their panels going on showing the placeholder.
+   *
+   * @return void
+   */
+  private void loadImageFiles() {
+
+    // Declarations
+    String[] files;
 
-    // Increase the frame counter once repainted
-    this.setFrameCounter(this.getFrameCounter() + 1);
+    // Definitions
+    files = Application.getImageFiles();
 
-    // Once the rubric-required operations are completed, reset counter and build new transform
-    if (this.getFrameCounter() > maxTransformations) {
-      this.setFrameCounter(0);
-      this.setAffineTransform(new AffineTransform());
+    // Only the panels show image files, the sprite canvas drawing the generated images alone
+    if (this.spriteCanvas != null) {
+      return;
+    }
+
+    for (int position = 0; position < files.length; position++) {
+      String file = files[position];
+
+      if (file.isEmpty()) {
+        continue;
+      }
+
+      this.getImageArray().get(position)
+        .showWhenLoaded(this.getImageLoader().load(Path.of(file)))
+        .whenComplete((Void result, Throwable error) -> {
+          if (error != null) {
+            this.addLogEntry("Could not load " + file + ": "
+              + ((error.getCause() != null) ? error.getCause() : error).getMessage());
+          } else {
+            this.addLogEntry("Loaded " + file);
+            this.publishFrame(this.getTransformSnapshot());
+          }
+        });
     }
   }
 
   /**
-   * This method is a variation of that included in the <code>CMSC405P1Template.java</code> class,
-   * namely the <code>switch</code> statement block included in <code>paintComponent</code>.
-   * However, rather than make use of a multiplicity of global static variables, a practice that is
-   * generally discouraged, the author simply hardcoded the appropriate integer values into the
-   * transformation operations themselves. From the author's point of view, this method's own
-   * functionality made more sense to be included in a separate method than bolted on into the
-   * aforementioned panel painting method.
-   * <br />
-   * <br />
-   * Originally, this method existed in the body of <code>ImagePanel</code>. However, the use of
-   * three separate <code>AffineTransform</code>s in each of the three panel instances made no
-   * sense, and the posting of the status message to the user GUI log three times was also an
-   * undesirable piece of functionality. Thus, the method was summarily moved to the main
-   * <code>Application</code> class and used to govern a universal <code>AffineTransform</code>
-   * affecting all three <code>ImagePanel</code> objects via transform concatenation.
-   * <br />
-   * <br />
-   * In addition to performing the required frame-based operations, the method also invokes the
-   * class's <code>Application.addLogEntry</code> method to add entries to the user GUI log panel.
-   * This assists in letting the user know what exactly is supposed to be happening on screen.
+   * This method is invoked on the simulation thread each time <code>Application.simulation</code>
+   * publishes a new snapshot to be shown, whether a keyframe or a tween between keyframes. If the
+   * render pipeline is enabled, the snapshot is submitted for rendering, the panels being repainted
+   * by <code>Application.presentFrames</code> once its frames are ready; otherwise, the panels are
+   * repainted on the Event Dispatch Thread straight away, reading the snapshot when painted. If
+   * the images are shown as sprites, the snapshot is instead submitted to the sprite canvas alone.
    *
+   * @param snapshot <code>TransformSnapshot</code>
    * @return void
    */
-  private void performTransformation() {
-    switch (this.getFrameCounter()) {
-      case 0:
-        this.addLogEntry("Translate images -5 along x-axis and +7 along y-axis");
-        this.getAffineTransform().translate(-5.0, 7.0);
-        break;
-      case 1:
-        this.addLogEntry("Rotate images 45 degrees counterclockwise");
-        this.getAffineTransform().rotate(45 * Math.PI / 180.0);
-        break;
-      case 2:
-        this.addLogEntry("Rotate images 90 degrees clockwise");
-        this.getAffineTransform().rotate(-90 * Math.PI / 180.0);
-        break;
-      case 3:
-        this.addLogEntry("Scale images 2 times along x-axis and 0.5 times along y-axis");
-        this.getAffineTransform().scale(2.0, 0.5);
-        break;
-      case 4:
-        this.addLogEntry("Reset images to original positions");
-        break;
-      default:
-        this.addLogEntry("Error: Improper frameCounter value");
-        break;
+  private void publishFrame(TransformSnapshot snapshot) {
+    if (this.spriteCanvas != null) {
+      this.spriteCanvas.submit(snapshot);
+    } else if (this.getRenderPipeline() != null) {
+      this.getRenderPipeline().submit(snapshot);
+    } else {
+      SwingUtilities.invokeLater(this::repaintImages);
     }
   }
 
   /**
-   * This test plan method differs from that above in that it inspects each individual transform
-   * separately to determine if the images themselves are being moved in accordance with both the
-   * rubric requirements and with the user's expectations. This method was instrumental in helping
-   * the author uncover the fact that the program was using the default <code>Graphics2D</code>
-   * coordinate system that lists increasing y-axis values in a downward direction to transform the
-   * images rather than a standard system that lists such values as moving towards the top of the
-   * screen.
+   * This method is invoked on the render pipeline thread each time the frames of a snapshot have
+   * been swapped into the panels, and has the panels repainted on the Event Dispatch Thread.
+   *
+   * @param snapshot <code>TransformSnapshot</code> whose frames were swapped in
+   * @return void
+   */
+  private void presentFrames(TransformSnapshot snapshot) {
+    SwingUtilities.invokeLater(this::repaintImages);
+  }
+
+  /**
+   * This method is the primary animation handler method of the class. It was originally called by
+   * the <code>TimerListener</code>'s required <code>actionPerformed</code> method on a preset
+   * interval, where it performed the requisite transformation operation itself, increased the
+   * <code>frameCounter</code>, and reset the counter and transform at the end of each cycle. That
+   * work is now undertaken off the Event Dispatch Thread by <code>Simulation.step</code>, leaving
+   * this method to log the operation performed upon each keyframe. Repainting the three main
+   * <code>ImagePanel</code> objects, once also done here, is now done for every frame published by
+   * the simulation via <code>Application.publishFrame</code>, so that tweens between keyframes are
+   * shown.
    * <br />
    * <br />
-   * This method was featured in the author's "Project 1 Documentation" <code>.pdf</code> file, used
-   * to demonstrate the testing procedure by which the author ensured that each operation was
-   * performed properly. Basically, this method assists in allowing the author to make sure each
-   * operation is being performed correctly by showing each transformation individually and alone,
-   * divorced from similar transformations that are required by the rubric to be undertaken in
-   * tandem. Additional details may be found in <code>Eissen_Project1.pdf</code>.
+   * Much of this method's functionality was extracted from the larger method included in the P1
+   * template files, namely <code>CMSC405P1Template.paintComponent</code>. It made more sense to
+   * isolate functionality related to custom <code>JPanel</code> image items in a separate class,
+   * namely <code>ImagePanel</code>, than to keep everything in one class, in accordance with the
+   * <a href="https://en.wikipedia.org/wiki/Single_responsibility_principle">single responsibility
+   * principle</a>.
    *
+   * @param snapshot <code>TransformSnapshot</code> keyframe reached by the simulation
    * @return void
    */
-  private void testTransformation() {
-    switch (this.getFrameCounter()) {
-      case 0:
-        this.addLogEntry("Translate images -5 units along the x-axis");
-        this.getAffineTransform().translate(-5.0, 0);
-        break;
-      case 1:
-        this.addLogEntry("Translate images +7 units along the y-axis");
-        this.getAffineTransform().translate(0, 7.0);
-        break;
-      case 2:
-        this.addLogEntry("Rotate images 45 degrees counterclockwise");
-        this.getAffineTransform().rotate(45 * Math.PI / 180.0);
-        break;
-      case 3:
-        this.addLogEntry("Rotate images 90 degrees clockwise");
-        this.getAffineTransform().rotate(-90 * Math.PI / 180.0);
-        break;
-      case 4:
-        this.addLogEntry("Scale images 2 times along x-axis");
-        this.getAffineTransform().scale(2.0, 1.0);
-        break;
-      case 5:
-        this.addLogEntry("Scale images 0.5 times along y-axis");
-        this.getAffineTransform().scale(1.0, 0.5);
-        break;
-      case 6:
-        this.addLogEntry("Reset images to original positions");
-        break;
-      default:
-        this.addLogEntry("Error: Improper frameCounter value");
-        break;
-    }
+  private void handleTransformation(TransformSnapshot snapshot) {
+
+    // Log the operation performed for this frame
+    this.addLogEntry(snapshot.getMessage());
+  }
+
+  /**
+   * Repaints the three main <code>ImagePanel</code> objects contained in
+   * <code>Application.imageArray</code>, each only over the region its image has moved through.
+   *
+   * @return void
+   */
+  private void repaintImages() {
+    this.getImageArray().forEach((ImagePanel panel) -> {
+      panel.repaintImage();
+    });
+
+    this.getPaintMetrics().recordFrame(this.getImageArray().size());
   }
 
   // Image methods
 
   /**
-   * This method constructs a letter Z from a set of <code>for</code> loops. Originally, the author
-   * made use of a number of taxing comparison operations to determine which elements to paint white
-   * to match the panel background. However, making use of the below StackExchange thread, he
-   * revised the method significantly to make use of loops only without the need for any
-   * comparisons. As per the rubric, this method returns a 2D <code>int</code> array object for use
-   * by the <code>ImagePanel</code> class.
+   * This method constructs a letter Z of the given size. Originally, the author made use of a
+   * number of taxing comparison operations to determine which elements to paint white to match the
+   * panel background, and later a column-by-column set of loops per the StackExchange thread below.
+   * The image is now assembled row by row, each row consisting of a white (or, for the top and
+   * bottom rows, black) span interrupted only by the single gray pixel of the diagonal, so that
+   * the work done is linear in the number of pixels. The rows are written straight into the image
+   * by <code>LetterZGenerator</code>, found as an <code>ImageGenerator</code> service.
    *
    * @see <a href="https://codereview.stackexchange.com/a/160886">CR thread response</a>
-   * @return builtImage <code>int[][]</code>
+   * @param imageSize <code>int</code> width and height of the image in pixels
+   * @param parallel <code>boolean</code> whether rows may be filled in bands across cores
+   * @return builtImage <code>PixelBuffer</code> indexed into a white, gray and black palette
    */
-  private int[][] buildLetterZ() {
+  protected static PixelBuffer buildLetterZ(int imageSize, boolean parallel) {
+    return ImageGenerators.generate(ImageGenerators.get("letterZ"), imageSize, imageSize, parallel);
+  }
 
-    // Declarations
-    int[][] builtImage;
-    int z;
+  /**
+   * This method is a variation on the one above, namely <code>Application.buildLetterZ</code>.
+   * Using the same basic principles, this method constructs a blue triangle by painting one half of
+   * a diagonal white to match the background and the rest of the image blue. Each row is simply a
+   * white span followed by a blue span whose boundary moves one pixel left per row, as written by
+   * <code>TriangleGenerator</code>.
+   *
+   * @see <a href="https://codereview.stackexchange.com/a/160886">CR thread response</a>
+   * @param imageSize <code>int</code> width and height of the image in pixels
+   * @param parallel <code>boolean</code> whether rows may be filled in bands across cores
+   * @return builtImage <code>PixelBuffer</code> indexed into a white and blue palette
+   */
+  protected static PixelBuffer buildTriangle(int imageSize, boolean parallel) {
+    return ImageGenerators.generate(ImageGenerators.get("triangle"), imageSize, imageSize,
+      parallel);
+  }
 
-    // Definitions
-    builtImage = new int[Application.IMAGE_SIZE][Application.IMAGE_SIZE];
+  /**
+   * This method differs slightly from those above, namely <code>Application.buildLetterZ</code>
+   * and <code>Application.buildTriangle</code>, in that it paints a white cross and colors each of
+   * the resultant four square quarter panels with a separate color, thus creating a simple little
+   * flag shape.
+   * <br />
+   * <br />
+   * Originally, this method made use of three nested <code>for</code> loops, the innermost of which
+   * re-filled entire quarter columns for every pixel of the outer loops and made generation cubic
+   * in the image size. As each row of the flag consists of at most three spans (a left quarter, the
+   * white vertical bar, and a right quarter), the rows are now filled directly in linear time by
+   * <code>FlagGenerator</code>.
+   *
+   * @param imageSize <code>int</code> width and height of the image in pixels
+   * @param parallel <code>boolean</code> whether rows may be filled in bands across cores
+   * @return builtImage <code>PixelBuffer</code> indexed into a five-color palette
+   */
+  protected static PixelBuffer buildFlag(int imageSize, boolean parallel) {
+    return ImageGenerators.generate(ImageGenerators.get("flag"), imageSize, imageSize, parallel);
+  }
 
-    for (int x = 0; x < Application.IMAGE_SIZE; x++) {
-      z = Application.IMAGE_SIZE - x - 1;
+  /**
+   * This method constructs the same letter Z as <code>Application.buildLetterZ</code>, but as a
+   * <code>RunLengthImage</code>. Every row is at most a span of the background color, the single
+   * gray pixel of the diagonal and another span of the background color, so that the image is
+   * described by three runs per row whatever its size.
+   *
+   * @param imageSize <code>int</code> width and height of the image in pixels
+   * @return builtImage <code>RunLengthImage</code>
+   */
+  protected static RunLengthImage buildLetterZRuns(int imageSize) {
 
-      for (int y = z; y > 0; y--) {
-        builtImage[x][y] = Color.WHITE.getRGB();
-      }
+    // Declarations
+    RunLengthImage builtImage;
+    int background, diagonal;
 
-      // Diagonal is gray
-      builtImage[x][z] = Color.GRAY.getRGB();
+    // Definitions
+    builtImage = new RunLengthImage(imageSize, imageSize);
 
-      for (int y = z + 1; y < builtImage.length - 1; y++) {
-        builtImage[x][y] = Color.WHITE.getRGB();
-      }
+    for (int y = 0; y < imageSize; y++) {
+      background = (y == 0 || y == imageSize - 1) ? Color.BLACK.getRGB() : Color.WHITE.getRGB();
+      diagonal = imageSize - y - 1;
+
+      builtImage.setRow(y, new int[] {diagonal, diagonal + 1, imageSize},
+        new int[] {background, Color.GRAY.getRGB(), background});
     }
 
     return builtImage;
   }
 
   /**
-   * This method is a variation on the one above, namely <code>Application.buildLetterZ</code>.
-   * Using the same basic principles, this method constructs a blue triangle by painting one half of
-   * a diagonal white to match the background and the rest of the image blue.As per the rubric, this
-   * method returns a 2D <code>int</code> array structure for use by the <code>ImagePanel</code>
-   * class.
+   * This method constructs the same triangle as <code>Application.buildTriangle</code>, but as a
+   * <code>RunLengthImage</code> of one white and one blue run per row.
    *
-   * @see <a href="https://codereview.stackexchange.com/a/160886">CR thread response</a>
-   * @return builtImage <code>int[][]</code>
+   * @param imageSize <code>int</code> width and height of the image in pixels
+   * @return builtImage <code>RunLengthImage</code>
    */
-  private int[][] buildTriangle() {
+  protected static RunLengthImage buildTriangleRuns(int imageSize) {
 
     // Declarations
-    int[][] builtImage;
-    int z;
+    RunLengthImage builtImage;
 
     // Definitions
-    builtImage = new int[Application.IMAGE_SIZE][Application.IMAGE_SIZE];
+    builtImage = new RunLengthImage(imageSize, imageSize);
 
-    for (int x = 0; x < Application.IMAGE_SIZE; x++) {
-      z = builtImage.length - x - 1;
+    for (int y = 0; y < imageSize; y++) {
+      builtImage.setRow(y, new int[] {imageSize - y - 1, imageSize},
+        new int[] {Color.WHITE.getRGB(), Color.BLUE.getRGB()});
+    }
 
-      for (int y = z; y >= 0; y--) {
-        builtImage[x][y] = Color.WHITE.getRGB();
-      }
+    return builtImage;
+  }
 
-      for (int y = z; y < Application.IMAGE_SIZE; y++) {
-        builtImage[x][y] = Color.BLUE.getRGB();
+  /**
+   * This method constructs the same flag as <code>Application.buildFlag</code>, but as a
+   * <code>RunLengthImage</code>. Each row is a left quarter, the white vertical bar and a right
+   * quarter, save for the horizontal bar, which is a single white run.
+   *
+   * @param imageSize <code>int</code> width and height of the image in pixels
+   * @return builtImage <code>RunLengthImage</code>
+   */
+  protected static RunLengthImage buildFlagRuns(int imageSize) {
+
+    // Declarations
+    RunLengthImage builtImage;
+    int midpoint, white;
+
+    // Definitions
+    builtImage = new RunLengthImage(imageSize, imageSize);
+    midpoint = imageSize / 2;
+    white = Color.WHITE.getRGB();
+
+    for (int y = 0; y < imageSize; y++) {
+      if (y == midpoint) {
+        builtImage.setRow(y, new int[] {imageSize}, new int[] {white});
+      } else {
+        builtImage.setRow(y, new int[] {midpoint, midpoint + 1, imageSize}, new int[] {
+          (y < midpoint) ? Color.GREEN.getRGB() : Color.BLUE.getRGB(), white,
+          (y < midpoint) ? Color.RED.getRGB() : Color.YELLOW.getRGB()
+        });
       }
     }
 
@@ -743,93 +1212,228 @@ final class Application extends JFrame {
   }
 
   /**
-   * This method differs slightly from those above, namely <code>Application.buildLetterZ</code>
-   * and <code>Application.buildTriangle</code> in that it makes use of different coding not
-   * refactored for a new shape. In this method, a set of <code>for</code> loops are used in place
-   * of <code>if</code> statements to paint a white cross and color each of the resultant four
-   * square quarter panels with a separate color, thus creating a simple little flag shape.
-   * <br />
-   * <br />
-   * The author is sure there is a better way to do this, but is unsure of how specifically to
-   * approach the problem differently. Though the use of three nested <code>for</code> loops is
-   * certainly undesirable, any other possibilities require the use of potentially taxing
-   * conditional statements, which the author was intending to avoid by implementing loops.
+   * This method returns the three images of the program, by default the flag, triangle and letter
+   * Z, in that order, each loaded via <code>Application.loadImage</code>.
+   *
+   * @param imageSize <code>int</code> width and height of the images in pixels
+   * @return images <code>List</code> of <code>PixelBuffer</code>s
+   */
+  protected static List<PixelBuffer> loadImages(int imageSize) {
+    return Arrays.stream(Application.getGeneratorNames())
+      .map((String name) -> Application.loadImage(name, imageSize))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * This method returns the image of the given size produced by the named
+   * <code>ImageGenerator</code>. If an image cache directory was named via
+   * <tt>-Dgraphicsprojectone.imageCache=...</tt>, the image is read from the
+   * <code>RawImageFile</code> <tt>&lt;name&gt;-&lt;imageSize&gt;.raw</tt> therein, which need only
+   * be mapped and copied rather than generated. If no such file exists, or it cannot be read, the
+   * image is generated and written there for later runs. Without a cache directory, the image is
+   * simply generated.
    *
-   * @return builtImage <code>int[][]</code>
+   * @param name <code>String</code> naming the generator and the image in the cache
+   * @param imageSize <code>int</code> width and height of the image in pixels
+   * @return image <code>PixelBuffer</code>
+   * @throws IllegalArgumentException if there is no generator of the given name
+   * @throws UncheckedIOException if a generated image cannot be written to the cache
    */
-  private int[][] buildFlag() {
+  protected static PixelBuffer loadImage(String name, int imageSize) {
 
     // Declarations
-    int[][] builtImage;
-    int midpoint;
+    Path path;
+    RawImageFile cached;
+    PixelBuffer image;
+
+    if (Application.IMAGE_CACHE.isEmpty()) {
+      return ImageGenerators.generate(ImageGenerators.get(name), imageSize, imageSize, true);
+    }
 
     // Definitions
-    builtImage = new int[Application.IMAGE_SIZE][Application.IMAGE_SIZE];
-    midpoint = Application.IMAGE_SIZE / 2;
+    path = Application.getCachePath(name, imageSize);
+    cached = Application.openCachedImage(path);
 
-    for (int x = 0; x < Application.IMAGE_SIZE; x++) {
+    if (cached != null) {
+      return cached.toPixelBuffer();
+    }
 
-      // Horizontal white line
-      builtImage[x][midpoint] = Color.WHITE.getRGB();
+    image = ImageGenerators.generate(ImageGenerators.get(name), imageSize, imageSize, true);
 
-      for (int y = 0; y < Application.IMAGE_SIZE; y++) {
+    try {
+      RawImageFile.write(image, path);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
 
-        // Vertical white line
-        builtImage[midpoint][y] = Color.WHITE.getRGB();
+    return image;
+  }
 
-        // Top-left quarter
-        for (int z = midpoint - 1; z >= 0 & y < midpoint; z--) {
-          builtImage[y][z] = Color.GREEN.getRGB();
-        }
+  /**
+   * This method returns the image of the given size produced by the named
+   * <code>ImageGenerator</code> as a <code>TiledImage</code> backed by its
+   * <code>RawImageFile</code> in the image cache directory, whose tiles are paged in from the
+   * mapped file only as they are drawn. If the file does not exist, it is first streamed to disk
+   * by the generator a band of rows at a time, so that any generator, not just the built-in
+   * images, may be drawn at sizes far beyond the heap, and beyond the two gigabytes a single
+   * mapping may hold.
+   *
+   * @param name <code>String</code> naming the generator and the image in the cache
+   * @param imageSize <code>int</code> width and height of the image in pixels
+   * @return builtImage <code>TiledImage</code>
+   * @throws IllegalArgumentException if there is no generator of the given name
+   * @throws UncheckedIOException if the image cannot be written to or read from the cache
+   */
+  protected static TiledImage loadTiles(String name, int imageSize) {
 
-        // Top-right quarter
-        for (int z = midpoint - 1; z >= 0 & y > midpoint; z--) {
-          builtImage[y][z] = Color.RED.getRGB();
-        }
+    // Declarations
+    Path path;
+    RawImageFile cached;
 
-        // Bottom-left quarter
-        for (int z = midpoint + 1; z < Application.IMAGE_SIZE & y < midpoint; z++) {
-          builtImage[y][z] = Color.BLUE.getRGB();
-        }
+    // Definitions
+    path = Application.getCachePath(name, imageSize);
+    cached = Application.openCachedImage(path);
 
-        // Bottom-right quarter
-        for (int z = midpoint + 1; z < Application.IMAGE_SIZE & y > midpoint; z++) {
-          builtImage[y][z] = Color.YELLOW.getRGB();
-        }
+    try {
+      if (cached == null) {
+        RawImageFile.write(ImageGenerators.get(name), imageSize, imageSize, path);
+        cached = RawImageFile.open(path);
       }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
     }
 
+    return Application.buildTiles(cached.getWidth(), cached.getHeight(), cached::fillTile);
+  }
+
+  /**
+   * Returns the path of the named image of the given size in the image cache directory, creating
+   * the directory if need be.
+   *
+   * @param name <code>String</code>
+   * @param imageSize <code>int</code>
+   * @return path <code>Path</code>
+   * @throws UncheckedIOException if the directory cannot be created
+   */
+  private static Path getCachePath(String name, int imageSize) {
+    try {
+      return Files.createDirectories(Path.of(Application.IMAGE_CACHE))
+        .resolve(name + "-" + imageSize + ".raw");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Maps the cached image at the given path, if there is one.
+   *
+   * @param path <code>Path</code>
+   * @return cached <code>RawImageFile</code>, or <code>null</code> if the file does not exist or is
+   *     stale or damaged, in which case it is to be regenerated and replaced
+   */
+  private static RawImageFile openCachedImage(Path path) {
+    try {
+      return (Files.isRegularFile(path)) ? RawImageFile.open(path) : null;
+    } catch (IOException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * This method builds a <code>TiledImage</code> whose tiles are filled by the given generator as
+   * they are first drawn and held in a <code>TileCache</code> of its own. Given the
+   * <code>fillTile</code> method of a <code>RunLengthImage</code>, whose runs take but a few
+   * integers per row, the procedural images may thus be drawn at sizes such as 32768 x 32768
+   * pixels without ever holding more than the cached tiles in memory.
+   *
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param generator <code>TiledImage.TileGenerator</code>
+   * @return builtImage <code>TiledImage</code>
+   */
+  protected static TiledImage buildTiles(int width, int height,
+      TiledImage.TileGenerator generator) {
+    return new TiledImage(width, height, Application.TILE_SIZE, generator,
+      new TileCache(Application.TILE_CACHE_MEGABYTES * 1024L * 1024L));
+  }
+
+  /**
+   * This method constructs the letter Z of <code>Application.buildLetterZ</code> as a
+   * <code>VectorImage</code>. The black top and bottom rows are bars one pixel tall, and the gray
+   * diagonal is a band one pixel wide running between the opposite corners, so that the shapes
+   * cover the same pixel centers as the pixels of the raster image at its nominal size.
+   *
+   * @param imageSize <code>int</code> nominal width and height of the image in pixels
+   * @return builtImage <code>VectorImage</code>
+   */
+  protected static VectorImage buildLetterZShapes(int imageSize) {
+
+    // Declarations
+    VectorImage builtImage;
+    double size;
+
+    // Definitions
+    builtImage = new VectorImage(imageSize, imageSize);
+    size = imageSize;
+
+    builtImage.addShape(new Rectangle2D.Double(0, 0, size, size), Color.WHITE);
+    builtImage.addShape(new Rectangle2D.Double(0, 0, size, 1), Color.BLACK);
+    builtImage.addShape(new Rectangle2D.Double(0, size - 1, size, 1), Color.BLACK);
+    builtImage.addPolygon(Color.GRAY, size - 0.5, 0, size, 0, size, 0.5, 0.5, size, 0, size, 0,
+      size - 0.5);
+
     return builtImage;
   }
 
-  // TimerListener
+  /**
+   * This method constructs the triangle of <code>Application.buildTriangle</code> as a
+   * <code>VectorImage</code>, a blue right triangle filling the lower right half of a white square.
+   *
+   * @param imageSize <code>int</code> nominal width and height of the image in pixels
+   * @return builtImage <code>VectorImage</code>
+   */
+  protected static VectorImage buildTriangleShapes(int imageSize) {
+
+    // Declarations
+    VectorImage builtImage;
+    double size;
+
+    // Definitions
+    builtImage = new VectorImage(imageSize, imageSize);
+    size = imageSize;
+
+    builtImage.addShape(new Rectangle2D.Double(0, 0, size, size), Color.WHITE);
+    builtImage.addPolygon(Color.BLUE, size, 0, size, size, 0, size);
+
+    return builtImage;
+  }
 
   /**
-   * This utility inner class was simply used to handle <code>Timer</code> events, and to more
-   * easily allow for instantiation of a new <code>Timer</code> object to assign to the global
-   * <code>animationTimer</code> field. This class contains a single required method, namely
-   * <code>actionPerformed</code>, which itself invokes the outer class's own
-   * <code>Application.handleTransformation</code> method.
+   * This method constructs the flag of <code>Application.buildFlag</code> as a
+   * <code>VectorImage</code>, four colored quarters laid over a white square so as to leave the
+   * white cross one pixel wide between them.
    *
-   * Implements <code>ActionListener</code>
-   * @see java.awt.event.ActionListener
-   * @see <a href="https://stackoverflow.com/questions/23894689">Relevant SO Thread #1</a>
-   * @see <a href="https://stackoverflow.com/questions/11438048">Relevant SO Thread #2</a>
-   * @author Andrew Eissen
+   * @param imageSize <code>int</code> nominal width and height of the image in pixels
+   * @return builtImage <code>VectorImage</code>
    */
-  private final class TimerListener implements ActionListener {
+  protected static VectorImage buildFlagShapes(int imageSize) {
 
-    /**
-     * This method implements the only required method of the <code>ActionListener</code> class, and
-     * simply invokes the outer class's <code>Application.handleTransformation</code> method as
-     * stated above.
-     *
-     * @param e <code>ActionEvent</code>
-     * @return void
-     */
-    @Override
-    public void actionPerformed(ActionEvent e) {
-      handleTransformation();
-    }
+    // Declarations
+    VectorImage builtImage;
+    int midpoint, far;
+
+    // Definitions
+    builtImage = new VectorImage(imageSize, imageSize);
+    midpoint = imageSize / 2;
+    far = imageSize - midpoint - 1;
+
+    builtImage.addShape(new Rectangle2D.Double(0, 0, imageSize, imageSize), Color.WHITE);
+    builtImage.addShape(new Rectangle2D.Double(0, 0, midpoint, midpoint), Color.GREEN);
+    builtImage.addShape(new Rectangle2D.Double(midpoint + 1, 0, far, midpoint), Color.RED);
+    builtImage.addShape(new Rectangle2D.Double(0, midpoint + 1, midpoint, far), Color.BLUE);
+    builtImage.addShape(new Rectangle2D.Double(midpoint + 1, midpoint + 1, far, far),
+      Color.YELLOW);
+
+    return builtImage;
   }
-}
\ No newline at end of file
+}
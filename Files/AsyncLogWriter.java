@@ -0,0 +1,174 @@
+/**
+ * AsyncLogWriter.java - Buffered log file written on a background thread
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class appends lines to a log file without ever making the caller wait on the disk. Lines
+ * are handed over through a bounded queue to a dedicated writer thread, which writes them through
+ * a <code>BufferedWriter</code> and flushes only once the queue has been drained, so that a burst
+ * of lines costs a single flush. Should the queue fill up, as when the disk stalls, further lines
+ * are dropped and counted rather than blocking the thread that logged them.
+ *
+ * @author Andrew Eissen
+ */
+final class AsyncLogWriter {
+
+  /** Number of lines that may be waiting to be written before lines are dropped */
+  private static final int QUEUE_CAPACITY = 8192;
+
+  /** Sentinel queued by <code>AsyncLogWriter.close</code> to stop the writer thread */
+  private static final String END = new String();
+
+  /** Time allowed for queued lines to be written when closing */
+  private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
+  // Private class fields
+  private final Path path;
+  private final BufferedWriter writer;
+  private final BlockingQueue<String> queue;
+  private final ExecutorService executor;
+  private final AtomicLong linesDropped;
+  private volatile IOException error;
+
+  /**
+   * Parameterized constructor. The file is created if need be and appended to.
+   *
+   * @param path <code>Path</code> of the log file
+   * @throws IOException if the file cannot be opened
+   */
+  protected AsyncLogWriter(Path path) throws IOException {
+    this.path = path;
+    this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+      StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    this.queue = new ArrayBlockingQueue<>(AsyncLogWriter.QUEUE_CAPACITY);
+    this.linesDropped = new AtomicLong();
+    this.executor = Executors.newSingleThreadExecutor((Runnable runnable) -> {
+      Thread thread = new Thread(runnable, "AsyncLogWriter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.executor.execute(this::run);
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>AsyncLogWriter.path</code>
+   *
+   * @return path <code>Path</code>
+   */
+  protected Path getPath() {
+    return this.path;
+  }
+
+  /**
+   * Returns the number of lines dropped because the queue was full or the file had failed.
+   *
+   * @return linesDropped <code>long</code>
+   */
+  protected long getLinesDropped() {
+    return this.linesDropped.get();
+  }
+
+  /**
+   * Returns the error that stopped the file from being written, if any.
+   *
+   * @return error <code>IOException</code>, or <code>null</code>
+   */
+  protected IOException getError() {
+    return this.error;
+  }
+
+  // Utility methods
+
+  /**
+   * Queues a line to be written. Safe to call from any thread, and never blocks.
+   *
+   * @param line <code>String</code> without its line terminator
+   * @return queued <code>boolean</code> false if the line was dropped
+   */
+  protected boolean write(String line) {
+    if (this.error != null || !this.queue.offer(line)) {
+      this.linesDropped.incrementAndGet();
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Writes out any lines still queued, waiting a short while for them to be written, then closes
+   * the file. Lines written afterwards are dropped. Should the queue stay full for that long, as
+   * when the writer thread is stuck on a slow disk, the lines still queued are dropped and counted
+   * instead, so that closing never blocks indefinitely.
+   *
+   * @return void
+   */
+  protected void close() {
+    try {
+      if (!this.queue.offer(AsyncLogWriter.END, AsyncLogWriter.CLOSE_TIMEOUT_MILLIS,
+          TimeUnit.MILLISECONDS)) {
+        while (this.queue.poll() != null) {
+          this.linesDropped.incrementAndGet();
+        }
+
+        this.queue.offer(AsyncLogWriter.END);
+      }
+
+      this.executor.shutdown();
+      this.executor.awaitTermination(AsyncLogWriter.CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * This method is the body of the writer thread. It waits for a line, writes it along with every
+   * other line queued behind it, and flushes the batch before waiting again, until closed or until
+   * the file fails, after which any lines still queued are discarded.
+   *
+   * @return void
+   */
+  private void run() {
+
+    // Declarations
+    String line;
+
+    try (BufferedWriter output = this.writer) {
+      while ((line = this.queue.take()) != AsyncLogWriter.END) {
+        do {
+          output.write(line);
+          output.newLine();
+        } while ((line = this.queue.poll()) != null && line != AsyncLogWriter.END);
+
+        output.flush();
+
+        if (line == AsyncLogWriter.END) {
+          break;
+        }
+      }
+    } catch (IOException ex) {
+      this.error = ex;
+      this.linesDropped.addAndGet(this.queue.size());
+      this.queue.clear();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
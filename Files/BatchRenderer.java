@@ -0,0 +1,217 @@
+/**
+ * BatchRenderer.java - Headless renderer for every frame of the transformation cycle
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.imageio.ImageIO;
+
+/**
+ * This class renders every frame of a transformation cycle to offscreen <code>BufferedImage</code>s
+ * without opening a window. Whereas <code>Application</code> waits on a <code>Timer</code> and
+ * lets Swing repaint each <code>ImagePanel</code> on the Event Dispatch Thread, this class simply
+ * replays the cycle up front and renders every (frame, image) pair in parallel as fast as the
+ * available cores permit, making it suitable for batch jobs on headless servers.
+ * <br />
+ * <br />
+ * Each frame is drawn using the same transform as <code>ImagePanel.paintComponent</code>, obtained
+ * from <code>ImagePanel.createViewTransform</code>, so a rendered frame is identical to what a
+ * panel of the same size would show on screen at that point in the cycle.
+ *
+ * @author Andrew Eissen
+ */
+final class BatchRenderer {
+
+  /** Default frame dimensions, roughly those of an image panel in the default window */
+  private static final int DEFAULT_FRAME_SIZE = 200;
+
+  // Private class fields
+  private final List<PixelBuffer> images;
+  private final TransformScript script;
+  private final int frameWidth, frameHeight;
+  private Color background;
+  private AffineRasterizer.Sampling sampling;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param images <code>List</code> of images to be transformed
+   * @param script <code>TransformScript</code> cycle to be rendered
+   * @param frameWidth <code>int</code>
+   * @param frameHeight <code>int</code>
+   */
+  protected BatchRenderer(List<PixelBuffer> images, TransformScript script, int frameWidth,
+      int frameHeight) {
+    if (frameWidth <= 0 || frameHeight <= 0) {
+      throw new IllegalArgumentException("Invalid frame dimensions: " + frameWidth + "x"
+        + frameHeight);
+    }
+
+    this.images = new ArrayList<>(images);
+    this.script = script;
+    this.frameWidth = frameWidth;
+    this.frameHeight = frameHeight;
+    this.setBackground(Color.WHITE);
+  }
+
+  // Setters
+
+  /**
+   * Setter for <code>BatchRenderer.background</code>
+   *
+   * @param background <code>Color</code>
+   * @return void
+   */
+  protected void setBackground(Color background) {
+    this.background = background;
+  }
+
+  /**
+   * Setter for <code>BatchRenderer.sampling</code>. If non-null, frames are rendered by
+   * <code>AffineRasterizer</code> using the given sampling rather than by
+   * <code>Graphics2D.drawImage</code>.
+   *
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @return void
+   */
+  protected void setSampling(AffineRasterizer.Sampling sampling) {
+    this.sampling = sampling;
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>BatchRenderer.background</code>
+   *
+   * @return background <code>Color</code>
+   */
+  protected Color getBackground() {
+    return this.background;
+  }
+
+  /**
+   * Getter for <code>BatchRenderer.sampling</code>
+   *
+   * @return sampling <code>AffineRasterizer.Sampling</code>
+   */
+  protected AffineRasterizer.Sampling getSampling() {
+    return this.sampling;
+  }
+
+  // Utility methods
+
+  /**
+   * This method returns the cumulative transform of each frame of the cycle, as compiled from the
+   * script. These are the keyframes shown by the panels, so that the frame of a <tt>reset</tt> is
+   * the identity rather than the transform of the frame before it.
+   *
+   * @return transforms <code>AffineTransform[]</code> indexed by frame
+   */
+  protected AffineTransform[] buildTransforms() {
+    return this.script.toAffineTransforms();
+  }
+
+  /**
+   * This method renders every image at every frame of the cycle. The transforms are taken from the
+   * compiled script, after which each (frame, image) pair is rendered independently on the common
+   * fork/join pool.
+   *
+   * @return frames <code>BufferedImage[][]</code> indexed by frame, then image
+   */
+  protected BufferedImage[][] render() {
+
+    // Declarations
+    AffineTransform[] transforms;
+    BufferedImage[][] frames;
+    int imageCount;
+
+    // Definitions
+    transforms = this.buildTransforms();
+    frames = new BufferedImage[transforms.length][this.images.size()];
+    imageCount = this.images.size();
+
+    IntStream.range(0, transforms.length * imageCount).parallel().forEach((int index) -> {
+      frames[index / imageCount][index % imageCount] =
+        this.renderFrame(this.images.get(index % imageCount), transforms[index / imageCount]);
+    });
+
+    return frames;
+  }
+
+  /**
+   * This method renders a single image under the given animation transform into a new frame,
+   * applying the same hints and transform as <code>ImagePanel.paintComponent</code>. If a software
+   * sampling has been set, the frame is rasterized by <code>AffineRasterizer</code> instead.
+   *
+   * @param image <code>PixelBuffer</code>
+   * @param affineTransform <code>AffineTransform</code> current animation transform
+   * @return frame <code>BufferedImage</code>
+   */
+  protected BufferedImage renderFrame(PixelBuffer image, AffineTransform affineTransform) {
+
+    // Frames are already rendered in parallel, so each is rasterized on a single thread
+    return ImagePanel.renderFrame(image, ImagePanel.createViewTransform(this.frameWidth,
+      this.frameHeight, image.getWidth(), image.getHeight(), affineTransform), this.frameWidth,
+      this.frameHeight, this.getBackground(), this.getSampling(), false).getBufferedImage();
+  }
+
+  /**
+   * Headless entry point. Generates the three images, renders the full cycle given by
+   * <code>Application.loadTransformScript</code>, and reports the time taken. If an output
+   * directory is given, it is created if missing and every frame is also written to it as a PNG
+   * named <tt>frame&lt;f&gt;_image&lt;i&gt;.png</tt>.
+   *
+   * @param args <code>String[]</code> optional <tt>imageSize [frameWidth frameHeight
+   *     [outputDirectory]]</tt>
+   * @return void
+   */
+  public static void main(String[] args) throws IOException {
+
+    // Declarations
+    int imageSize, frameWidth, frameHeight;
+    List<PixelBuffer> images;
+    BatchRenderer renderer;
+    BufferedImage[][] frames;
+    long startTime, elapsedTime;
+    Path outputDirectory;
+
+    // No display is required or wanted
+    System.setProperty("java.awt.headless", "true");
+
+    // Definitions
+    imageSize = (args.length > 0) ? Integer.parseInt(args[0]) : 25;
+    frameWidth = (args.length > 2) ? Integer.parseInt(args[1]) : BatchRenderer.DEFAULT_FRAME_SIZE;
+    frameHeight = (args.length > 2) ? Integer.parseInt(args[2]) : BatchRenderer.DEFAULT_FRAME_SIZE;
+    outputDirectory = (args.length > 3) ? Files.createDirectories(Path.of(args[3])) : null;
+    images = Application.loadImages(imageSize);
+    renderer = new BatchRenderer(images, Application.loadTransformScript(), frameWidth,
+      frameHeight);
+    renderer.setSampling(Application.getSamplingConstant());
+
+    startTime = System.nanoTime();
+    frames = renderer.render();
+    elapsedTime = System.nanoTime() - startTime;
+
+    System.out.printf("Rendered %d frames of %d images in %.2f ms%n", frames.length, images.size(),
+      elapsedTime / 1e6);
+
+    if (outputDirectory != null) {
+      for (int frame = 0; frame < frames.length; frame++) {
+        for (int image = 0; image < frames[frame].length; image++) {
+          ImageIO.write(frames[frame][image], "png",
+            outputDirectory.resolve("frame" + frame + "_image" + image + ".png").toFile());
+        }
+      }
+    }
+  }
+}
@@ -3,7 +3,7 @@
  * Begun 08/24/18
  * @author Andrew Eissen
  */
-//package graphicsprojectone;
+package graphicsprojectone;
 
 /**
  * This class simply contains the <code>main</code> method, used to initialize a new
@@ -17,12 +17,16 @@
 final class Driver {
 
   /**
-   * Method simply creates a new <code>Application</code> instance.
+   * Method simply creates a new <code>Application</code> instance. If a command line argument is
+   * provided, it is taken as the width and height in pixels of the generated images; otherwise the
+   * default image size is used.
    *
-   * @param args <code>String[]</code>
+   * @param args <code>String[]</code> optional image size as the first element
    * @return void
    */
   public static void main(String[] args) {
-    final Application newApp = new Application();
+    final Application newApp = (args.length > 0)
+      ? new Application(480, 640, "Java 2D Project", Integer.parseInt(args[0]))
+      : new Application();
   }
 }
\ No newline at end of file
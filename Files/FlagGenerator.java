@@ -0,0 +1,105 @@
+/**
+ * FlagGenerator.java - Image generator of the four-color flag
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.image.IndexColorModel;
+
+/**
+ * This class generates the flag shown by the left image panel, a white cross dividing the image
+ * into green and red upper quarters and blue and yellow lower quarters. Each row consists of at
+ * most three spans (a left quarter, the white vertical bar, and a right quarter), save for the
+ * horizontal bar, which is a single white span.
+ * <br />
+ * <br />
+ * This class is public only so that <code>ServiceLoader</code> may instantiate it.
+ *
+ * @author Andrew Eissen
+ */
+public final class FlagGenerator implements ImageGenerator {
+
+  /** Palette indices of the colors of the flag */
+  private static final int WHITE = 0;
+  private static final int GREEN = 1;
+  private static final int RED = 2;
+  private static final int BLUE = 3;
+  private static final int YELLOW = 4;
+
+  /**
+   * Default constructor, required by <code>ServiceLoader</code>
+   */
+  public FlagGenerator() {
+  }
+
+  // Getters
+
+  /**
+   * Returns the name by which the generator is looked up.
+   *
+   * @return name <code>String</code> <tt>flag</tt>
+   */
+  @Override
+  public String getName() {
+    return "flag";
+  }
+
+  // Utility methods
+
+  /**
+   * Returns a palette of white, green, red, blue and yellow, in that order.
+   *
+   * @return palette <code>IndexColorModel</code>
+   */
+  @Override
+  public IndexColorModel createPalette() {
+    return PixelBuffer.createPalette(Color.WHITE, Color.GREEN, Color.RED, Color.BLUE,
+      Color.YELLOW);
+  }
+
+  /**
+   * Fills the given rows of the flag. The white bars run through the middle column and row of the
+   * image.
+   *
+   * @param destination <code>PixelBuffer</code>
+   * @param startRow <code>int</code> first row of the destination, inclusive
+   * @param endRow <code>int</code> last row of the destination, exclusive
+   * @param originY <code>int</code> row of the image held by row 0 of the destination
+   * @param imageHeight <code>int</code> height of the whole image
+   * @return void
+   */
+  @Override
+  public void fillRows(PixelBuffer destination, int startRow, int endRow, int originY,
+      int imageHeight) {
+
+    // Declarations
+    int width, midpointX, midpointY, row;
+
+    // Definitions
+    width = destination.getWidth();
+    midpointX = width / 2;
+    midpointY = imageHeight / 2;
+
+    for (int y = startRow; y < endRow; y++) {
+      row = originY + y;
+
+      if (row == midpointY) {
+
+        // Horizontal white line
+        destination.fillIndexSpan(y, 0, width, FlagGenerator.WHITE);
+      } else {
+
+        // Top quarters are green and red, bottom quarters blue and yellow
+        destination.fillIndexSpan(y, 0, midpointX,
+          (row < midpointY) ? FlagGenerator.GREEN : FlagGenerator.BLUE);
+        destination.fillIndexSpan(y, midpointX + 1, width,
+          (row < midpointY) ? FlagGenerator.RED : FlagGenerator.YELLOW);
+
+        // Vertical white line
+        destination.setIndex(midpointX, y, FlagGenerator.WHITE);
+      }
+    }
+  }
+}
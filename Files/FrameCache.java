@@ -0,0 +1,204 @@
+/**
+ * FrameCache.java - Size-bounded LRU cache of rendered panel frames
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+
+/**
+ * This class caches the frames rendered by an <code>ImagePanel</code> so that a frame need only be
+ * transformed once. As the cycle performed by <code>Application.handleTransformation</code> is
+ * fully deterministic, repeating the same handful of states forever before being reset to a new
+ * <code>AffineTransform</code>, every frame after the first cycle may simply be copied to the
+ * screen from the cache rather than re-rasterized.
+ * <br />
+ * <br />
+ * Frames are keyed by <code>FrameCache.Key</code>, comprising the identity of the source image, the
+ * six coefficients of the animation transform, and the panel size and background. The frames are
+ * held in a <code>SizeBoundedCache</code>, bounded by the total number of bytes held by its frames
+ * and evicting the least recently used frame once the bound is exceeded. Hit and miss counts are
+ * kept for diagnostic purposes.
+ *
+ * @see SizeBoundedCache
+ * @author Andrew Eissen
+ */
+final class FrameCache {
+
+  // Private class fields
+  private final SizeBoundedCache<FrameCache.Key, PixelBuffer> frames;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param maxBytes <code>long</code> maximum total size of the cached frames
+   */
+  protected FrameCache(long maxBytes) {
+    this.frames = new SizeBoundedCache<>(maxBytes, PixelBuffer::getSizeInBytes, false);
+  }
+
+  // Getters
+
+  /**
+   * Returns the maximum total size in bytes of the cached frames.
+   *
+   * @return maxBytes <code>long</code>
+   */
+  protected long getMaxBytes() {
+    return this.frames.getMaxBytes();
+  }
+
+  /**
+   * Returns the total size in bytes of the frames currently cached.
+   *
+   * @return currentBytes <code>long</code>
+   */
+  protected long getCurrentBytes() {
+    return this.frames.getCurrentBytes();
+  }
+
+  /**
+   * Returns the number of frames currently cached.
+   *
+   * @return size <code>int</code>
+   */
+  protected int getSize() {
+    return this.frames.getSize();
+  }
+
+  /**
+   * Returns the number of lookups that found a cached frame.
+   *
+   * @return hits <code>long</code>
+   */
+  protected long getHits() {
+    return this.frames.getHits();
+  }
+
+  /**
+   * Returns the number of lookups that found no cached frame.
+   *
+   * @return misses <code>long</code>
+   */
+  protected long getMisses() {
+    return this.frames.getMisses();
+  }
+
+  /**
+   * Returns the number of frames evicted to keep the cache within its bound.
+   *
+   * @return evictions <code>long</code>
+   */
+  protected long getEvictions() {
+    return this.frames.getEvictions();
+  }
+
+  // Utility methods
+
+  /**
+   * Looks up the frame for the given key, marking it as most recently used if present.
+   *
+   * @param key <code>FrameCache.Key</code>
+   * @return frame <code>PixelBuffer</code>, or <code>null</code> if not cached
+   */
+  protected PixelBuffer get(FrameCache.Key key) {
+    return this.frames.get(key);
+  }
+
+  /**
+   * Adds a frame to the cache, then evicts least recently used frames until the cache is back
+   * within its bound. A frame larger than the whole cache is not retained.
+   *
+   * @param key <code>FrameCache.Key</code>
+   * @param frame <code>PixelBuffer</code>
+   * @return void
+   */
+  protected void put(FrameCache.Key key, PixelBuffer frame) {
+    this.frames.put(key, frame);
+  }
+
+  /**
+   * Removes every frame from the cache. The hit, miss and eviction counts are retained.
+   *
+   * @return void
+   */
+  protected void clear() {
+    this.frames.clear();
+  }
+
+  // Key
+
+  /**
+   * Immutable cache key identifying a rendered frame. Source images are compared by identity
+   * rather than by content, as each panel's image is a distinct object that never changes.
+   *
+   * @author Andrew Eissen
+   */
+  static final class Key {
+
+    // Private class fields
+    private final Object image;
+    private final double[] matrix;
+    private final int width, height, background;
+    private final int hashCode;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param image <code>Object</code> source image, compared by identity
+     * @param affineTransform <code>AffineTransform</code> animation transform
+     * @param width <code>int</code> panel width
+     * @param height <code>int</code> panel height
+     * @param background <code>int</code> panel background RGB
+     */
+    protected Key(Object image, AffineTransform affineTransform, int width, int height,
+        int background) {
+      this.image = image;
+      this.matrix = new double[6];
+      this.width = width;
+      this.height = height;
+      this.background = background;
+      affineTransform.getMatrix(this.matrix);
+
+      this.hashCode = 31 * (31 * (31 * (31 * System.identityHashCode(image)
+        + Arrays.hashCode(this.matrix)) + width) + height) + background;
+    }
+
+    /**
+     * Keys are equal if they refer to the same image object, have identical matrices, and were
+     * rendered at the same panel size and background.
+     *
+     * @param other <code>Object</code>
+     * @return equal <code>boolean</code>
+     */
+    @Override
+    public boolean equals(Object other) {
+
+      // Declarations
+      FrameCache.Key key;
+
+      if (this == other) {
+        return true;
+      } else if (!(other instanceof FrameCache.Key)) {
+        return false;
+      }
+
+      key = (FrameCache.Key) other;
+
+      return this.image == key.image && this.width == key.width && this.height == key.height
+        && this.background == key.background && Arrays.equals(this.matrix, key.matrix);
+    }
+
+    /**
+     * Returns the hash code computed on construction.
+     *
+     * @return hashCode <code>int</code>
+     */
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/**
+ * FrameExporter.java - Headless export of the animation to an animated GIF or PNG sequence
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * This class records one full loop of the animation as the user GUI would show it, tweens
+ * included, so that it may be captured without resorting to screenshots such as those in
+ * <tt>Images/</tt>. Each frame holds the three images side by side, as in the images panel.
+ * <br />
+ * <br />
+ * Frames are produced by stepping a <code>Simulation</code> built by
+ * <code>Application.createSimulation</code> one tick at a time by hand rather than in real time,
+ * so that the export runs as fast as frames can be produced and holds exactly the frames the user
+ * GUI would have shown. Each frame is rendered on the calling thread and handed to a
+ * <code>FrameRecorder</code>, whose bounded queue stalls rendering only once the encoder has
+ * fallen a few frames behind, keeping memory use flat however long the cycle.
+ * <br />
+ * <br />
+ * The cycle is stepped through once before recording begins. The first pass tweens in from the
+ * untransformed images, whereas every later pass tweens in from the final keyframe of the one
+ * before, so recording the second pass yields an animation that loops without a seam.
+ *
+ * @author Andrew Eissen
+ */
+final class FrameExporter {
+
+  /** Default size of each image's part of the frame, roughly that of an image panel */
+  private static final int DEFAULT_FRAME_SIZE = 200;
+
+  /** Frames that may be waiting to be encoded before rendering is made to wait */
+  private static final int QUEUE_CAPACITY = 8;
+
+  // Private class fields
+  private final List<PixelBuffer> images;
+  private final int frameWidth, frameHeight;
+  private Color background;
+  private AffineRasterizer.Sampling sampling;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param images <code>List</code> of images to be shown side by side
+   * @param frameWidth <code>int</code> width of each image's part of the frame
+   * @param frameHeight <code>int</code>
+   */
+  protected FrameExporter(List<PixelBuffer> images, int frameWidth, int frameHeight) {
+    if (images.isEmpty() || frameWidth <= 0 || frameHeight <= 0) {
+      throw new IllegalArgumentException("Invalid frame dimensions: " + images.size() + " x "
+        + frameWidth + "x" + frameHeight);
+    }
+
+    this.images = List.copyOf(images);
+    this.frameWidth = frameWidth;
+    this.frameHeight = frameHeight;
+    this.setBackground(Color.WHITE);
+  }
+
+  // Setters
+
+  /**
+   * Setter for <code>FrameExporter.background</code>
+   *
+   * @param background <code>Color</code>
+   * @return void
+   */
+  protected void setBackground(Color background) {
+    this.background = background;
+  }
+
+  /**
+   * Setter for <code>FrameExporter.sampling</code>
+   *
+   * @param sampling <code>AffineRasterizer.Sampling</code>, or <code>null</code>
+   * @return void
+   */
+  protected void setSampling(AffineRasterizer.Sampling sampling) {
+    this.sampling = sampling;
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>FrameExporter.background</code>
+   *
+   * @return background <code>Color</code>
+   */
+  protected Color getBackground() {
+    return this.background;
+  }
+
+  /**
+   * Getter for <code>FrameExporter.sampling</code>
+   *
+   * @return sampling <code>AffineRasterizer.Sampling</code>
+   */
+  protected AffineRasterizer.Sampling getSampling() {
+    return this.sampling;
+  }
+
+  // Utility methods
+
+  /**
+   * This method records one full loop of the animation to the given output, returning once every
+   * frame has been encoded. The simulation is stepped a tick at a time, the snapshot it publishes
+   * after each tick being rendered and handed to the recorder.
+   *
+   * @param output <code>Path</code> of the GIF file, or of the directory to hold the PNG files
+   * @param format <code>FrameRecorder.Format</code>
+   * @return frames <code>long</code> number of frames recorded
+   * @throws IOException if the output cannot be written
+   * @throws InterruptedException if interrupted while waiting on the encoder
+   */
+  protected long export(Path output, FrameRecorder.Format format)
+      throws IOException, InterruptedException {
+
+    // Declarations
+    Simulation simulation;
+    FrameRecorder recorder;
+    long ticksPerCycle;
+
+    // Definitions
+    simulation = Application.createSimulation((TransformSnapshot keyframe) -> { },
+      (TransformSnapshot snapshot) -> { });
+    ticksPerCycle = (long) simulation.getTicksPerKeyframe() * simulation.getScript().getLength();
+    recorder = new FrameRecorder(output, format,
+      (int) Math.max(1, Math.round(simulation.getTickNanos() / 1e6)), FrameExporter.QUEUE_CAPACITY);
+
+    // Run through the first pass unrecorded so that the recorded pass loops seamlessly
+    simulation.step(ticksPerCycle);
+
+    try {
+      for (long tick = 0; tick < ticksPerCycle; tick++) {
+        simulation.step(1);
+        recorder.record(this.renderFrame(simulation.getSnapshot()));
+      }
+    } finally {
+      recorder.close();
+    }
+
+    return recorder.getFramesWritten();
+  }
+
+  /**
+   * This method renders every image under the given snapshot, as its panel would show it, into a
+   * new frame holding the images side by side.
+   *
+   * @param snapshot <code>TransformSnapshot</code>
+   * @return frame <code>BufferedImage</code>
+   */
+  protected BufferedImage renderFrame(TransformSnapshot snapshot) {
+
+    // Declarations
+    PixelBuffer frame, part, image;
+
+    // Definitions
+    frame = new PixelBuffer(this.frameWidth * this.images.size(), this.frameHeight);
+
+    for (int index = 0; index < this.images.size(); index++) {
+      image = this.images.get(index);
+      part = ImagePanel.renderFrame(image, ImagePanel.createViewTransform(this.frameWidth,
+        this.frameHeight, image.getWidth(), image.getHeight(), snapshot.toAffineTransform()),
+        this.frameWidth, this.frameHeight, this.getBackground(), this.getSampling(), true);
+
+      for (int y = 0; y < this.frameHeight; y++) {
+        System.arraycopy(part.getPixels(), y * this.frameWidth, frame.getPixels(),
+          y * frame.getWidth() + index * this.frameWidth, this.frameWidth);
+      }
+    }
+
+    return frame.getBufferedImage();
+  }
+
+  /**
+   * Headless entry point. Generates the three images and records one loop of the animation to the
+   * given output, as an animated GIF if its name ends in <tt>.gif</tt> and otherwise as a directory
+   * of PNG files. The frame rate is that of the user GUI, set via
+   * <tt>-Dgraphicsprojectone.frameRate=...</tt>.
+   *
+   * @param args <code>String[]</code> <tt>output [imageSize [frameWidth frameHeight]]</tt>
+   * @return void
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+
+    // Declarations
+    int imageSize, frameWidth, frameHeight;
+    Path output;
+    FrameRecorder.Format format;
+    FrameExporter exporter;
+    long startTime, frames;
+
+    // No display is required or wanted
+    System.setProperty("java.awt.headless", "true");
+
+    if (args.length == 0) {
+      System.err.println("Usage: FrameExporter output.gif|outputDirectory [imageSize "
+        + "[frameWidth frameHeight]]");
+      return;
+    }
+
+    // Definitions
+    output = Path.of(args[0]);
+    format = (args[0].toLowerCase().endsWith(".gif"))
+      ? FrameRecorder.Format.GIF
+      : FrameRecorder.Format.PNG;
+    imageSize = (args.length > 1) ? Integer.parseInt(args[1]) : 25;
+    frameWidth = (args.length > 3) ? Integer.parseInt(args[2]) : FrameExporter.DEFAULT_FRAME_SIZE;
+    frameHeight = (args.length > 3) ? Integer.parseInt(args[3]) : FrameExporter.DEFAULT_FRAME_SIZE;
+    exporter = new FrameExporter(Application.loadImages(imageSize), frameWidth, frameHeight);
+    exporter.setSampling(Application.getSamplingConstant());
+
+    startTime = System.nanoTime();
+    frames = exporter.export(output, format);
+
+    System.out.printf("Recorded %d frames to %s in %.2f ms%n", frames, output,
+      (System.nanoTime() - startTime) / 1e6);
+  }
+}
@@ -0,0 +1,326 @@
+/**
+ * FrameRecorder.java - Encodes frames to an animated GIF or PNG sequence on a background thread
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * This class records a stream of frames to disk, either as a single looping animated GIF or as a
+ * directory of numbered PNG files. Encoding, and the GIF palette reduction in particular, is far
+ * slower than rendering a frame, so frames are handed over to a dedicated encoder thread rather
+ * than encoded by the thread that rendered them.
+ * <br />
+ * <br />
+ * The frames waiting to be encoded are held in a bounded queue. Should the encoder fall behind,
+ * <code>FrameRecorder.record</code> blocks until there is room, so that the producer is slowed to
+ * the pace of the encoder rather than piling up frames in memory; no more than the queue capacity
+ * of frames is ever held at once, no matter how long the recording.
+ * <br />
+ * <br />
+ * GIF frame delays are stored in hundredths of a second, so the delay given is rounded to the
+ * nearest hundredth, and to no less than two, below which most viewers slow the animation down.
+ *
+ * @see javax.imageio.ImageWriter#writeToSequence
+ * @author Andrew Eissen
+ */
+final class FrameRecorder {
+
+  /** Sentinel queued by <code>FrameRecorder.close</code> to stop the encoder thread */
+  private static final BufferedImage END = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+
+  /** Least GIF frame delay, in hundredths of a second, honored by common viewers */
+  private static final int MIN_GIF_DELAY = 2;
+
+  /**
+   * Available output formats
+   */
+  enum Format {
+    GIF, // A single looping animated GIF file
+    PNG  // A directory of numbered PNG files
+  }
+
+  // Private class fields
+  private final Path output;
+  private final FrameRecorder.Format format;
+  private final int delayHundredths;
+  private final BlockingQueue<BufferedImage> queue;
+  private final ExecutorService executor;
+  private final Future<?> encodingTask;
+  private final AtomicLong framesWritten;
+  private ImageWriter gifWriter;
+  private ImageOutputStream gifOutput;
+
+  /**
+   * Parameterized constructor. The GIF file or PNG directory is created immediately, and the
+   * encoder thread started.
+   *
+   * @param output <code>Path</code> of the GIF file, or of the directory to hold the PNG files
+   * @param format <code>FrameRecorder.Format</code>
+   * @param frameDelayMillis <code>int</code> time each frame is shown for in the GIF
+   * @param capacity <code>int</code> greatest number of frames waiting to be encoded
+   * @throws IOException if the output cannot be created
+   */
+  protected FrameRecorder(Path output, FrameRecorder.Format format, int frameDelayMillis,
+      int capacity) throws IOException {
+    if (frameDelayMillis <= 0 || capacity <= 0) {
+      throw new IllegalArgumentException("Invalid recording settings: " + frameDelayMillis
+        + " ms, " + capacity + " frames");
+    }
+
+    this.output = output;
+    this.format = format;
+    this.delayHundredths = Math.max(FrameRecorder.MIN_GIF_DELAY,
+      Math.round(frameDelayMillis / 10.0f));
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.framesWritten = new AtomicLong();
+
+    if (format == FrameRecorder.Format.GIF) {
+      this.openGif();
+    } else {
+      Files.createDirectories(output);
+    }
+
+    this.executor = Executors.newSingleThreadExecutor((Runnable runnable) -> {
+      Thread thread = new Thread(runnable, "FrameRecorder");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.encodingTask = this.executor.submit(() -> {
+      this.encode();
+      return null;
+    });
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>FrameRecorder.output</code>
+   *
+   * @return output <code>Path</code>
+   */
+  protected Path getOutput() {
+    return this.output;
+  }
+
+  /**
+   * Returns the number of frames encoded and written so far.
+   *
+   * @return framesWritten <code>long</code>
+   */
+  protected long getFramesWritten() {
+    return this.framesWritten.get();
+  }
+
+  // Utility methods
+
+  /**
+   * Queues a frame to be encoded, blocking while the queue is full. The frame is encoded as is
+   * some time later, and so must not be modified by the caller afterwards.
+   *
+   * @param frame <code>BufferedImage</code>
+   * @return void
+   * @throws InterruptedException if interrupted while waiting for room
+   * @throws IOException if encoding has already failed
+   */
+  protected void record(BufferedImage frame) throws InterruptedException, IOException {
+    if (this.encodingTask.isDone()) {
+      this.close();
+      throw new IOException("Recording to " + this.output + " has stopped");
+    }
+
+    this.queue.put(frame);
+  }
+
+  /**
+   * Waits for every queued frame to be encoded, then finishes and closes the output.
+   *
+   * @return void
+   * @throws InterruptedException if interrupted while waiting
+   * @throws IOException if any frame could not be encoded or written
+   */
+  protected void close() throws InterruptedException, IOException {
+    if (!this.encodingTask.isDone()) {
+      this.queue.put(FrameRecorder.END);
+    }
+
+    this.executor.shutdown();
+
+    try {
+      this.encodingTask.get();
+    } catch (ExecutionException ex) {
+      throw (ex.getCause() instanceof IOException)
+        ? (IOException) ex.getCause()
+        : new IOException("Unable to record to " + this.output, ex.getCause());
+    }
+  }
+
+  /**
+   * This method is the body of the encoder thread. It writes out frames as they are queued until
+   * the end of the recording, then completes the GIF, if any. Should a frame fail to be written,
+   * the thread stops, discarding the frames still queued so that the producer is never left
+   * blocked.
+   *
+   * @return void
+   * @throws IOException if a frame cannot be written
+   * @throws InterruptedException if interrupted while waiting for a frame
+   */
+  private void encode() throws IOException, InterruptedException {
+
+    // Declarations
+    BufferedImage frame;
+
+    try {
+      while ((frame = this.queue.take()) != FrameRecorder.END) {
+        if (this.format == FrameRecorder.Format.GIF) {
+          this.gifWriter.writeToSequence(new IIOImage(frame, null,
+            this.createGifMetadata(frame)), null);
+        } else {
+          ImageIO.write(frame, "png", this.output.resolve(String.format("frame%05d.png",
+            this.framesWritten.get())).toFile());
+        }
+
+        this.framesWritten.incrementAndGet();
+      }
+
+      if (this.format == FrameRecorder.Format.GIF) {
+        this.gifWriter.endWriteSequence();
+      }
+    } finally {
+      this.queue.clear();
+
+      if (this.format == FrameRecorder.Format.GIF) {
+        this.gifWriter.dispose();
+        this.gifOutput.close();
+      }
+    }
+  }
+
+  /**
+   * Opens the GIF file, creating any missing parent directories as is done for a directory of
+   * PNG frames, and begins its sequence of frames.
+   *
+   * @return void
+   * @throws IOException if the file cannot be created or no GIF writer is installed
+   */
+  private void openGif() throws IOException {
+
+    // Declarations
+    Iterator<ImageWriter> writers;
+
+    // Definitions
+    writers = ImageIO.getImageWritersByFormatName("gif");
+
+    if (!writers.hasNext()) {
+      throw new IOException("No GIF writer available");
+    }
+
+    if (this.output.getParent() != null) {
+      Files.createDirectories(this.output.getParent());
+    }
+
+    Files.deleteIfExists(this.output);
+    this.gifWriter = writers.next();
+    this.gifOutput = ImageIO.createImageOutputStream(this.output.toFile());
+
+    // Image I/O reports a file it cannot create by returning null rather than throwing
+    if (this.gifOutput == null) {
+      this.gifWriter.dispose();
+      throw new IOException("Unable to create " + this.output);
+    }
+
+    try {
+      this.gifWriter.setOutput(this.gifOutput);
+      this.gifWriter.prepareWriteSequence(null);
+    } catch (IOException | RuntimeException ex) {
+      this.gifWriter.dispose();
+      this.gifOutput.close();
+      throw ex;
+    }
+  }
+
+  /**
+   * This method builds the metadata of a single GIF frame, giving its delay and, on the first
+   * frame, the <tt>NETSCAPE2.0</tt> application extension by which the animation loops forever.
+   *
+   * @param frame <code>BufferedImage</code>
+   * @return metadata <code>IIOMetadata</code>
+   * @throws IOException if the metadata cannot be built
+   */
+  private IIOMetadata createGifMetadata(BufferedImage frame) throws IOException {
+
+    // Declarations
+    IIOMetadata metadata;
+    String formatName;
+    IIOMetadataNode root, control, extensions, loop;
+
+    // Definitions
+    metadata = this.gifWriter.getDefaultImageMetadata(
+      ImageTypeSpecifier.createFromRenderedImage(frame), null);
+    formatName = metadata.getNativeMetadataFormatName();
+    root = (IIOMetadataNode) metadata.getAsTree(formatName);
+
+    control = FrameRecorder.getChild(root, "GraphicControlExtension");
+    control.setAttribute("disposalMethod", "none");
+    control.setAttribute("userInputFlag", "FALSE");
+    control.setAttribute("transparentColorFlag", "FALSE");
+    control.setAttribute("transparentColorIndex", "0");
+    control.setAttribute("delayTime", Integer.toString(this.delayHundredths));
+
+    if (this.framesWritten.get() == 0) {
+      extensions = FrameRecorder.getChild(root, "ApplicationExtensions");
+      loop = new IIOMetadataNode("ApplicationExtension");
+      loop.setAttribute("applicationID", "NETSCAPE");
+      loop.setAttribute("authenticationCode", "2.0");
+      loop.setUserObject(new byte[] {1, 0, 0}); // Sub-block 1, loop count 0 meaning forever
+      extensions.appendChild(loop);
+    }
+
+    metadata.setFromTree(formatName, root);
+    return metadata;
+  }
+
+  /**
+   * Returns the child of the given metadata node with the given name, appending a new one if
+   * there is none.
+   *
+   * @param parent <code>IIOMetadataNode</code>
+   * @param name <code>String</code>
+   * @return child <code>IIOMetadataNode</code>
+   */
+  private static IIOMetadataNode getChild(IIOMetadataNode parent, String name) {
+
+    // Declarations
+    IIOMetadataNode child;
+
+    for (int index = 0; index < parent.getLength(); index++) {
+      if (parent.item(index).getNodeName().equals(name)) {
+        return (IIOMetadataNode) parent.item(index);
+      }
+    }
+
+    child = new IIOMetadataNode(name);
+    parent.appendChild(child);
+    return child;
+  }
+}
@@ -0,0 +1,179 @@
+/**
+ * FrameTimingStatistics.java - Deadline and jitter statistics of a fixed-timestep scheduler
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class accumulates timing statistics for the ticks of <code>Simulation</code>. For each tick,
+ * the scheduler records how late it woke relative to the tick's deadline, the interval since the
+ * previous tick, and the number of ticks skipped because their deadlines had already passed. A
+ * tick is counted as having missed its deadline if it woke after the deadline of the tick
+ * following it.
+ * <br />
+ * <br />
+ * Jitter is measured as the absolute difference between each interval and the nominal tick
+ * period. Statistics are only ever written by the simulation thread but may be read from any
+ * thread, hence the use of <code>AtomicLong</code>s.
+ *
+ * @see java.lang.System#nanoTime
+ * @author Andrew Eissen
+ */
+final class FrameTimingStatistics {
+
+  // Private class fields
+  private final long periodNanos;
+  private final AtomicLong ticks, missedDeadlines, skippedTicks;
+  private final AtomicLong totalLatenessNanos, maxLatenessNanos;
+  private final AtomicLong totalJitterNanos, maxJitterNanos, intervals;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param periodNanos <code>long</code> nominal tick period in nanoseconds
+   */
+  protected FrameTimingStatistics(long periodNanos) {
+    this.periodNanos = periodNanos;
+    this.ticks = new AtomicLong();
+    this.missedDeadlines = new AtomicLong();
+    this.skippedTicks = new AtomicLong();
+    this.totalLatenessNanos = new AtomicLong();
+    this.maxLatenessNanos = new AtomicLong();
+    this.totalJitterNanos = new AtomicLong();
+    this.maxJitterNanos = new AtomicLong();
+    this.intervals = new AtomicLong();
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>FrameTimingStatistics.periodNanos</code>
+   *
+   * @return periodNanos <code>long</code>
+   */
+  protected long getPeriodNanos() {
+    return this.periodNanos;
+  }
+
+  /**
+   * Returns the number of ticks performed.
+   *
+   * @return ticks <code>long</code>
+   */
+  protected long getTicks() {
+    return this.ticks.get();
+  }
+
+  /**
+   * Returns the number of ticks that woke after the following tick's deadline.
+   *
+   * @return missedDeadlines <code>long</code>
+   */
+  protected long getMissedDeadlines() {
+    return this.missedDeadlines.get();
+  }
+
+  /**
+   * Returns the number of ticks skipped over to catch up after missed deadlines.
+   *
+   * @return skippedTicks <code>long</code>
+   */
+  protected long getSkippedTicks() {
+    return this.skippedTicks.get();
+  }
+
+  /**
+   * Returns the mean lateness of ticks relative to their deadlines, in nanoseconds.
+   *
+   * @return meanLatenessNanos <code>double</code>
+   */
+  protected double getMeanLatenessNanos() {
+    return FrameTimingStatistics.mean(this.totalLatenessNanos.get(), this.ticks.get());
+  }
+
+  /**
+   * Returns the greatest lateness of any tick relative to its deadline, in nanoseconds.
+   *
+   * @return maxLatenessNanos <code>long</code>
+   */
+  protected long getMaxLatenessNanos() {
+    return this.maxLatenessNanos.get();
+  }
+
+  /**
+   * Returns the mean deviation of tick intervals from the nominal period, in nanoseconds.
+   *
+   * @return meanJitterNanos <code>double</code>
+   */
+  protected double getMeanJitterNanos() {
+    return FrameTimingStatistics.mean(this.totalJitterNanos.get(), this.intervals.get());
+  }
+
+  /**
+   * Returns the greatest deviation of any tick interval from the nominal period, in nanoseconds.
+   *
+   * @return maxJitterNanos <code>long</code>
+   */
+  protected long getMaxJitterNanos() {
+    return this.maxJitterNanos.get();
+  }
+
+  // Utility methods
+
+  /**
+   * Records a single tick.
+   *
+   * @param latenessNanos <code>long</code> time elapsed since the tick's deadline
+   * @param intervalNanos <code>long</code> time since the previous tick, or negative if none
+   * @param skipped <code>long</code> number of following ticks whose deadlines had also passed
+   * @return void
+   */
+  protected void record(long latenessNanos, long intervalNanos, long skipped) {
+
+    // Declarations
+    long jitterNanos;
+
+    this.ticks.incrementAndGet();
+    this.totalLatenessNanos.addAndGet(latenessNanos);
+    this.maxLatenessNanos.accumulateAndGet(latenessNanos, Math::max);
+
+    if (skipped > 0) {
+      this.missedDeadlines.incrementAndGet();
+      this.skippedTicks.addAndGet(skipped);
+    }
+
+    if (intervalNanos >= 0) {
+      jitterNanos = Math.abs(intervalNanos - this.periodNanos);
+      this.intervals.incrementAndGet();
+      this.totalJitterNanos.addAndGet(jitterNanos);
+      this.maxJitterNanos.accumulateAndGet(jitterNanos, Math::max);
+    }
+  }
+
+  /**
+   * Returns a one-line summary of the statistics, with times in milliseconds.
+   *
+   * @return summary <code>String</code>
+   */
+  @Override
+  public String toString() {
+    return String.format("%d ticks, %d missed deadlines, %d skipped ticks, lateness %.3f/%.3f ms "
+      + "mean/max, jitter %.3f/%.3f ms mean/max", this.getTicks(), this.getMissedDeadlines(),
+      this.getSkippedTicks(), this.getMeanLatenessNanos() / 1e6, this.getMaxLatenessNanos() / 1e6,
+      this.getMeanJitterNanos() / 1e6, this.getMaxJitterNanos() / 1e6);
+  }
+
+  /**
+   * Returns the given total divided by the count, or zero if the count is zero.
+   *
+   * @param total <code>long</code>
+   * @param count <code>long</code>
+   * @return mean <code>double</code>
+   */
+  private static double mean(long total, long count) {
+    return (count == 0) ? 0.0 : (double) total / count;
+  }
+}
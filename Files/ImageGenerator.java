@@ -0,0 +1,60 @@
+/**
+ * ImageGenerator.java - Service interface of procedural images produced a band of rows at a time
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.image.IndexColorModel;
+
+/**
+ * This interface describes a procedural image that writes its pixels straight into a destination
+ * <code>PixelBuffer</code> one band of rows at a time. As a generator need only be told which rows
+ * of the image a band holds, an image may be produced either whole, its rows split into bands
+ * filled in parallel by <code>RowBandTask</code>, or streamed through a single band-sized buffer
+ * reused from band to band, as <code>RawImageFile</code> does when writing an image to disk,
+ * needing no more memory than one band whatever the size of the image.
+ * <br />
+ * <br />
+ * Generators are discovered via <code>ServiceLoader</code> and looked up by name through
+ * <code>ImageGenerators</code>. Further generators may thus be added simply by placing a jar on the
+ * class path that lists them in a <tt>META-INF/services/graphicsprojectone.ImageGenerator</tt>
+ * file, as the built-in <code>FlagGenerator</code>, <code>TriangleGenerator</code> and
+ * <code>LetterZGenerator</code> are listed in <tt>Resources</tt>. As required by
+ * <code>ServiceLoader</code>, implementations must be public classes with public no-argument
+ * constructors. They must also be stateless, as bands may be filled from several threads at once.
+ *
+ * @see java.util.ServiceLoader
+ * @author Andrew Eissen
+ */
+interface ImageGenerator {
+
+  /**
+   * Returns the name by which the generator is looked up, e.g. <tt>flag</tt>.
+   *
+   * @return name <code>String</code>
+   */
+  String getName();
+
+  /**
+   * Returns the palette indexed by the pixels written, or <code>null</code> if the generator writes
+   * packed RGB values instead. A new palette is built on each call.
+   *
+   * @return palette <code>IndexColorModel</code> of 8-bit pixels, or <code>null</code>
+   */
+  IndexColorModel createPalette();
+
+  /**
+   * Fills rows <tt>[startRow, endRow)</tt> of the destination, whose row <tt>y</tt> holds row
+   * <tt>originY + y</tt> of an image as wide as the destination and <code>imageHeight</code> rows
+   * tall. Only rows within the given range may be written, so that bands may run concurrently.
+   *
+   * @param destination <code>PixelBuffer</code> indexed by the generator's palette, if any
+   * @param startRow <code>int</code> first row of the destination, inclusive
+   * @param endRow <code>int</code> last row of the destination, exclusive
+   * @param originY <code>int</code> row of the image held by row 0 of the destination
+   * @param imageHeight <code>int</code> height of the whole image
+   * @return void
+   */
+  void fillRows(PixelBuffer destination, int startRow, int endRow, int originY, int imageHeight);
+}
@@ -0,0 +1,185 @@
+/**
+ * ImageGenerators.java - Registry of the image generators found via ServiceLoader
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * This class holds every <code>ImageGenerator</code> on the class path, as found once by
+ * <code>ServiceLoader</code>, keyed by name. Should two generators share a name, the first found
+ * is kept. It also produces images from generators, either whole via
+ * <code>ImageGenerators.generate</code> or a band at a time via
+ * <code>ImageGenerators.stream</code>.
+ *
+ * @see java.util.ServiceLoader
+ * @author Andrew Eissen
+ */
+final class ImageGenerators {
+
+  /** Approximate number of pixels in each band of a streamed image */
+  private static final int BAND_PIXELS = 1 << 20;
+
+  /** Generators found on the class path, keyed by name in the order found */
+  private static final Map<String, ImageGenerator> GENERATORS = ImageGenerators.load();
+
+  /**
+   * Private constructor; this class holds only static utility methods.
+   */
+  private ImageGenerators() {
+  }
+
+  // Getters
+
+  /**
+   * Returns the names of every generator found, in the order found.
+   *
+   * @return names <code>Set</code> of <code>String</code>s
+   */
+  protected static Set<String> getNames() {
+    return Collections.unmodifiableSet(ImageGenerators.GENERATORS.keySet());
+  }
+
+  /**
+   * Returns the generator of the given name.
+   *
+   * @param name <code>String</code>
+   * @return generator <code>ImageGenerator</code>
+   * @throws IllegalArgumentException if no generator of that name was found
+   */
+  protected static ImageGenerator get(String name) {
+
+    // Declarations
+    ImageGenerator generator;
+
+    // Definitions
+    generator = ImageGenerators.GENERATORS.get(name);
+
+    if (generator == null) {
+      throw new IllegalArgumentException("Unknown image generator: " + name + "; expected one of "
+        + ImageGenerators.getNames());
+    }
+
+    return generator;
+  }
+
+  // Utility methods
+
+  /**
+   * This method generates a whole image into a new <code>PixelBuffer</code>, indexed by the
+   * generator's palette if it has one. Rows are split into bands filled across cores by
+   * <code>RowBandTask</code>, each written straight into the buffer.
+   *
+   * @param generator <code>ImageGenerator</code>
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param parallel <code>boolean</code> whether rows may be filled in bands across cores
+   * @return image <code>PixelBuffer</code>
+   */
+  protected static PixelBuffer generate(ImageGenerator generator, int width, int height,
+      boolean parallel) {
+
+    // Declarations
+    PixelBuffer image;
+
+    // Definitions
+    image = new PixelBuffer(width, height, generator.createPalette());
+
+    RowBandTask.fill(image, (PixelBuffer buffer, int startRow, int endRow) -> {
+      generator.fillRows(buffer, startRow, endRow, 0, height);
+    }, parallel);
+
+    return image;
+  }
+
+  /**
+   * This method generates an image a band of rows at a time, handing each band to the given
+   * consumer before the next is generated into the same buffer. Only the last band, if shorter,
+   * needs a buffer of its own, so that no more than two bands of roughly
+   * <code>ImageGenerators.BAND_PIXELS</code> pixels are ever held however large the image. The
+   * rows of each band may themselves be filled across cores.
+   *
+   * @param generator <code>ImageGenerator</code>
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param parallel <code>boolean</code> whether the rows of each band may be filled across cores
+   * @param consumer <code>ImageGenerators.BandConsumer</code> receiving each band in turn
+   * @return void
+   * @throws IOException if thrown by the consumer
+   */
+  protected static void stream(ImageGenerator generator, int width, int height, boolean parallel,
+      ImageGenerators.BandConsumer consumer) throws IOException {
+
+    // Declarations
+    PixelBuffer band;
+    int bandRows;
+
+    // Definitions
+    bandRows = Math.max(1, Math.min(height, ImageGenerators.BAND_PIXELS / width));
+    band = new PixelBuffer(width, bandRows, generator.createPalette());
+
+    for (int originY = 0; originY < height; originY += bandRows) {
+      if (height - originY < band.getHeight()) {
+        band = new PixelBuffer(width, height - originY, band.getPalette());
+      }
+
+      int bandOrigin = originY;
+      RowBandTask.fill(band, (PixelBuffer buffer, int startRow, int endRow) -> {
+        generator.fillRows(buffer, startRow, endRow, bandOrigin, height);
+      }, parallel);
+
+      consumer.accept(band, originY);
+    }
+  }
+
+  /**
+   * This method finds every generator listed by a <tt>META-INF/services</tt> file on the class
+   * path.
+   *
+   * @return generators <code>Map</code> of names to <code>ImageGenerator</code>s
+   */
+  private static Map<String, ImageGenerator> load() {
+
+    // Declarations
+    Map<String, ImageGenerator> generators;
+
+    // Definitions
+    generators = new LinkedHashMap<>();
+
+    for (ImageGenerator generator : ServiceLoader.load(ImageGenerator.class,
+        ImageGenerators.class.getClassLoader())) {
+      generators.putIfAbsent(generator.getName(), generator);
+    }
+
+    return generators;
+  }
+
+  // BandConsumer
+
+  /**
+   * Functional interface describing what is done with each band of a streamed image.
+   *
+   * @author Andrew Eissen
+   */
+  @FunctionalInterface
+  interface BandConsumer {
+
+    /**
+     * Receives a band of rows, which must be consumed before returning, as the buffer is then
+     * reused for the next band.
+     *
+     * @param band <code>PixelBuffer</code> as wide as the image
+     * @param originY <code>int</code> row of the image held by row 0 of the band
+     * @return void
+     * @throws IOException if the band cannot be consumed
+     */
+    void accept(PixelBuffer band, int originY) throws IOException;
+  }
+}
@@ -0,0 +1,272 @@
+/**
+ * ImageLoader.java - Background decoder of image files with a shared decoded-image cache
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
+
+/**
+ * This class loads images from files, such as the PNG screenshots of the <tt>Images</tt> folder,
+ * for display by <code>ImagePanel</code>. Decoding a large PNG may take far longer than a frame,
+ * so files are decoded on a small pool of background threads rather than on the Event Dispatch
+ * Thread, and each load returns at once with a <code>CompletableFuture</code> of the decoded
+ * image. Until it completes, panels show a placeholder from
+ * <code>ImageLoader.createPlaceholder</code>.
+ * <br />
+ * <br />
+ * A single loader is shared by every panel. Decoded images are held in a
+ * <code>SizeBoundedCache</code> bounded by their total size in bytes, evicting the least recently
+ * used image once the bound is exceeded, such that a file shown by several panels, or shown again
+ * later, is decoded only once. A file already
+ * being decoded is not decoded again; later requests simply share the pending future. Images are
+ * decoded by <code>ImageIO</code> into packed RGB <code>PixelBuffer</code>s, any alpha channel
+ * being discarded, as for every other image of the program.
+ *
+ * @see javax.imageio.ImageIO
+ * @author Andrew Eissen
+ */
+final class ImageLoader {
+
+  /** Side in pixels of each square of the checkered placeholder */
+  private static final int PLACEHOLDER_SQUARE = 8;
+
+  // Private class fields
+  private final SizeBoundedCache<Path, PixelBuffer> images;
+  private final Map<Path, CompletableFuture<PixelBuffer>> pending;
+  private final ExecutorService executor;
+  private final AtomicLong joins;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param maxBytes <code>long</code> maximum total size of the cached images
+   * @param threads <code>int</code> number of threads decoding files at once
+   */
+  protected ImageLoader(long maxBytes, int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Invalid thread count: " + threads);
+    }
+
+    // The image just decoded is retained even if larger than the whole cache, as it is to be shown
+    this.images = new SizeBoundedCache<>(maxBytes, PixelBuffer::getSizeInBytes, true);
+    this.pending = new HashMap<>();
+    this.joins = new AtomicLong();
+    this.executor = Executors.newFixedThreadPool(threads, (Runnable runnable) -> {
+      Thread thread = new Thread(runnable, "ImageLoader");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  // Getters
+
+  /**
+   * Returns the maximum total size in bytes of the cached images.
+   *
+   * @return maxBytes <code>long</code>
+   */
+  protected long getMaxBytes() {
+    return this.images.getMaxBytes();
+  }
+
+  /**
+   * Returns the total size in bytes of the images currently cached.
+   *
+   * @return currentBytes <code>long</code>
+   */
+  protected long getCurrentBytes() {
+    return this.images.getCurrentBytes();
+  }
+
+  /**
+   * Returns the number of images currently cached.
+   *
+   * @return size <code>int</code>
+   */
+  protected int getSize() {
+    return this.images.getSize();
+  }
+
+  /**
+   * Returns the number of loads served from the cache or from a decode already under way.
+   *
+   * @return hits <code>long</code>
+   */
+  protected long getHits() {
+    return this.images.getHits() + this.joins.get();
+  }
+
+  /**
+   * Returns the number of loads that required a file to be decoded. As a load joining a decode
+   * under way never looks in the cache, these are exactly the cache's misses.
+   *
+   * @return misses <code>long</code>
+   */
+  protected long getMisses() {
+    return this.images.getMisses();
+  }
+
+  /**
+   * Returns the number of images evicted to keep the cache within its bound.
+   *
+   * @return evictions <code>long</code>
+   */
+  protected long getEvictions() {
+    return this.images.getEvictions();
+  }
+
+  // Utility methods
+
+  /**
+   * Returns the decoded image of the given file, completing at once if it is cached and otherwise
+   * once a background thread has decoded it. The future completes exceptionally with an
+   * <code>UncheckedIOException</code> if the file cannot be read or decoded. Failed loads are not
+   * cached, so that a later load tries the file anew.
+   *
+   * @param path <code>Path</code> of the file
+   * @return image <code>CompletableFuture</code> of the decoded <code>PixelBuffer</code>
+   */
+  protected synchronized CompletableFuture<PixelBuffer> load(Path path) {
+
+    // Declarations
+    Path key;
+    PixelBuffer image;
+    CompletableFuture<PixelBuffer> future;
+
+    // Definitions
+    key = path.toAbsolutePath().normalize();
+    future = this.pending.get(key);
+
+    // A file is never both cached and being decoded, so a pending decode is simply joined
+    if (future != null) {
+      this.joins.incrementAndGet();
+      return future;
+    }
+
+    image = this.images.get(key);
+
+    if (image != null) {
+      return CompletableFuture.completedFuture(image);
+    }
+
+    future = CompletableFuture.supplyAsync(() -> ImageLoader.decode(key), this.executor);
+    this.pending.put(key, future);
+
+    // Runs on this thread if the decode has already finished, as the reentrant lock permits
+    future.whenComplete((PixelBuffer decoded, Throwable error) -> {
+      this.finishLoad(key, decoded);
+    });
+
+    return future;
+  }
+
+  /**
+   * Removes every image from the cache. Decodes under way are unaffected, and the hit, miss and
+   * eviction counts are retained.
+   *
+   * @return void
+   */
+  protected void clear() {
+    this.images.clear();
+  }
+
+  /**
+   * Stops the decoding threads once any queued decodes have finished.
+   *
+   * @return void
+   */
+  protected void shutdown() {
+    this.executor.shutdown();
+  }
+
+  /**
+   * This method builds a checkered gray and white placeholder of the given size, shown by a panel
+   * in place of its image until the image is decoded.
+   *
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @return placeholder <code>PixelBuffer</code> indexed into a light gray and white palette
+   */
+  protected static PixelBuffer createPlaceholder(int width, int height) {
+
+    // Declarations
+    PixelBuffer placeholder;
+    int square;
+
+    // Definitions
+    placeholder = new PixelBuffer(width, height,
+      PixelBuffer.createPalette(Color.WHITE, Color.LIGHT_GRAY));
+    square = ImageLoader.PLACEHOLDER_SQUARE;
+
+    for (int y = 0; y < height; y++) {
+      for (int x = ((y / square) % 2) * square; x < width; x += 2 * square) {
+        placeholder.fillIndexSpan(y, x, Math.min(x + square, width), 1);
+      }
+    }
+
+    return placeholder;
+  }
+
+  /**
+   * This method is called once a decode has finished, successfully or not. The decoded image, if
+   * any, is added to the cache, after which least recently used images are evicted until the cache
+   * is back within its bound. The image just decoded is never evicted here, even if larger than
+   * the whole cache, as it is about to be shown. Both happen under the loader's lock, so that a
+   * load never finds the file neither pending nor cached in between.
+   *
+   * @param key <code>Path</code> of the file
+   * @param image <code>PixelBuffer</code>, or <code>null</code> if the decode failed
+   * @return void
+   */
+  private synchronized void finishLoad(Path key, PixelBuffer image) {
+    this.pending.remove(key);
+
+    if (image != null) {
+      this.images.put(key, image);
+    }
+  }
+
+  /**
+   * This method decodes the given file into a packed RGB <code>PixelBuffer</code>.
+   *
+   * @param path <code>Path</code> of the file
+   * @return image <code>PixelBuffer</code>
+   * @throws UncheckedIOException if the file cannot be read or is of no supported format
+   */
+  private static PixelBuffer decode(Path path) {
+
+    // Declarations
+    BufferedImage decoded;
+    PixelBuffer image;
+
+    try {
+      decoded = ImageIO.read(path.toFile());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    if (decoded == null) {
+      throw new UncheckedIOException(new IOException("Unsupported image format: " + path));
+    }
+
+    // Definitions
+    image = new PixelBuffer(decoded.getWidth(), decoded.getHeight());
+    decoded.getRGB(0, 0, decoded.getWidth(), decoded.getHeight(), image.getPixels(), 0,
+      decoded.getWidth());
+
+    return image;
+  }
+}
@@ -3,12 +3,15 @@
  * Begun 08/24/18
  * @author Andrew Eissen
  */
-//package graphicsprojectone;
+package graphicsprojectone;
 
 import java.awt.*;
 import javax.swing.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * In accordance with the
@@ -32,45 +35,127 @@ import java.awt.image.BufferedImage;
  */
 final class ImagePanel extends JPanel {
 
+  /** Pixels by which transformed image bounds are grown to absorb edge rounding */
+  private static final int BOUNDS_MARGIN = 1;
+
   // Private class fields
-  private Application parent;
-  private int[][] imageArray;
+  private Supplier<TransformSnapshot> transformSource;
+  private volatile ImagePanel.PixelSource pixelSource;
+  private VectorImage vectorImage;
+  private TiledImage tiledImage;
+  private RunLengthImage runLengthImage;
   private BufferedImage bufferedImage;
+  private AffineRasterizer.Sampling sampling;
+  private PixelBuffer frameBuffer;
+  private FrameCache frameCache;
+  private SwapChain swapChain;
+  private Rectangle paintedBounds;
+  private LatencyHistogram paintLatency, renderLatency;
+  private volatile int renderWidth, renderHeight;
+  private volatile Color renderBackground;
 
   /**
    * Parameterized constructor
    *
-   * @param parent <code>Application</code> for use in calling App methods
-   * @param imageArray <code>int[][]</code> array containing image data
+   * @param transformSource <code>Supplier</code> of the current animation snapshot
+   * @param pixelBuffer <code>PixelBuffer</code> flat buffer containing image data
    */
-  protected ImagePanel(Application parent, int[][] imageArray) {
-    this.setApplication(parent);
-    this.setImageArray(imageArray);
-    this.setBufferedImage(new BufferedImage(parent.getImageSizeConstant(),
-      parent.getImageSizeConstant(), BufferedImage.TYPE_INT_RGB));
+  protected ImagePanel(Supplier<TransformSnapshot> transformSource, PixelBuffer pixelBuffer) {
+    this.setTransformSource(transformSource);
+    this.setPixelSource(new ImagePanel.PixelSource(pixelBuffer, null));
     this.buildImage();
   }
 
+  /**
+   * Parameterized constructor for a panel drawing a vector image. No pixel buffer is generated;
+   * the shapes are filled directly under the current transform whenever a frame is drawn.
+   *
+   * @param transformSource <code>Supplier</code> of the current animation snapshot
+   * @param vectorImage <code>VectorImage</code>
+   */
+  protected ImagePanel(Supplier<TransformSnapshot> transformSource, VectorImage vectorImage) {
+    this.setTransformSource(transformSource);
+    this.setVectorImage(vectorImage);
+  }
+
+  /**
+   * Parameterized constructor for a panel drawing a tiled image. No pixel buffer is generated;
+   * frames are always rasterized in software, fetching only the tiles they show.
+   *
+   * @param transformSource <code>Supplier</code> of the current animation snapshot
+   * @param tiledImage <code>TiledImage</code>
+   */
+  protected ImagePanel(Supplier<TransformSnapshot> transformSource, TiledImage tiledImage) {
+    this.setTransformSource(transformSource);
+    this.setTiledImage(tiledImage);
+  }
+
+  /**
+   * Parameterized constructor for a panel drawing a run-length encoded image. No pixel buffer is
+   * generated; frames are always rasterized in software, a run at a time where the transform
+   * allows.
+   *
+   * @param transformSource <code>Supplier</code> of the current animation snapshot
+   * @param runLengthImage <code>RunLengthImage</code>
+   */
+  protected ImagePanel(Supplier<TransformSnapshot> transformSource,
+      RunLengthImage runLengthImage) {
+    this.setTransformSource(transformSource);
+    this.setRunLengthImage(runLengthImage);
+  }
+
   // Setters
 
   /**
-   * Setter for <code>ImagePanel.parent</code>
+   * Setter for <code>ImagePanel.transformSource</code>
+   *
+   * @param transformSource <code>Supplier</code>
+   * @return void
+   */
+  private void setTransformSource(Supplier<TransformSnapshot> transformSource) {
+    this.transformSource = transformSource;
+  }
+
+  /**
+   * Setter for <code>ImagePanel.pixelSource</code>, which publishes a pixel buffer and its mip
+   * pyramid, if any, to render threads in a single write, so that neither is ever seen with the
+   * other's predecessor.
    *
-   * @param parent <code>Application</code>
+   * @param pixelSource <code>ImagePanel.PixelSource</code>
    * @return void
    */
-  private void setApplication(Application parent) {
-    this.parent = parent;
+  private void setPixelSource(ImagePanel.PixelSource pixelSource) {
+    this.pixelSource = pixelSource;
   }
 
   /**
-   * Setter for <code>ImagePanel.imageArray</code>
+   * Setter for <code>ImagePanel.vectorImage</code>
    *
-   * @param imageArray <code>int[][]</code>
+   * @param vectorImage <code>VectorImage</code>
    * @return void
    */
-  private void setImageArray(int[][] imageArray) {
-    this.imageArray = imageArray;
+  private void setVectorImage(VectorImage vectorImage) {
+    this.vectorImage = vectorImage;
+  }
+
+  /**
+   * Setter for <code>ImagePanel.tiledImage</code>
+   *
+   * @param tiledImage <code>TiledImage</code>
+   * @return void
+   */
+  private void setTiledImage(TiledImage tiledImage) {
+    this.tiledImage = tiledImage;
+  }
+
+  /**
+   * Setter for <code>ImagePanel.runLengthImage</code>
+   *
+   * @param runLengthImage <code>RunLengthImage</code>
+   * @return void
+   */
+  private void setRunLengthImage(RunLengthImage runLengthImage) {
+    this.runLengthImage = runLengthImage;
   }
 
   /**
@@ -83,24 +168,212 @@ final class ImagePanel extends JPanel {
     this.bufferedImage = bufferedImage;
   }
 
+  /**
+   * Setter for <code>ImagePanel.sampling</code>. If non-null, the panel is painted by
+   * <code>AffineRasterizer</code> using the given sampling rather than by
+   * <code>Graphics2D.drawImage</code>.
+   *
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @return void
+   */
+  protected void setSampling(AffineRasterizer.Sampling sampling) {
+    this.sampling = sampling;
+  }
+
+  /**
+   * Setter for the mip pyramid of <code>ImagePanel.pixelSource</code>. If non-null, the panel's
+   * pixel buffer is drawn from whichever level of the pyramid best matches its size on screen, and
+   * shrinking transforms no longer sample the full image sparsely.
+   *
+   * @param mipPyramid <code>MipPyramid</code> built over the panel's pixel buffer
+   * @return void
+   */
+  protected void setMipPyramid(MipPyramid mipPyramid) {
+    this.setPixelSource(new ImagePanel.PixelSource(this.getPixelBuffer(), mipPyramid));
+  }
+
+  /**
+   * Setter for <code>ImagePanel.frameCache</code>. If non-null, rendered frames are cached and
+   * repeated frames are simply copied to the screen.
+   *
+   * @param frameCache <code>FrameCache</code>
+   * @return void
+   */
+  protected void setFrameCache(FrameCache frameCache) {
+    this.frameCache = frameCache;
+  }
+
+  /**
+   * Setter for <code>ImagePanel.swapChain</code>. If non-null, the panel no longer renders its own
+   * frames, instead painting whichever frame a <code>RenderPipeline</code> last swapped in.
+   *
+   * @param swapChain <code>SwapChain</code>
+   * @return void
+   */
+  protected void setSwapChain(SwapChain swapChain) {
+    this.swapChain = swapChain;
+  }
+
+  /**
+   * Setter for <code>ImagePanel.paintLatency</code>. If non-null, the time taken by each paint of
+   * the panel is recorded in the histogram.
+   *
+   * @param paintLatency <code>LatencyHistogram</code>
+   * @return void
+   */
+  protected void setPaintLatency(LatencyHistogram paintLatency) {
+    this.paintLatency = paintLatency;
+  }
+
+  /**
+   * Setter for <code>ImagePanel.renderLatency</code>. If non-null, the time taken to render each
+   * frame into the panel's <code>SwapChain</code> is recorded in the histogram.
+   *
+   * @param renderLatency <code>LatencyHistogram</code>
+   * @return void
+   */
+  protected void setRenderLatency(LatencyHistogram renderLatency) {
+    this.renderLatency = renderLatency;
+  }
+
+  /**
+   * This method overrides the default implemented in the base <code>Component</code> class, through
+   * which every change to the panel's size passes. The new size is recorded in a pair of volatile
+   * fields so that render threads may read it without touching Swing state.
+   *
+   * @param x <code>int</code>
+   * @param y <code>int</code>
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @return void
+   */
+  @Override
+  public void setBounds(int x, int y, int width, int height) {
+    super.setBounds(x, y, width, height);
+    this.renderWidth = width;
+    this.renderHeight = height;
+  }
+
+  /**
+   * This method overrides the default implemented in the base <code>JComponent</code> class. As
+   * with the size in <code>ImagePanel.setBounds</code>, the new background is recorded in a
+   * volatile field as it is set on the Event Dispatch Thread, so that render threads never call
+   * <code>getBackground</code>, which walks Swing state that only that thread may touch.
+   *
+   * @param background <code>Color</code>
+   * @return void
+   */
+  @Override
+  public void setBackground(Color background) {
+    super.setBackground(background);
+    this.renderBackground = background;
+  }
+
   // Getters
 
   /**
-   * Getter for <code>ImagePanel.parent</code>
+   * Getter for <code>ImagePanel.transformSource</code>. Originally, the panel held a reference to
+   * its parent <code>Application</code> and queried its transform directly; a supplier is used
+   * instead so that the panel may also be painted outside of the GUI, e.g. into an offscreen image.
+   *
+   * @return transformSource <code>Supplier</code>
+   */
+  protected Supplier<TransformSnapshot> getTransformSource() {
+    return this.transformSource;
+  }
+
+  /**
+   * Getter for the pixel buffer of <code>ImagePanel.pixelSource</code>, which is <code>null</code>
+   * if the panel draws a <code>VectorImage</code>, a <code>TiledImage</code> or a
+   * <code>RunLengthImage</code>
+   *
+   * @return pixelBuffer <code>PixelBuffer</code>
+   */
+  protected PixelBuffer getPixelBuffer() {
+    return (this.pixelSource != null) ? this.pixelSource.pixelBuffer : null;
+  }
+
+  /**
+   * Getter for <code>ImagePanel.vectorImage</code>. If non-null, the panel draws the vector image
+   * rather than a pixel buffer, and any sampling set is ignored.
+   *
+   * @return vectorImage <code>VectorImage</code>
+   */
+  protected VectorImage getVectorImage() {
+    return this.vectorImage;
+  }
+
+  /**
+   * Getter for <code>ImagePanel.tiledImage</code>. If non-null, the panel draws the tiled image
+   * via <code>AffineRasterizer</code>, with nearest-neighbor sampling unless another is set.
+   *
+   * @return tiledImage <code>TiledImage</code>
+   */
+  protected TiledImage getTiledImage() {
+    return this.tiledImage;
+  }
+
+  /**
+   * Getter for <code>ImagePanel.runLengthImage</code>. If non-null, the panel draws the runs via
+   * <code>AffineRasterizer</code>, with nearest-neighbor sampling unless another is set.
+   *
+   * @return runLengthImage <code>RunLengthImage</code>
+   */
+  protected RunLengthImage getRunLengthImage() {
+    return this.runLengthImage;
+  }
+
+  /**
+   * Returns the image drawn by the panel, be it its <code>VectorImage</code>,
+   * <code>TiledImage</code>, <code>RunLengthImage</code> or <code>PixelBuffer</code>, as used to
+   * identify its frames in the <code>FrameCache</code>.
    *
-   * @return parent <code>Application</code>
+   * @return image <code>Object</code>
    */
-  protected Application getApplication() {
-    return this.parent;
+  protected Object getImage() {
+    if (this.getVectorImage() != null) {
+      return this.getVectorImage();
+    } else if (this.getTiledImage() != null) {
+      return this.getTiledImage();
+    } else if (this.getRunLengthImage() != null) {
+      return this.getRunLengthImage();
+    } else {
+      return this.getPixelBuffer();
+    }
   }
 
   /**
-   * Getter for <code>ImagePanel.imageArray</code>
+   * Returns the width in pixels of the image drawn by the panel.
    *
-   * @return imageArray <code>int[][]</code>
+   * @return imageWidth <code>int</code>
    */
-  protected int[][] getImageArray() {
-    return this.imageArray;
+  protected int getImageWidth() {
+    if (this.getVectorImage() != null) {
+      return this.getVectorImage().getWidth();
+    } else if (this.getTiledImage() != null) {
+      return this.getTiledImage().getWidth();
+    } else if (this.getRunLengthImage() != null) {
+      return this.getRunLengthImage().getWidth();
+    } else {
+      return this.getPixelBuffer().getWidth();
+    }
+  }
+
+  /**
+   * Returns the height in pixels of the image drawn by the panel.
+   *
+   * @return imageHeight <code>int</code>
+   */
+  protected int getImageHeight() {
+    if (this.getVectorImage() != null) {
+      return this.getVectorImage().getHeight();
+    } else if (this.getTiledImage() != null) {
+      return this.getTiledImage().getHeight();
+    } else if (this.getRunLengthImage() != null) {
+      return this.getRunLengthImage().getHeight();
+    } else {
+      return this.getPixelBuffer().getHeight();
+    }
   }
 
   /**
@@ -112,8 +385,84 @@ final class ImagePanel extends JPanel {
     return this.bufferedImage;
   }
 
+  /**
+   * Getter for <code>ImagePanel.sampling</code>
+   *
+   * @return sampling <code>AffineRasterizer.Sampling</code>
+   */
+  protected AffineRasterizer.Sampling getSampling() {
+    return this.sampling;
+  }
+
+  /**
+   * Getter for the mip pyramid of <code>ImagePanel.pixelSource</code>
+   *
+   * @return mipPyramid <code>MipPyramid</code>
+   */
+  protected MipPyramid getMipPyramid() {
+    return (this.pixelSource != null) ? this.pixelSource.mipPyramid : null;
+  }
+
+  /**
+   * Getter for <code>ImagePanel.frameCache</code>
+   *
+   * @return frameCache <code>FrameCache</code>
+   */
+  protected FrameCache getFrameCache() {
+    return this.frameCache;
+  }
+
+  /**
+   * Getter for <code>ImagePanel.swapChain</code>
+   *
+   * @return swapChain <code>SwapChain</code>
+   */
+  protected SwapChain getSwapChain() {
+    return this.swapChain;
+  }
+
+  /**
+   * Getter for <code>ImagePanel.paintLatency</code>
+   *
+   * @return paintLatency <code>LatencyHistogram</code>
+   */
+  protected LatencyHistogram getPaintLatency() {
+    return this.paintLatency;
+  }
+
+  /**
+   * Getter for <code>ImagePanel.renderLatency</code>
+   *
+   * @return renderLatency <code>LatencyHistogram</code>
+   */
+  protected LatencyHistogram getRenderLatency() {
+    return this.renderLatency;
+  }
+
   // Utility methods
 
+  /**
+   * This method overrides the default implemented in the base <code>JComponent</code> class in
+   * order to time each paint of the panel, border included, if a histogram has been set.
+   *
+   * @param g <code>Graphics</code>
+   * @return void
+   */
+  @Override
+  public void paint(Graphics g) {
+
+    // Declarations
+    long start;
+
+    // Definitions
+    start = System.nanoTime();
+    super.paint(g);
+
+    if (this.getPaintLatency() != null) {
+      this.getPaintLatency().record(System.nanoTime() - start);
+    }
+  }
+
   /**
    * This method overrides the default implemented in the base <code>JPanel</code> Swing class. It
    * is not supposed to be called externally. Its inspiration originated with the similar method
@@ -139,9 +488,9 @@ final class ImagePanel extends JPanel {
    * the more logical alternative. However, this resulted in inverted/mirrored images (like a
    * backwards letter "Z") that did not take the shape intended by the author. As such, after
    * undertaking the appropriate transform (be that rotation, translation, or the like) required by
-   * <code>Application.performTransformation</code> and concatenating that transform with the
-   * previous, the image was once again horizontally flipped in order to ensure that it maintained
-   * its expected shape on the screen.
+   * the transformation cycle and concatenating that transform with the previous, the image was
+   * once again horizontally flipped in order to ensure that it maintained its expected shape on
+   * the screen.
    * <br />
    * <br />
    * The author is uncertain as to whether or not this method is inefficient or in bad form. As it
@@ -149,6 +498,17 @@ final class ImagePanel extends JPanel {
    * Java 2D paradigm. Though this method was intended to be a cleanup of the messy template package
    * file equivalent, the author is not sure if the methods implemented herein constitute good
    * graphics code.
+   * <br />
+   * <br />
+   * If the panel has a <code>FrameCache</code>, each frame is rendered in full only the first time
+   * a given keyframe transform is seen at the current panel size; afterwards the cached frame is
+   * simply copied to the screen. Frames tweened between keyframes are never repeated, and so are
+   * not cached. If the panel has a <code>SwapChain</code>, no rendering is done here at
+   * all; the frame most recently finished by the <code>RenderPipeline</code> is simply blitted.
+   * A panel given a <code>VectorImage</code> fills its shapes directly under the view transform
+   * rather than resampling pixels, so that the image stays sharp however far it is scaled, while
+   * a panel given a <code>TiledImage</code> or <code>RunLengthImage</code> is always rasterized in
+   * software.
    *
    * @see <a href="https://tinyurl.com/y7f22kq3">Java Code House: "Reflect or Flip Image"</a>
    * @see javax.swing.JPanel.paintComponent
@@ -161,69 +521,563 @@ final class ImagePanel extends JPanel {
     // Use old Graphics object and method per SO thread recommendations
     super.paintComponent(g);
 
+    // Frames are rendered off the Event Dispatch Thread, so just show the latest finished one
+    if (this.getSwapChain() != null) {
+      this.getSwapChain().drawFront(g, this);
+      return;
+    }
+
     // Declarations
-    int halfImageSize;
     Graphics2D g2;
-    AffineTransform savedTransform;
+    TransformSnapshot snapshot;
+    AffineTransform affineTransform, viewTransform;
+    FrameCache.Key key;
+    PixelBuffer frame;
+    int level;
 
     // Definitions
-    halfImageSize = this.getApplication().getImageSizeConstant() / 2;
     g2 = (Graphics2D) g.create();
-    savedTransform = new AffineTransform();
+    snapshot = this.getTransformSource().get();
+    affineTransform = snapshot.toAffineTransform();
+    viewTransform = ImagePanel.createViewTransform(this.getWidth(), this.getHeight(),
+      this.getImageWidth(), this.getImageHeight(), affineTransform);
+
+    if (this.getFrameCache() != null && snapshot.isKeyframe() && this.getWidth() > 0
+        && this.getHeight() > 0) {
+      key = new FrameCache.Key(this.getImage(), affineTransform, this.getWidth(),
+        this.getHeight(), this.getBackground().getRGB());
+      frame = this.getFrameCache().get(key);
+
+      // Render and retain the frame the first time this transform is seen
+      if (frame == null) {
+        frame = new PixelBuffer(this.getWidth(), this.getHeight());
+        Arrays.fill(frame.getPixels(), this.getBackground().getRGB());
+        this.drawImage(viewTransform, frame);
+        this.getFrameCache().put(key, frame);
+      }
+
+      g2.drawImage(frame.getBufferedImage(), 0, 0, this);
+    } else if (this.getVectorImage() != null) {
+
+      // Fill the shapes directly under the view transform
+      this.getVectorImage().draw(g2, viewTransform);
+    } else if (this.getSampling() != null || this.getTiledImage() != null
+        || this.getRunLengthImage() != null) {
 
-    // As per template package recommendations, apply antialiasing thingie
-    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      // Rasterize in software and draw the finished frame untransformed
+      g2.drawImage(this.rasterizeFrame(viewTransform), 0, 0, this);
+    } else {
+
+      // As per template package recommendations, apply antialiasing thingie
+      g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+      // Apply the flipped, centered transformation to Graphics2D instance and draw the image
+      if (this.getMipPyramid() != null) {
+        level = this.getMipPyramid().selectLevel(viewTransform);
+        g2.transform(this.getMipPyramid().createLevelTransform(viewTransform, level));
+        g2.drawImage(this.getMipPyramid().getLevel(level).getBufferedImage(), 0, 0, this);
+      } else {
+        g2.transform(viewTransform);
+        g2.drawImage(this.getBufferedImage(), 0, 0, this);
+      }
+    }
+
+    // Release resources
+    g2.dispose();
+  }
+
+  /**
+   * This method assembles the complete transform applied to an image drawn by
+   * <code>ImagePanel.paintComponent</code>, mapping image pixel coordinates to panel coordinates.
+   * It was extracted from that method so that headless renderers such as
+   * <code>BatchRenderer</code> can reproduce the on-screen result exactly.
+   * <br />
+   * <br />
+   * As described in <code>ImagePanel.paintComponent</code>, the coordinate system is translated to
+   * the panel center and flipped so that increasing y values point up, the current animation
+   * transform is concatenated, and the result is flipped once more so the image is not mirrored.
+   * Finally, the image is offset by half its size so that it sits in the middle of the panel.
+   *
+   * @param panelWidth <code>int</code>
+   * @param panelHeight <code>int</code>
+   * @param imageWidth <code>int</code>
+   * @param imageHeight <code>int</code>
+   * @param affineTransform <code>AffineTransform</code> current animation transform
+   * @return savedTransform <code>AffineTransform</code>
+   */
+  protected static AffineTransform createViewTransform(int panelWidth, int panelHeight,
+      int imageWidth, int imageHeight, AffineTransform affineTransform) {
+
+    // Declarations
+    AffineTransform savedTransform;
+
+    // Definitions
+    savedTransform = new AffineTransform();
 
     // Translate to the panel center (kinda janky)
-    savedTransform.translate(this.getWidth() / 2.0, this.getHeight() / 2.0);
+    savedTransform.translate(panelWidth / 2.0, panelHeight / 2.0);
 
     // Flip horizontally so coordinate system is logical and transforms occur as user expects
     savedTransform.scale(1.0, -1.0);
-    savedTransform.translate(0, -this.getBufferedImage().getHeight());
+    savedTransform.translate(0, -imageHeight);
 
     // Undertake new transform then join old and new transforms
-    savedTransform.concatenate(this.getApplication().getAffineTransform());
+    savedTransform.concatenate(affineTransform);
 
     // Then, flip horizontally again so images appear normal and not inverted/mirrored on screen
     savedTransform.scale(1.0, -1.0);
-    savedTransform.translate(0, -this.getBufferedImage().getHeight());
+    savedTransform.translate(0, -imageHeight);
 
-    // Apply transformation to Graphics2D instance
-    g2.transform(savedTransform);
+    // Janky way to make the image sit in the middle properly
+    savedTransform.translate(-(imageWidth / 2), -(imageHeight / 2));
 
-    // Janky way to make the image sit in the middle properly; draw the image
-    g2.drawImage(this.getBufferedImage(), -halfImageSize, -halfImageSize, this);
+    return savedTransform;
+  }
 
-    // Release resources
+  /**
+   * This method renders the panel's image under the given animation snapshot into the back buffer
+   * of its <code>SwapChain</code>, for the <code>RenderPipeline</code> to swap in once every panel
+   * is done. It is invoked on a render thread and reads only the panel size and background
+   * recorded by <code>ImagePanel.setBounds</code> and <code>ImagePanel.setBackground</code>. As
+   * with <code>ImagePanel.paintComponent</code>, frames are looked up in and added to the panel's
+   * <code>FrameCache</code>, if any, with cached frames simply copied into the back buffer. Frames
+   * tweened between keyframes are not cached.
+   *
+   * @param snapshot <code>TransformSnapshot</code>
+   * @return rendered <code>boolean</code> false if the panel has not yet been given a size
+   */
+  protected boolean renderNextFrame(TransformSnapshot snapshot) {
+
+    // Declarations
+    long start;
+    int width, height;
+    Color background;
+    AffineTransform affineTransform;
+    AffineTransform viewTransform;
+    PixelBuffer backBuffer, frame;
+    FrameCache.Key key;
+    Rectangle bounds, staleBounds;
+
+    // Definitions
+    width = this.renderWidth;
+    height = this.renderHeight;
+
+    if (width <= 0 || height <= 0) {
+      return false;
+    }
+
+    start = System.nanoTime();
+    background = this.renderBackground;
+    affineTransform = snapshot.toAffineTransform();
+    backBuffer = this.getSwapChain().getBackBuffer(width, height);
+    viewTransform = ImagePanel.createViewTransform(width, height, this.getImageWidth(),
+      this.getImageHeight(), affineTransform);
+    bounds = ImagePanel.computeImageBounds(viewTransform, this.getImageWidth(),
+      this.getImageHeight(), width, height);
+
+    // Region of the back buffer still holding the image it was last drawn with, if known
+    staleBounds = this.getSwapChain().getBackBounds();
+
+    if (this.getFrameCache() != null && snapshot.isKeyframe()) {
+      key = new FrameCache.Key(this.getImage(), affineTransform, width, height,
+        background.getRGB());
+      frame = this.getFrameCache().get(key);
+
+      // Cached frames are never written to again, so a fresh one is rendered for the cache
+      if (frame == null) {
+        frame = new PixelBuffer(width, height);
+        Arrays.fill(frame.getPixels(), background.getRGB());
+        this.drawImage(viewTransform, frame);
+        this.getFrameCache().put(key, frame);
+      }
+
+      ImagePanel.copyRegion(frame, backBuffer,
+        (staleBounds == null) ? null : staleBounds.union(bounds));
+    } else if (staleBounds == null) {
+      Arrays.fill(backBuffer.getPixels(), background.getRGB());
+      this.drawImage(viewTransform, backBuffer);
+    } else {
+
+      // Only the old image need be erased, as the rest of the buffer is already background
+      ImagePanel.fillRegion(backBuffer, staleBounds, background.getRGB());
+      this.drawImage(viewTransform, backBuffer);
+    }
+
+    this.getSwapChain().setBackBounds(bounds);
+
+    if (this.getRenderLatency() != null) {
+      this.getRenderLatency().record(System.nanoTime() - start);
+    }
+
+    return true;
+  }
+
+  /**
+   * This method schedules a repaint of only the part of the panel whose contents may have changed
+   * since it was last repainted. Originally, <code>Application.handleTransformation</code> simply
+   * called <code>repaint</code> on every panel, invalidating and clearing the whole panel each
+   * frame even though the image covers but a small fraction of it. The region repainted is now the
+   * union of the bounds of the image as last repainted and as it now stands, so that the cost of
+   * clearing and compositing scales with the image rather than the window. Must be called on the
+   * Event Dispatch Thread.
+   *
+   * @return void
+   */
+  protected void repaintImage() {
+
+    // Declarations
+    Rectangle bounds;
+
+    // Definitions
+    if (this.getSwapChain() != null) {
+      bounds = this.getSwapChain().getFrontBounds();
+    } else if (this.getWidth() > 0 && this.getHeight() > 0) {
+      bounds = ImagePanel.computeImageBounds(ImagePanel.createViewTransform(this.getWidth(),
+        this.getHeight(), this.getImageWidth(), this.getImageHeight(),
+        this.getTransformSource().get().toAffineTransform()), this.getImageWidth(),
+        this.getImageHeight(), this.getWidth(), this.getHeight());
+    } else {
+      bounds = null;
+    }
+
+    if (bounds == null || this.paintedBounds == null) {
+      this.repaint();
+    } else {
+      this.repaint(this.paintedBounds.union(bounds));
+    }
+
+    this.paintedBounds = bounds;
+  }
+
+  /**
+   * Returns the bounds of an image under the given view transform, grown slightly to cover any
+   * pixel touched along its edges and clipped to the frame.
+   *
+   * @param viewTransform <code>AffineTransform</code> from image to frame coordinates
+   * @param imageWidth <code>int</code>
+   * @param imageHeight <code>int</code>
+   * @param frameWidth <code>int</code>
+   * @param frameHeight <code>int</code>
+   * @return bounds <code>Rectangle</code>, which may be empty
+   */
+  protected static Rectangle computeImageBounds(AffineTransform viewTransform, int imageWidth,
+      int imageHeight, int frameWidth, int frameHeight) {
+
+    // Declarations
+    Rectangle bounds;
+
+    // Definitions
+    bounds = viewTransform.createTransformedShape(new Rectangle(imageWidth, imageHeight))
+      .getBounds();
+    bounds.grow(ImagePanel.BOUNDS_MARGIN, ImagePanel.BOUNDS_MARGIN);
+
+    return bounds.intersection(new Rectangle(frameWidth, frameHeight));
+  }
+
+  /**
+   * Fills the given region of a frame with a single color, one row span at a time.
+   *
+   * @param frameBuffer <code>PixelBuffer</code>
+   * @param region <code>Rectangle</code> lying within the frame, which may be empty
+   * @param rgb <code>int</code> packed ARGB color
+   * @return void
+   */
+  private static void fillRegion(PixelBuffer frameBuffer, Rectangle region, int rgb) {
+    for (int y = region.y; y < region.y + region.height; y++) {
+      frameBuffer.fillSpan(y, region.x, region.x + region.width, rgb);
+    }
+  }
+
+  /**
+   * Copies the given region of one frame into the same region of another of equal size, one row
+   * span at a time, or the whole frame if no region is given.
+   *
+   * @param source <code>PixelBuffer</code>
+   * @param destination <code>PixelBuffer</code>
+   * @param region <code>Rectangle</code> lying within both frames, or <code>null</code>
+   * @return void
+   */
+  private static void copyRegion(PixelBuffer source, PixelBuffer destination, Rectangle region) {
+    if (region == null) {
+      System.arraycopy(source.getPixels(), 0, destination.getPixels(), 0,
+        source.getPixels().length);
+      return;
+    }
+
+    for (int y = region.y; y < region.y + region.height && region.width > 0; y++) {
+      System.arraycopy(source.getPixels(), y * source.getWidth() + region.x,
+        destination.getPixels(), y * destination.getWidth() + region.x, region.width);
+    }
+  }
+
+  /**
+   * This method renders an image into a new, opaque frame of the given size, cleared to the given
+   * background. The frame is identical to what <code>ImagePanel.paintComponent</code> would draw
+   * over a panel of that size, allowing it to be cached or produced without a panel at all. If a
+   * sampling is given, the image is rasterized by <code>AffineRasterizer</code>; otherwise it is
+   * drawn by <code>Graphics2D</code> with the same hints as the panel, save for the identity and
+   * whole-pixel translations, whose row-copying <code>AffineRasterizer</code> routine produces the
+   * same pixels as <code>Graphics2D.drawImage</code> at a fraction of the cost.
+   *
+   * @param image <code>PixelBuffer</code>
+   * @param viewTransform <code>AffineTransform</code> from image to frame coordinates
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param background <code>Color</code>
+   * @param sampling <code>AffineRasterizer.Sampling</code>, or <code>null</code>
+   * @param parallel <code>boolean</code> whether software rasterization may use multiple threads
+   * @return frame <code>PixelBuffer</code>
+   */
+  protected static PixelBuffer renderFrame(PixelBuffer image, AffineTransform viewTransform,
+      int width, int height, Color background, AffineRasterizer.Sampling sampling,
+      boolean parallel) {
+
+    // Declarations
+    PixelBuffer frameBuffer;
+
+    // Definitions
+    frameBuffer = new PixelBuffer(width, height);
+    ImagePanel.renderFrame(image, viewTransform, frameBuffer, background, sampling, parallel);
+
+    return frameBuffer;
+  }
+
+  /**
+   * This method renders an image into an existing frame exactly as
+   * <code>ImagePanel.renderFrame</code> renders it into a new one, overwriting every pixel.
+   *
+   * @param image <code>PixelBuffer</code>
+   * @param viewTransform <code>AffineTransform</code> from image to frame coordinates
+   * @param frameBuffer <code>PixelBuffer</code> frame to be overwritten
+   * @param background <code>Color</code>
+   * @param sampling <code>AffineRasterizer.Sampling</code>, or <code>null</code>
+   * @param parallel <code>boolean</code> whether software rasterization may use multiple threads
+   * @return void
+   */
+  protected static void renderFrame(PixelBuffer image, AffineTransform viewTransform,
+      PixelBuffer frameBuffer, Color background, AffineRasterizer.Sampling sampling,
+      boolean parallel) {
+
+    Arrays.fill(frameBuffer.getPixels(), background.getRGB());
+    ImagePanel.drawFrame(image, viewTransform, frameBuffer, sampling, parallel);
+  }
+
+  /**
+   * This method draws an image over an existing frame as <code>ImagePanel.renderFrame</code> does,
+   * but without first clearing the frame, touching only those pixels covered by the image.
+   *
+   * @param image <code>PixelBuffer</code>
+   * @param viewTransform <code>AffineTransform</code> from image to frame coordinates
+   * @param frameBuffer <code>PixelBuffer</code> frame to be drawn over
+   * @param sampling <code>AffineRasterizer.Sampling</code>, or <code>null</code>
+   * @param parallel <code>boolean</code> whether software rasterization may use multiple threads
+   * @return void
+   */
+  private static void drawFrame(PixelBuffer image, AffineTransform viewTransform,
+      PixelBuffer frameBuffer, AffineRasterizer.Sampling sampling, boolean parallel) {
+
+    // Declarations
+    Graphics2D g2;
+
+    if (sampling != null) {
+      AffineRasterizer.rasterize(image, frameBuffer, viewTransform, sampling, parallel);
+    } else if (AffineRasterizer.classify(viewTransform, AffineRasterizer.Sampling.BILINEAR)
+        != AffineRasterizer.TransformClass.GENERAL) {
+
+      // Only the identity and whole-pixel translations, which are straight row copies, are
+      // guaranteed to match drawImage; Java2D rounds the edges of scaled blits differently
+      AffineRasterizer.rasterize(image, frameBuffer, viewTransform,
+        AffineRasterizer.Sampling.NEAREST, parallel);
+    } else {
+      g2 = frameBuffer.getBufferedImage().createGraphics();
+      g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      g2.transform(viewTransform);
+      g2.drawImage(image.getBufferedImage(), 0, 0, null);
+      g2.dispose();
+    }
+  }
+
+  /**
+   * This method renders a vector image into a new, opaque frame of the given size, cleared to the
+   * given background, as <code>ImagePanel.paintComponent</code> would draw it over a panel of that
+   * size.
+   *
+   * @param image <code>VectorImage</code>
+   * @param viewTransform <code>AffineTransform</code> from image to frame coordinates
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param background <code>Color</code>
+   * @return frame <code>PixelBuffer</code>
+   */
+  protected static PixelBuffer renderFrame(VectorImage image, AffineTransform viewTransform,
+      int width, int height, Color background) {
+
+    // Declarations
+    PixelBuffer frameBuffer;
+
+    // Definitions
+    frameBuffer = new PixelBuffer(width, height);
+    Arrays.fill(frameBuffer.getPixels(), background.getRGB());
+    ImagePanel.drawFrame(image, viewTransform, frameBuffer);
+
+    return frameBuffer;
+  }
+
+  /**
+   * This method fills the shapes of a vector image over an existing frame without first clearing
+   * it.
+   *
+   * @param image <code>VectorImage</code>
+   * @param viewTransform <code>AffineTransform</code> from image to frame coordinates
+   * @param frameBuffer <code>PixelBuffer</code> frame to be drawn over
+   * @return void
+   */
+  private static void drawFrame(VectorImage image, AffineTransform viewTransform,
+      PixelBuffer frameBuffer) {
+
+    // Declarations
+    Graphics2D g2;
+
+    // Definitions
+    g2 = frameBuffer.getBufferedImage().createGraphics();
+    image.draw(g2, viewTransform);
     g2.dispose();
   }
 
   /**
-   * This utility method is used to apply the color values listed in the <code>ImagePanel</code>
-   * object's 2D <code>int</code> array <code>imageArray</code> to the <code>BufferedImage</code>
-   * instance, as well as the associated pixels' coordinates. Despite the author's dislike for
-   * nested loop structures, he cannot think of a better way to do this under the present
-   * circumstances.
+   * This method draws the panel's image, be it a vector image, a tiled image, a run-length image
+   * or a pixel buffer, over the given frame without first clearing it. Tiled and run-length images
+   * are drawn with nearest-neighbor sampling unless another is set, and a pixel buffer is drawn
+   * from its mip pyramid, if it has one.
    *
+   * @param viewTransform <code>AffineTransform</code> from image to frame coordinates
+   * @param frameBuffer <code>PixelBuffer</code> frame to be drawn over
    * @return void
    */
-  private void buildImage() {
+  private void drawImage(AffineTransform viewTransform, PixelBuffer frameBuffer) {
 
     // Declarations
-    int imageSize;
-    int[][] array;
-    BufferedImage image;
-
-    // Definitions (cache values)
-    imageSize = this.getApplication().getImageSizeConstant();
-    array = this.getImageArray();
-    image = this.getBufferedImage();
-
-    // Apply RGB values from array
-    for (int x = 0; x < imageSize; x++) {
-      for (int y = 0; y < imageSize; y++) {
-        image.setRGB(x, y, array[x][y]);
-      }
+    ImagePanel.PixelSource source;
+    int level;
+
+    // Definitions
+    source = this.pixelSource;
+
+    if (this.getVectorImage() != null) {
+      ImagePanel.drawFrame(this.getVectorImage(), viewTransform, frameBuffer);
+    } else if (this.getTiledImage() != null) {
+      AffineRasterizer.rasterize(this.getTiledImage(), frameBuffer, viewTransform,
+        (this.getSampling() != null) ? this.getSampling() : AffineRasterizer.Sampling.NEAREST,
+        true);
+    } else if (this.getRunLengthImage() != null) {
+      AffineRasterizer.rasterize(this.getRunLengthImage(), frameBuffer, viewTransform,
+        (this.getSampling() != null) ? this.getSampling() : AffineRasterizer.Sampling.NEAREST,
+        true);
+    } else if (source.mipPyramid != null) {
+      level = source.mipPyramid.selectLevel(viewTransform);
+      ImagePanel.drawFrame(source.mipPyramid.getLevel(level),
+        source.mipPyramid.createLevelTransform(viewTransform, level), frameBuffer,
+        this.getSampling(), true);
+    } else {
+      ImagePanel.drawFrame(source.pixelBuffer, viewTransform, frameBuffer, this.getSampling(),
+        true);
+    }
+  }
+
+  /**
+   * This method renders the panel's image into a panel-sized frame via
+   * <code>AffineRasterizer</code>. The frame buffer is reused between paints and only reallocated
+   * when the panel is resized. It is cleared to the panel background before rasterizing so that
+   * the frame may be drawn over the panel as is.
+   *
+   * @param viewTransform <code>AffineTransform</code> from image to panel coordinates
+   * @return frame <code>BufferedImage</code>
+   */
+  private BufferedImage rasterizeFrame(AffineTransform viewTransform) {
+    if (this.frameBuffer == null || this.frameBuffer.getWidth() != this.getWidth()
+        || this.frameBuffer.getHeight() != this.getHeight()) {
+      this.frameBuffer = new PixelBuffer(Math.max(1, this.getWidth()),
+        Math.max(1, this.getHeight()));
+    }
+
+    Arrays.fill(this.frameBuffer.getPixels(), this.getBackground().getRGB());
+    this.drawImage(viewTransform, this.frameBuffer);
+
+    return this.frameBuffer.getBufferedImage();
+  }
+
+  /**
+   * This method has the panel show the given image once it has been loaded, as by
+   * <code>ImageLoader.load</code>, in place of whatever it shows meanwhile, typically a
+   * placeholder. The image is swapped in on the Event Dispatch Thread. Should the load fail, the
+   * panel goes on showing what it did before.
+   *
+   * @param pendingImage <code>CompletableFuture</code> of the image to be shown
+   * @return shown <code>CompletableFuture</code> completing once the image has been swapped in,
+   *     or exceptionally if the load failed
+   */
+  protected CompletableFuture<Void> showWhenLoaded(CompletableFuture<PixelBuffer> pendingImage) {
+    return pendingImage.thenAcceptAsync(this::replaceImage, SwingUtilities::invokeLater);
+  }
+
+  /**
+   * This method replaces the pixel buffer drawn by the panel. Any mip pyramid is rebuilt over the
+   * new image and published together with it, and any cached frames of the old image are
+   * discarded, after which the panel is repainted in full.
+   *
+   * @param image <code>PixelBuffer</code>
+   * @return void
+   */
+  private void replaceImage(PixelBuffer image) {
+    this.setPixelSource(new ImagePanel.PixelSource(image,
+      (this.getMipPyramid() != null) ? new MipPyramid(image) : null));
+    this.buildImage();
+
+    if (this.getFrameCache() != null) {
+      this.getFrameCache().clear();
+    }
+
+    this.paintedBounds = null;
+    this.repaintImage();
+  }
+
+  /**
+   * This utility method is used to attach the <code>ImagePanel</code> object's
+   * <code>PixelBuffer</code> to the panel's <code>BufferedImage</code>. Originally, this method
+   * applied the color values of a 2D <code>int</code> array to the image one pixel at a time via
+   * nested loops and <code>setRGB</code>. As the buffer's flat pixel array now serves directly as
+   * the image's <code>DataBufferInt</code>, or its palette indices as a
+   * <code>DataBufferByte</code>, no copying is required at all.
+   *
+   * @return void
+   */
+  protected void buildImage() {
+    this.setBufferedImage(this.getPixelBuffer().getBufferedImage());
+  }
+
+  // PixelSource
+
+  /**
+   * Immutable pairing of the pixel buffer drawn by a panel with the mip pyramid built over it, if
+   * any, replaced as a whole whenever either changes.
+   *
+   * @author Andrew Eissen
+   */
+  private static final class PixelSource {
+
+    // Private class fields
+    private final PixelBuffer pixelBuffer;
+    private final MipPyramid mipPyramid;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param pixelBuffer <code>PixelBuffer</code>
+     * @param mipPyramid <code>MipPyramid</code> built over the buffer, or <code>null</code>
+     */
+    private PixelSource(PixelBuffer pixelBuffer, MipPyramid mipPyramid) {
+      this.pixelBuffer = pixelBuffer;
+      this.mipPyramid = mipPyramid;
     }
   }
-}
\ No newline at end of file
+}
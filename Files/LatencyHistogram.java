@@ -0,0 +1,267 @@
+/**
+ * LatencyHistogram.java - Lock-free histogram of operation latencies
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * This class records the distribution of the latencies of some repeated operation, such as the
+ * painting of a single <code>ImagePanel</code>, cheaply enough to be left enabled at all times.
+ * Recording a latency costs a couple of atomic increments and no allocation, so that the
+ * measurement does not itself disturb the frame times being measured.
+ * <br />
+ * <br />
+ * Latencies are counted in logarithmic buckets, each power of two nanoseconds being split into
+ * <tt>SUB_BUCKETS</tt> linear sub-buckets. Percentiles are therefore reported to within an eighth
+ * of their value, which is ample for telling a 2 ms paint from a 20 ms one, while the histogram
+ * occupies a fixed few kilobytes no matter how many latencies it records.
+ *
+ * @author Andrew Eissen
+ */
+final class LatencyHistogram implements LatencyHistogramMBean {
+
+  /** Linear sub-buckets per power of two; must itself be a power of two */
+  private static final int SUB_BUCKETS = 8;
+  private static final int SUB_BUCKET_BITS =
+    Integer.numberOfTrailingZeros(LatencyHistogram.SUB_BUCKETS);
+
+  // Private class fields
+  private final String name;
+  private final AtomicLongArray buckets;
+  private final AtomicLong count, totalNanos, maxNanos;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param name <code>String</code> e.g. <tt>paint.left</tt>
+   */
+  protected LatencyHistogram(String name) {
+    this.name = name;
+    this.buckets = new AtomicLongArray(LatencyHistogram.indexOf(Long.MAX_VALUE) + 1);
+    this.count = new AtomicLong();
+    this.totalNanos = new AtomicLong();
+    this.maxNanos = new AtomicLong();
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>LatencyHistogram.name</code>
+   *
+   * @return name <code>String</code>
+   */
+  protected String getName() {
+    return this.name;
+  }
+
+  /**
+   * Returns the number of latencies recorded.
+   *
+   * @return count <code>long</code>
+   */
+  @Override
+  public long getCount() {
+    return this.count.get();
+  }
+
+  /**
+   * Returns the mean latency in milliseconds.
+   *
+   * @return meanMillis <code>double</code>
+   */
+  @Override
+  public double getMeanMillis() {
+
+    // Declarations
+    long recorded;
+
+    // Definitions
+    recorded = this.count.get();
+
+    return (recorded == 0) ? 0.0 : this.totalNanos.get() / 1e6 / recorded;
+  }
+
+  /**
+   * Returns the greatest latency recorded, in milliseconds.
+   *
+   * @return maxMillis <code>double</code>
+   */
+  @Override
+  public double getMaxMillis() {
+    return this.maxNanos.get() / 1e6;
+  }
+
+  /**
+   * Returns the median latency in milliseconds.
+   *
+   * @return p50Millis <code>double</code>
+   */
+  @Override
+  public double getP50Millis() {
+    return this.getPercentileNanos(50.0) / 1e6;
+  }
+
+  /**
+   * Returns the 90th percentile latency in milliseconds.
+   *
+   * @return p90Millis <code>double</code>
+   */
+  @Override
+  public double getP90Millis() {
+    return this.getPercentileNanos(90.0) / 1e6;
+  }
+
+  /**
+   * Returns the 99th percentile latency in milliseconds.
+   *
+   * @return p99Millis <code>double</code>
+   */
+  @Override
+  public double getP99Millis() {
+    return this.getPercentileNanos(99.0) / 1e6;
+  }
+
+  /**
+   * This method returns an upper bound on the given percentile of the latencies recorded, namely
+   * the greatest latency falling in the bucket in which that percentile lies, capped at the
+   * greatest latency actually recorded. As latencies may be recorded while the buckets are being
+   * summed, the result is only approximate under concurrent use.
+   *
+   * @param percentile <code>double</code> from <tt>0.0</tt> to <tt>100.0</tt>
+   * @return percentileNanos <code>long</code>, or <tt>0</tt> if nothing has been recorded
+   */
+  protected long getPercentileNanos(double percentile) {
+
+    // Declarations
+    long rank, seen;
+
+    // Definitions
+    if (percentile < 0.0 || percentile > 100.0) {
+      throw new IllegalArgumentException("Invalid percentile: " + percentile);
+    }
+
+    rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.count.get()));
+    seen = 0;
+
+    for (int index = 0; index < this.buckets.length(); index++) {
+      seen += this.buckets.get(index);
+
+      if (seen >= rank) {
+        return Math.min(LatencyHistogram.upperBoundOf(index), this.maxNanos.get());
+      }
+    }
+
+    return this.maxNanos.get();
+  }
+
+  // Utility methods
+
+  /**
+   * Records a single latency. Safe to call from any thread.
+   *
+   * @param nanos <code>long</code> latency in nanoseconds; negative values are taken as zero
+   * @return void
+   */
+  protected void record(long nanos) {
+
+    // Declarations
+    long latency;
+
+    // Definitions
+    latency = Math.max(0, nanos);
+
+    this.buckets.incrementAndGet(LatencyHistogram.indexOf(latency));
+    this.totalNanos.addAndGet(latency);
+    this.maxNanos.accumulateAndGet(latency, Math::max);
+    this.count.incrementAndGet();
+  }
+
+  /**
+   * Performs the given task, recording how long it took, and returns its result.
+   *
+   * @param <T> result type
+   * @param task <code>Supplier</code>
+   * @return result <code>T</code>
+   */
+  protected <T> T time(Supplier<T> task) {
+
+    // Declarations
+    long start;
+
+    // Definitions
+    start = System.nanoTime();
+
+    try {
+      return task.get();
+    } finally {
+      this.record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Returns a one-line summary of the histogram, with times in milliseconds.
+   *
+   * @return summary <code>String</code>
+   */
+  @Override
+  public String toString() {
+    return String.format("%s: %d samples, mean %.3f ms, p50/p90/p99/max %.3f/%.3f/%.3f/%.3f ms",
+      this.getName(), this.getCount(), this.getMeanMillis(), this.getP50Millis(),
+      this.getP90Millis(), this.getP99Millis(), this.getMaxMillis());
+  }
+
+  /**
+   * Returns the index of the bucket counting the given latency. Latencies below
+   * <tt>SUB_BUCKETS</tt> nanoseconds each have a bucket of their own; above that, the exponent of
+   * the latency picks the group of buckets and the bits following its leading bit the bucket.
+   *
+   * @param nanos <code>long</code> non-negative latency
+   * @return index <code>int</code>
+   */
+  private static int indexOf(long nanos) {
+
+    // Declarations
+    int exponent;
+
+    // Definitions
+    if (nanos < LatencyHistogram.SUB_BUCKETS) {
+      return (int) nanos;
+    }
+
+    exponent = 63 - Long.numberOfLeadingZeros(nanos);
+
+    return (exponent - LatencyHistogram.SUB_BUCKET_BITS + 1) * LatencyHistogram.SUB_BUCKETS
+      + (int) ((nanos >>> (exponent - LatencyHistogram.SUB_BUCKET_BITS))
+      & (LatencyHistogram.SUB_BUCKETS - 1));
+  }
+
+  /**
+   * Returns the greatest latency counted by the bucket at the given index, the inverse of
+   * <code>LatencyHistogram.indexOf</code>.
+   *
+   * @param index <code>int</code>
+   * @return upperBound <code>long</code> in nanoseconds
+   */
+  private static long upperBoundOf(int index) {
+
+    // Declarations
+    int shift;
+    long lowerBound;
+
+    // Definitions
+    if (index < LatencyHistogram.SUB_BUCKETS) {
+      return index;
+    }
+
+    shift = index / LatencyHistogram.SUB_BUCKETS - 1;
+    lowerBound = (long) (LatencyHistogram.SUB_BUCKETS + index % LatencyHistogram.SUB_BUCKETS)
+      << shift;
+
+    return lowerBound + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * LatencyHistogramMBean.java - Management interface of a <code>LatencyHistogram</code>
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+/**
+ * This interface lists the attributes of a <code>LatencyHistogram</code> published over JMX, as
+ * viewed in e.g. JConsole or VisualVM. Standard MBean interfaces must be public, unlike the rest
+ * of the package, and all times are given in milliseconds.
+ *
+ * @see javax.management.StandardMBean
+ * @author Andrew Eissen
+ */
+public interface LatencyHistogramMBean {
+
+  /**
+   * Returns the number of latencies recorded.
+   *
+   * @return count <code>long</code>
+   */
+  long getCount();
+
+  /**
+   * Returns the mean latency in milliseconds.
+   *
+   * @return meanMillis <code>double</code>
+   */
+  double getMeanMillis();
+
+  /**
+   * Returns the greatest latency recorded, in milliseconds.
+   *
+   * @return maxMillis <code>double</code>
+   */
+  double getMaxMillis();
+
+  /**
+   * Returns the median latency in milliseconds.
+   *
+   * @return p50Millis <code>double</code>
+   */
+  double getP50Millis();
+
+  /**
+   * Returns the 90th percentile latency in milliseconds.
+   *
+   * @return p90Millis <code>double</code>
+   */
+  double getP90Millis();
+
+  /**
+   * Returns the 99th percentile latency in milliseconds.
+   *
+   * @return p99Millis <code>double</code>
+   */
+  double getP99Millis();
+}
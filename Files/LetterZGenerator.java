@@ -0,0 +1,93 @@
+/**
+ * LetterZGenerator.java - Image generator of the letter Z
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.image.IndexColorModel;
+
+/**
+ * This class generates the letter Z shown by the right image panel. Each row consists of a white
+ * (or, for the top and bottom rows, black) span interrupted only by the single gray pixel of the
+ * diagonal running from the top right corner toward the bottom left.
+ * <br />
+ * <br />
+ * This class is public only so that <code>ServiceLoader</code> may instantiate it.
+ *
+ * @author Andrew Eissen
+ */
+public final class LetterZGenerator implements ImageGenerator {
+
+  /** Palette indices of the colors of the letter */
+  private static final int WHITE = 0;
+  private static final int GRAY = 1;
+  private static final int BLACK = 2;
+
+  /**
+   * Default constructor, required by <code>ServiceLoader</code>
+   */
+  public LetterZGenerator() {
+  }
+
+  // Getters
+
+  /**
+   * Returns the name by which the generator is looked up.
+   *
+   * @return name <code>String</code> <tt>letterZ</tt>
+   */
+  @Override
+  public String getName() {
+    return "letterZ";
+  }
+
+  // Utility methods
+
+  /**
+   * Returns a palette of white, gray and black, in that order.
+   *
+   * @return palette <code>IndexColorModel</code>
+   */
+  @Override
+  public IndexColorModel createPalette() {
+    return PixelBuffer.createPalette(Color.WHITE, Color.GRAY, Color.BLACK);
+  }
+
+  /**
+   * Fills the given rows of the letter.
+   *
+   * @param destination <code>PixelBuffer</code>
+   * @param startRow <code>int</code> first row of the destination, inclusive
+   * @param endRow <code>int</code> last row of the destination, exclusive
+   * @param originY <code>int</code> row of the image held by row 0 of the destination
+   * @param imageHeight <code>int</code> height of the whole image
+   * @return void
+   */
+  @Override
+  public void fillRows(PixelBuffer destination, int startRow, int endRow, int originY,
+      int imageHeight) {
+
+    // Declarations
+    int width, row, diagonal;
+
+    // Definitions
+    width = destination.getWidth();
+
+    for (int y = startRow; y < endRow; y++) {
+      row = originY + y;
+      diagonal = width - row - 1;
+
+      // Top and bottom rows are left black apart from the ends of the diagonal
+      destination.fillIndexSpan(y, 0, width, (row == 0 || row == imageHeight - 1)
+        ? LetterZGenerator.BLACK
+        : LetterZGenerator.WHITE);
+
+      // Diagonal is gray
+      if (diagonal >= 0) {
+        destination.setIndex(diagonal, y, LetterZGenerator.GRAY);
+      }
+    }
+  }
+}
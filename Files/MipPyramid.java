@@ -0,0 +1,204 @@
+/**
+ * MipPyramid.java - Lazily built chain of successively halved copies of an image
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.geom.AffineTransform;
+
+/**
+ * This class holds a mip pyramid of a <code>PixelBuffer</code>, that is, the image itself at level
+ * 0 followed by copies of it halved in each dimension at every level, down to a single pixel. When
+ * an image is drawn shrunk by a transform, nearest-neighbor sampling reads but a sparse scattering
+ * of its pixels, so that fine detail flickers in and out from frame to frame while the whole of
+ * a large image is still pulled through the cache. Drawing the level whose size best matches the
+ * size on screen instead reads roughly one source pixel per destination pixel, each of which is
+ * the average of the pixels it stands in for, keeping both quality and cost steady at any zoom.
+ * <br />
+ * <br />
+ * Levels are built only when first requested, each from the level above it by averaging blocks of
+ * 2 x 2 pixels, with rows split into bands and averaged in parallel via <code>RowBandTask</code>.
+ * Where a dimension is odd, its last pixel is averaged with itself. Level selection uses the
+ * larger of the transform's two scale factors, so that no axis is ever drawn from a level coarser
+ * than it needs; images shrunk along one axis only are thus drawn from level 0, as before.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Mipmap">Mipmap</a>
+ * @author Andrew Eissen
+ */
+final class MipPyramid {
+
+  // Private class fields
+  private final PixelBuffer[] levels;
+
+  /**
+   * Parameterized constructor. Only level 0, the image itself, exists on construction.
+   *
+   * @param image <code>PixelBuffer</code>
+   */
+  protected MipPyramid(PixelBuffer image) {
+
+    // Declarations
+    int count;
+
+    // Definitions
+    count = 1;
+
+    for (int size = Math.max(image.getWidth(), image.getHeight()); size > 1;
+        size = (size + 1) / 2) {
+      count++;
+    }
+
+    this.levels = new PixelBuffer[count];
+    this.levels[0] = image;
+  }
+
+  // Getters
+
+  /**
+   * Returns the number of levels in the pyramid, built or not.
+   *
+   * @return levelCount <code>int</code>
+   */
+  protected int getLevelCount() {
+    return this.levels.length;
+  }
+
+  /**
+   * Returns the given level of the pyramid, building it and any level above it not yet built.
+   *
+   * @param level <code>int</code>
+   * @return image <code>PixelBuffer</code>
+   * @throws IllegalArgumentException if there is no such level
+   */
+  protected synchronized PixelBuffer getLevel(int level) {
+    if (level < 0 || level >= this.levels.length) {
+      throw new IllegalArgumentException("Invalid mip level: " + level);
+    }
+
+    if (this.levels[level] == null) {
+      this.levels[level] = MipPyramid.halve(this.getLevel(level - 1));
+    }
+
+    return this.levels[level];
+  }
+
+  // Utility methods
+
+  /**
+   * This method selects the level at which an image is best drawn under the given transform, that
+   * being the coarsest level whose pixels are drawn no smaller than a single frame pixel. This is
+   * level <tt>floor(log2(1 / scale))</tt>, where <code>scale</code> is the larger of the lengths of
+   * the images of the unit x and y vectors, clamped to the levels available.
+   *
+   * @param viewTransform <code>AffineTransform</code> from image to frame coordinates
+   * @return level <code>int</code>
+   */
+  protected int selectLevel(AffineTransform viewTransform) {
+
+    // Declarations
+    double scale;
+    int level;
+
+    // Definitions
+    scale = Math.max(Math.hypot(viewTransform.getScaleX(), viewTransform.getShearY()),
+      Math.hypot(viewTransform.getShearX(), viewTransform.getScaleY()));
+
+    if (!(scale > 0.0)) {
+      return 0;
+    }
+
+    level = (int) Math.floor(-Math.log(scale) / Math.log(2.0));
+
+    return Math.max(0, Math.min(this.levels.length - 1, level));
+  }
+
+  /**
+   * Returns the transform drawing the given level in place of level 0 under the given transform,
+   * stretching the level back over the area of the full image.
+   *
+   * @param viewTransform <code>AffineTransform</code> from image to frame coordinates
+   * @param level <code>int</code>
+   * @return levelTransform <code>AffineTransform</code>
+   */
+  protected AffineTransform createLevelTransform(AffineTransform viewTransform, int level) {
+
+    // Declarations
+    AffineTransform levelTransform;
+    PixelBuffer image;
+
+    // Definitions
+    levelTransform = new AffineTransform(viewTransform);
+    image = this.getLevel(level);
+
+    levelTransform.scale(this.levels[0].getWidth() / (double) image.getWidth(),
+      this.levels[0].getHeight() / (double) image.getHeight());
+
+    return levelTransform;
+  }
+
+  /**
+   * This method builds the next level down from the given one, each pixel being the average of a
+   * block of 2 x 2 pixels.
+   *
+   * @param image <code>PixelBuffer</code>
+   * @return halved <code>PixelBuffer</code>
+   */
+  private static PixelBuffer halve(PixelBuffer image) {
+
+    // Declarations
+    PixelBuffer halved;
+    int[] source;
+    int width, height;
+
+    // Definitions
+    source = image.getPixels();
+    width = image.getWidth();
+    height = image.getHeight();
+    halved = new PixelBuffer((width + 1) / 2, (height + 1) / 2);
+
+    RowBandTask.fill(halved, (PixelBuffer buffer, int startRow, int endRow) -> {
+      int[] pixels = buffer.getPixels();
+
+      for (int y = startRow; y < endRow; y++) {
+        int top = 2 * y * width;
+        int bottom = Math.min(2 * y + 1, height - 1) * width;
+
+        for (int x = 0; x < buffer.getWidth(); x++) {
+          int left = 2 * x;
+          int right = Math.min(2 * x + 1, width - 1);
+
+          pixels[y * buffer.getWidth() + x] = MipPyramid.average(source[top + left],
+            source[top + right], source[bottom + left], source[bottom + right]);
+        }
+      }
+    }, true);
+
+    return halved;
+  }
+
+  /**
+   * Returns the per-channel average of four packed RGB colors, rounded to nearest, with the alpha
+   * byte set opaque.
+   *
+   * @param a <code>int</code>
+   * @param b <code>int</code>
+   * @param c <code>int</code>
+   * @param d <code>int</code>
+   * @return average <code>int</code>
+   */
+  private static int average(int a, int b, int c, int d) {
+
+    // Declarations
+    int red, green, blue;
+
+    // Definitions
+    red = (((a >> 16) & 0xFF) + ((b >> 16) & 0xFF) + ((c >> 16) & 0xFF) + ((d >> 16) & 0xFF) + 2)
+      >> 2;
+    green = (((a >> 8) & 0xFF) + ((b >> 8) & 0xFF) + ((c >> 8) & 0xFF) + ((d >> 8) & 0xFF) + 2)
+      >> 2;
+    blue = ((a & 0xFF) + (b & 0xFF) + (c & 0xFF) + (d & 0xFF) + 2) >> 2;
+
+    return 0xFF000000 | (red << 16) | (green << 8) | blue;
+  }
+}
@@ -0,0 +1,379 @@
+/**
+ * PaintMetrics.java - Frame timing and cache metrics published over JMX
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * This class gathers the metrics by which the smoothness of the animation may be judged while the
+ * application is running. Originally, the only diagnostic available was the
+ * <code>Application.DEBUG</code> constant, which merely echoed the status log to the console and
+ * said nothing about how long painting took. The metrics kept here are instead cheap enough to be
+ * left enabled at all times, and are published to the platform MBean server under the
+ * <tt>graphicsprojectone</tt> domain so that they may be watched live in JConsole or VisualVM.
+ * <br />
+ * <br />
+ * Latencies, such as those of painting each panel or of building its image, are recorded in named
+ * <code>LatencyHistogram</code>s, each published as an MBean of its own. The frame rate and the
+ * number of repaints requested are recorded as each frame is presented, while the number of
+ * snapshots coalesced by the <code>RenderPipeline</code>, the deadlines missed by the
+ * <code>Simulation</code> and the statistics of every panel's <code>FrameCache</code> are read from
+ * those objects on demand. All metrics may also be written out as comma-separated values, e.g. on
+ * exit.
+ *
+ * @see java.lang.management.ManagementFactory#getPlatformMBeanServer
+ * @author Andrew Eissen
+ */
+final class PaintMetrics implements PaintMetricsMBean {
+
+  /** JMX domain under which the metrics are published */
+  private static final String DOMAIN = "graphicsprojectone";
+
+  /** Weight of the newest frame interval in the smoothed frame rate */
+  private static final double SMOOTHING = 0.1;
+
+  /** Time without a new frame after which the animation is considered paused */
+  private static final long IDLE_NANOS = 1_000_000_000L;
+
+  // Private class fields
+  private final List<ImagePanel> panels;
+  private final Supplier<RenderPipeline> renderPipeline;
+  private final Supplier<Simulation> simulation;
+  private final Map<String, LatencyHistogram> histograms;
+  private final AtomicLong framesPresented, repaintsRequested;
+  private MBeanServer server;
+
+  // Frame rate state, written only on the Event Dispatch Thread
+  private volatile long lastFrameNanos;
+  private volatile double meanIntervalNanos;
+
+  /**
+   * Parameterized constructor. The sources of the metrics are read only when the metrics are, and
+   * so may be filled in or created after the metrics themselves.
+   *
+   * @param panels <code>List</code> of panels whose frame caches are to be reported
+   * @param renderPipeline <code>Supplier</code> of the render pipeline, or of <code>null</code>
+   * @param simulation <code>Supplier</code> of the simulation, or of <code>null</code>
+   */
+  protected PaintMetrics(List<ImagePanel> panels, Supplier<RenderPipeline> renderPipeline,
+      Supplier<Simulation> simulation) {
+    this.panels = panels;
+    this.renderPipeline = renderPipeline;
+    this.simulation = simulation;
+    this.histograms = new ConcurrentSkipListMap<>();
+    this.framesPresented = new AtomicLong();
+    this.repaintsRequested = new AtomicLong();
+  }
+
+  // Getters
+
+  /**
+   * Returns the histogram of the given name, creating it, and publishing it if the metrics have
+   * been registered, the first time it is asked for.
+   *
+   * @param name <code>String</code> e.g. <tt>paint.left</tt>
+   * @return histogram <code>LatencyHistogram</code>
+   */
+  protected synchronized LatencyHistogram getHistogram(String name) {
+
+    // Declarations
+    LatencyHistogram histogram;
+
+    // Definitions
+    histogram = this.histograms.get(name);
+
+    if (histogram == null) {
+      histogram = new LatencyHistogram(name);
+      this.histograms.put(name, histogram);
+
+      if (this.server != null) {
+        this.registerHistogram(histogram);
+      }
+    }
+
+    return histogram;
+  }
+
+  /**
+   * Returns the number of frames presented.
+   *
+   * @return framesPresented <code>long</code>
+   */
+  @Override
+  public long getFramesPresented() {
+    return this.framesPresented.get();
+  }
+
+  /**
+   * Returns the frame rate implied by the smoothed interval between recent frames, or zero if no
+   * frame has been presented for a second.
+   *
+   * @return framesPerSecond <code>double</code>
+   */
+  @Override
+  public double getFramesPerSecond() {
+    if (this.framesPresented.get() < 2 || this.meanIntervalNanos <= 0.0
+        || System.nanoTime() - this.lastFrameNanos > PaintMetrics.IDLE_NANOS) {
+      return 0.0;
+    }
+
+    return 1e9 / this.meanIntervalNanos;
+  }
+
+  /**
+   * Returns the number of panel repaints requested.
+   *
+   * @return repaintsRequested <code>long</code>
+   */
+  @Override
+  public long getRepaintsRequested() {
+    return this.repaintsRequested.get();
+  }
+
+  /**
+   * Returns the number of panel repaints requested but never painted, as when Swing merges a
+   * repaint into one still pending. Paints not requested by the animation, as when the window is
+   * uncovered, offset the count, which is therefore a lower bound.
+   *
+   * @return repaintsDropped <code>long</code>
+   */
+  @Override
+  public long getRepaintsDropped() {
+
+    // Declarations
+    long paints;
+
+    // Definitions
+    paints = 0;
+
+    for (LatencyHistogram histogram : this.histograms.values()) {
+      if (histogram.getName().startsWith("paint.")) {
+        paints += histogram.getCount();
+      }
+    }
+
+    return Math.max(0, this.repaintsRequested.get() - paints);
+  }
+
+  /**
+   * Returns the number of snapshots coalesced by the render pipeline, if any.
+   *
+   * @return snapshotsCoalesced <code>long</code>
+   */
+  @Override
+  public long getSnapshotsCoalesced() {
+    return (this.renderPipeline.get() == null)
+      ? 0
+      : this.renderPipeline.get().getSnapshotsCoalesced();
+  }
+
+  /**
+   * Returns the number of simulation ticks that missed their deadlines, if any.
+   *
+   * @return missedDeadlines <code>long</code>
+   */
+  @Override
+  public long getMissedDeadlines() {
+    return (this.simulation.get() == null)
+      ? 0
+      : this.simulation.get().getStatistics().getMissedDeadlines();
+  }
+
+  /**
+   * Returns the total number of frame cache hits across all panels.
+   *
+   * @return cacheHits <code>long</code>
+   */
+  @Override
+  public long getCacheHits() {
+    return this.sumFrameCaches(FrameCache::getHits);
+  }
+
+  /**
+   * Returns the total number of frame cache misses across all panels.
+   *
+   * @return cacheMisses <code>long</code>
+   */
+  @Override
+  public long getCacheMisses() {
+    return this.sumFrameCaches(FrameCache::getMisses);
+  }
+
+  /**
+   * Returns the total number of frames evicted from the frame caches of all panels.
+   *
+   * @return cacheEvictions <code>long</code>
+   */
+  @Override
+  public long getCacheEvictions() {
+    return this.sumFrameCaches(FrameCache::getEvictions);
+  }
+
+  /**
+   * Returns the total size in bytes of the frames held in the frame caches of all panels.
+   *
+   * @return cacheBytes <code>long</code>
+   */
+  @Override
+  public long getCacheBytes() {
+    return this.sumFrameCaches(FrameCache::getCurrentBytes);
+  }
+
+  /**
+   * Returns the names of the latency histograms created so far, in alphabetical order.
+   *
+   * @return histogramNames <code>String[]</code>
+   */
+  @Override
+  public String[] getHistogramNames() {
+    return this.histograms.keySet().toArray(new String[0]);
+  }
+
+  // Utility methods
+
+  /**
+   * Records the presentation of a new frame. Must be called on the Event Dispatch Thread.
+   *
+   * @param repaints <code>int</code> number of panel repaints requested for the frame
+   * @return void
+   */
+  protected void recordFrame(int repaints) {
+
+    // Declarations
+    long now, interval;
+
+    // Definitions
+    now = System.nanoTime();
+
+    if (this.framesPresented.incrementAndGet() > 1) {
+      interval = now - this.lastFrameNanos;
+      this.meanIntervalNanos = (this.meanIntervalNanos <= 0.0)
+        ? interval
+        : this.meanIntervalNanos + (interval - this.meanIntervalNanos) * PaintMetrics.SMOOTHING;
+    }
+
+    this.lastFrameNanos = now;
+    this.repaintsRequested.addAndGet(repaints);
+  }
+
+  /**
+   * This method publishes the metrics, along with every histogram created so far or in future, to
+   * the platform MBean server.
+   *
+   * @return void
+   * @throws IllegalStateException if the metrics cannot be registered, e.g. if already registered
+   */
+  protected synchronized void register() {
+    this.server = ManagementFactory.getPlatformMBeanServer();
+
+    try {
+      this.server.registerMBean(new StandardMBean(this, PaintMetricsMBean.class),
+        new ObjectName(PaintMetrics.DOMAIN + ":type=PaintMetrics"));
+    } catch (JMException ex) {
+      throw new IllegalStateException("Unable to register metrics", ex);
+    }
+
+    for (LatencyHistogram histogram : this.histograms.values()) {
+      this.registerHistogram(histogram);
+    }
+  }
+
+  /**
+   * Writes every metric to the given file as comma-separated values, one metric per row under a
+   * <tt>metric,value</tt> header, the attributes of each histogram being prefixed by its name.
+   * This is deliberately not a JMX operation, as a remote client could then overwrite any file
+   * the application can write; the only caller is the shutdown hook of
+   * <code>Application.publishMetrics</code>, with the path named at launch.
+   *
+   * @param path <code>String</code>
+   * @return void
+   * @throws IOException if the file cannot be written
+   */
+  protected void writeCsv(String path) throws IOException {
+    try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Path.of(path),
+        StandardCharsets.UTF_8))) {
+      writer.println("metric,value");
+      writer.println("framesPresented," + this.getFramesPresented());
+      writer.println("framesPerSecond," + this.getFramesPerSecond());
+      writer.println("repaintsRequested," + this.getRepaintsRequested());
+      writer.println("repaintsDropped," + this.getRepaintsDropped());
+      writer.println("snapshotsCoalesced," + this.getSnapshotsCoalesced());
+      writer.println("missedDeadlines," + this.getMissedDeadlines());
+      writer.println("cacheHits," + this.getCacheHits());
+      writer.println("cacheMisses," + this.getCacheMisses());
+      writer.println("cacheEvictions," + this.getCacheEvictions());
+      writer.println("cacheBytes," + this.getCacheBytes());
+
+      for (LatencyHistogram histogram : this.histograms.values()) {
+        writer.println(histogram.getName() + ".count," + histogram.getCount());
+        writer.println(histogram.getName() + ".meanMillis," + histogram.getMeanMillis());
+        writer.println(histogram.getName() + ".p50Millis," + histogram.getP50Millis());
+        writer.println(histogram.getName() + ".p90Millis," + histogram.getP90Millis());
+        writer.println(histogram.getName() + ".p99Millis," + histogram.getP99Millis());
+        writer.println(histogram.getName() + ".maxMillis," + histogram.getMaxMillis());
+      }
+
+      if (writer.checkError()) {
+        throw new IOException("Unable to write metrics to " + path);
+      }
+    }
+  }
+
+  /**
+   * Publishes a single histogram to the MBean server under its name.
+   *
+   * @param histogram <code>LatencyHistogram</code>
+   * @return void
+   * @throws IllegalStateException if the histogram cannot be registered
+   */
+  private void registerHistogram(LatencyHistogram histogram) {
+    try {
+      this.server.registerMBean(new StandardMBean(histogram, LatencyHistogramMBean.class),
+        new ObjectName(PaintMetrics.DOMAIN + ":type=LatencyHistogram,name="
+        + ObjectName.quote(histogram.getName())));
+    } catch (JMException ex) {
+      throw new IllegalStateException("Unable to register " + histogram.getName(), ex);
+    }
+  }
+
+  /**
+   * Returns the sum of the given statistic over the frame caches of every panel that has one.
+   *
+   * @param statistic <code>ToLongFunction</code> reading a statistic of a cache
+   * @return sum <code>long</code>
+   */
+  private long sumFrameCaches(ToLongFunction<FrameCache> statistic) {
+
+    // Declarations
+    long sum;
+
+    // Definitions
+    sum = 0;
+
+    for (ImagePanel panel : this.panels) {
+      if (panel.getFrameCache() != null) {
+        sum += statistic.applyAsLong(panel.getFrameCache());
+      }
+    }
+
+    return sum;
+  }
+}
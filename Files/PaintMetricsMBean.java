@@ -0,0 +1,98 @@
+/**
+ * PaintMetricsMBean.java - Management interface of <code>PaintMetrics</code>
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+/**
+ * This interface lists the attributes of the application-wide <code>PaintMetrics</code>
+ * published over JMX. The latency histograms of individual operations are published separately,
+ * each as a <code>LatencyHistogramMBean</code>. Standard MBean interfaces must be public, unlike
+ * the rest of the package.
+ *
+ * @see javax.management.StandardMBean
+ * @author Andrew Eissen
+ */
+public interface PaintMetricsMBean {
+
+  /**
+   * Returns the number of frames presented, i.e. the number of times the panels were asked to
+   * repaint for a new snapshot.
+   *
+   * @return framesPresented <code>long</code>
+   */
+  long getFramesPresented();
+
+  /**
+   * Returns the recent rate at which frames have been presented, or zero if the animation is
+   * paused.
+   *
+   * @return framesPerSecond <code>double</code>
+   */
+  double getFramesPerSecond();
+
+  /**
+   * Returns the number of panel repaints requested.
+   *
+   * @return repaintsRequested <code>long</code>
+   */
+  long getRepaintsRequested();
+
+  /**
+   * Returns the number of panel repaints requested that Swing merged into another repaint rather
+   * than painting.
+   *
+   * @return repaintsDropped <code>long</code>
+   */
+  long getRepaintsDropped();
+
+  /**
+   * Returns the number of snapshots the render pipeline dropped in favor of a newer snapshot.
+   *
+   * @return snapshotsCoalesced <code>long</code>
+   */
+  long getSnapshotsCoalesced();
+
+  /**
+   * Returns the number of simulation ticks that missed their deadlines.
+   *
+   * @return missedDeadlines <code>long</code>
+   */
+  long getMissedDeadlines();
+
+  /**
+   * Returns the total number of frame cache hits across all panels.
+   *
+   * @return cacheHits <code>long</code>
+   */
+  long getCacheHits();
+
+  /**
+   * Returns the total number of frame cache misses across all panels.
+   *
+   * @return cacheMisses <code>long</code>
+   */
+  long getCacheMisses();
+
+  /**
+   * Returns the total number of frames evicted from the frame caches of all panels.
+   *
+   * @return cacheEvictions <code>long</code>
+   */
+  long getCacheEvictions();
+
+  /**
+   * Returns the total size in bytes of the frames held in the frame caches of all panels.
+   *
+   * @return cacheBytes <code>long</code>
+   */
+  long getCacheBytes();
+
+  /**
+   * Returns the names of the latency histograms recorded so far.
+   *
+   * @return histogramNames <code>String[]</code>
+   */
+  String[] getHistogramNames();
+}
@@ -0,0 +1,399 @@
+/**
+ * PixelBuffer.java - Flat, row-major pixel store backing a <code>BufferedImage</code>
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+
+/**
+ * This class replaces the 2D <code>int[][]</code> arrays originally assembled by the image methods
+ * of <code>Application</code>. Rather than store each image as a jagged array of columns and copy
+ * the values pixel by pixel into a <code>BufferedImage</code> via <code>setRGB</code>, the pixels
+ * are held in a single flat <code>int[]</code> laid out row by row, so that pixel
+ * <tt>(x, y)</tt> lives at index <tt>y * width + x</tt>.
+ * <br />
+ * <br />
+ * The same array is wrapped in a <code>DataBufferInt</code> and used as the backing store of the
+ * <code>BufferedImage</code> returned by <code>PixelBuffer.getBufferedImage</code>. Values written
+ * into the buffer by the image methods are therefore immediately visible to the image without any
+ * copying or per-pixel color model conversion, and only one copy of the pixel data exists per
+ * image.
+ * <br />
+ * <br />
+ * As the procedural images use no more than a handful of colors each, a buffer may instead be
+ * palette-indexed, storing a single <code>byte</code> per pixel that indexes an
+ * <code>IndexColorModel</code> of at most 256 colors. The image methods then write palette indices
+ * rather than colors, and the <code>BufferedImage</code> of such a buffer is a
+ * <code>TYPE_BYTE_INDEXED</code> image sharing the <code>byte[]</code>, a quarter the size of its
+ * <code>int</code> equivalent. The rasterizer's translation, scale and rotation routines look the
+ * indices up in <code>PixelBuffer.getColors</code> as they go; only code needing packed RGB values
+ * outright, such as the general scanline path, has <code>PixelBuffer.getPixels</code> expand them
+ * from the palette, once, on first request.
+ *
+ * @see java.awt.image.DataBufferInt
+ * @see java.awt.image.IndexColorModel
+ * @author Andrew Eissen
+ */
+final class PixelBuffer {
+
+  /** Channel masks matching <code>BufferedImage.TYPE_INT_RGB</code>; the alpha byte is ignored */
+  private static final int RED_MASK = 0x00FF0000;
+  private static final int GREEN_MASK = 0x0000FF00;
+  private static final int BLUE_MASK = 0x000000FF;
+
+  // Private class fields
+  private final int width, height;
+  private final byte[] indices;
+  private final IndexColorModel palette;
+  private final int[] colors;
+  private volatile int[] pixels;
+  private volatile BufferedImage bufferedImage;
+
+  /**
+   * Parameterized constructor for a buffer holding packed RGB values
+   *
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   */
+  protected PixelBuffer(int width, int height) {
+    this(width, height, null);
+  }
+
+  /**
+   * Parameterized constructor for a buffer holding either packed RGB values or, if a palette is
+   * given, palette indices, every pixel initially being the first color of the palette.
+   *
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param palette <code>IndexColorModel</code> of 8-bit pixels, or <code>null</code>
+   */
+  protected PixelBuffer(int width, int height, IndexColorModel palette) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid buffer dimensions: " + width + "x" + height);
+    }
+
+    if (palette != null && palette.getPixelSize() != 8) {
+      throw new IllegalArgumentException("Invalid palette pixel size: " + palette.getPixelSize());
+    }
+
+    this.width = width;
+    this.height = height;
+    this.palette = palette;
+    this.colors = (palette == null) ? null : new int[palette.getMapSize()];
+    this.indices = (palette == null) ? null : new byte[width * height];
+    this.pixels = (palette == null) ? new int[width * height] : null;
+
+    if (palette != null) {
+      palette.getRGBs(this.colors);
+    }
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>PixelBuffer.width</code>
+   *
+   * @return width <code>int</code>
+   */
+  protected int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Getter for <code>PixelBuffer.height</code>
+   *
+   * @return height <code>int</code>
+   */
+  protected int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Getter for <code>PixelBuffer.pixels</code>. The array is returned directly rather than copied
+   * so that callers can write rows straight into the buffer. For a palette-indexed buffer, the
+   * array is instead expanded from the indices on first request, and is thereafter read-only and
+   * unaffected by any further change to the indices.
+   *
+   * @return pixels <code>int[]</code>
+   */
+  protected int[] getPixels() {
+
+    // Declarations
+    int[] expanded;
+
+    // Definitions
+    expanded = this.pixels;
+
+    if (expanded == null) {
+      synchronized (this) {
+        if (this.pixels == null) {
+          this.pixels = this.expandIndices();
+        }
+
+        expanded = this.pixels;
+      }
+    }
+
+    return expanded;
+  }
+
+  /**
+   * Getter for <code>PixelBuffer.indices</code>, returned directly rather than copied.
+   *
+   * @return indices <code>byte[]</code>, or <code>null</code> if the buffer is not indexed
+   */
+  protected byte[] getIndices() {
+    return this.indices;
+  }
+
+  /**
+   * Getter for <code>PixelBuffer.palette</code>
+   *
+   * @return palette <code>IndexColorModel</code>, or <code>null</code> if the buffer is not indexed
+   */
+  protected IndexColorModel getPalette() {
+    return this.palette;
+  }
+
+  /**
+   * Getter for <code>PixelBuffer.colors</code>, the packed RGB value of each palette entry,
+   * returned directly rather than copied. The color of indexed pixel <tt>i</tt> is therefore
+   * <tt>colors[indices[i] &amp; 0xFF]</tt>, which lets the rasterizer read an indexed buffer
+   * without expanding it.
+   *
+   * @return colors <code>int[]</code>, or <code>null</code> if the buffer is not indexed
+   */
+  protected int[] getColors() {
+    return this.colors;
+  }
+
+  /**
+   * Returns whether the buffer stores palette indices rather than packed RGB values.
+   *
+   * @return indexed <code>boolean</code>
+   */
+  protected boolean isIndexed() {
+    return this.palette != null;
+  }
+
+  /**
+   * Returns the number of bytes occupied by the pixel data. An indexed buffer counts its indices
+   * and palette colors, plus its expanded RGB values only once <code>PixelBuffer.getPixels</code>
+   * has actually been called on it, so that the figure reflects what is held at the time.
+   *
+   * @return sizeInBytes <code>long</code>
+   */
+  protected long getSizeInBytes() {
+    return ((this.indices == null) ? 0L : this.indices.length + 4L * this.colors.length)
+      + ((this.pixels == null) ? 0L : 4L * this.pixels.length);
+  }
+
+  /**
+   * Getter for <code>PixelBuffer.bufferedImage</code>. The image is created on first request and
+   * shares its <code>DataBufferInt</code> with <code>PixelBuffer.pixels</code>, or its
+   * <code>DataBufferByte</code> with <code>PixelBuffer.indices</code> if the buffer is indexed. As
+   * buffers are drawn from render threads as well as the Event Dispatch Thread, the image is
+   * created under the same double-checked lock as <code>PixelBuffer.getPixels</code>, so that
+   * every thread sees the one image.
+   *
+   * @return bufferedImage <code>BufferedImage</code>
+   */
+  protected BufferedImage getBufferedImage() {
+
+    // Declarations
+    BufferedImage image;
+
+    // Definitions
+    image = this.bufferedImage;
+
+    if (image == null) {
+      synchronized (this) {
+        if (this.bufferedImage == null) {
+          this.bufferedImage = this.wrapPixels();
+        }
+
+        image = this.bufferedImage;
+      }
+    }
+
+    return image;
+  }
+
+  // Utility methods
+
+  /**
+   * Returns the RGB value of the pixel at the given coordinates.
+   *
+   * @param x <code>int</code> column
+   * @param y <code>int</code> row
+   * @return rgb <code>int</code>
+   */
+  protected int getRGB(int x, int y) {
+    return (this.isIndexed())
+      ? this.palette.getRGB(this.indices[y * this.width + x] & 0xFF)
+      : this.pixels[y * this.width + x];
+  }
+
+  /**
+   * Sets the RGB value of the pixel at the given coordinates.
+   *
+   * @param x <code>int</code> column
+   * @param y <code>int</code> row
+   * @param rgb <code>int</code>
+   * @return void
+   * @throws IllegalStateException if the buffer is indexed
+   */
+  protected void setRGB(int x, int y, int rgb) {
+    this.checkNotIndexed();
+    this.pixels[y * this.width + x] = rgb;
+  }
+
+  /**
+   * Sets the palette index of the pixel at the given coordinates.
+   *
+   * @param x <code>int</code> column
+   * @param y <code>int</code> row
+   * @param index <code>int</code> from <tt>0</tt> to the palette size less one
+   * @return void
+   */
+  protected void setIndex(int x, int y, int index) {
+    this.indices[y * this.width + x] = (byte) index;
+  }
+
+  /**
+   * Fills the horizontal span <tt>[fromX, toX)</tt> of row <code>y</code> with a single color.
+   * Used by the image methods to paint runs of identical pixels without visiting them one by one.
+   *
+   * @param y <code>int</code> row
+   * @param fromX <code>int</code> first column, inclusive
+   * @param toX <code>int</code> last column, exclusive
+   * @param rgb <code>int</code>
+   * @return void
+   */
+  protected void fillSpan(int y, int fromX, int toX, int rgb) {
+    this.checkNotIndexed();
+
+    if (fromX < toX) {
+      PixelKernels.fill(this.pixels, y * this.width + fromX, y * this.width + toX, rgb);
+    }
+  }
+
+  /**
+   * Fills the horizontal span <tt>[fromX, toX)</tt> of row <code>y</code> of an indexed buffer
+   * with a single palette index.
+   *
+   * @param y <code>int</code> row
+   * @param fromX <code>int</code> first column, inclusive
+   * @param toX <code>int</code> last column, exclusive
+   * @param index <code>int</code>
+   * @return void
+   */
+  protected void fillIndexSpan(int y, int fromX, int toX, int index) {
+    if (fromX < toX) {
+      PixelKernels.fill(this.indices, y * this.width + fromX, y * this.width + toX,
+        (byte) index);
+    }
+  }
+
+  /**
+   * Builds an opaque palette of 8-bit pixels holding the given colors, in order, so that the
+   * index of each color in the palette is its position in the argument list.
+   *
+   * @param colors <code>Color...</code> at most 256 colors
+   * @return palette <code>IndexColorModel</code>
+   */
+  protected static IndexColorModel createPalette(Color... colors) {
+
+    // Declarations
+    int[] rgbs;
+
+    // Definitions
+    if (colors.length == 0 || colors.length > 256) {
+      throw new IllegalArgumentException("Invalid palette size: " + colors.length);
+    }
+
+    rgbs = new int[colors.length];
+
+    for (int index = 0; index < colors.length; index++) {
+      rgbs[index] = colors[index].getRGB();
+    }
+
+    return new IndexColorModel(8, rgbs.length, rgbs, 0, false, -1, DataBuffer.TYPE_BYTE);
+  }
+
+  /**
+   * Ensures that packed RGB values may be written to the buffer.
+   *
+   * @return void
+   * @throws IllegalStateException if the buffer is indexed
+   */
+  private void checkNotIndexed() {
+    if (this.isIndexed()) {
+      throw new IllegalStateException("Buffer is palette-indexed");
+    }
+  }
+
+  /**
+   * This method expands the palette indices of an indexed buffer into packed RGB values by a
+   * lookup per pixel.
+   *
+   * @return expanded <code>int[]</code>
+   */
+  private int[] expandIndices() {
+
+    // Declarations
+    int[] expanded;
+
+    // Definitions
+    expanded = new int[this.indices.length];
+
+    for (int index = 0; index < expanded.length; index++) {
+      expanded[index] = this.colors[this.indices[index] & 0xFF];
+    }
+
+    return expanded;
+  }
+
+  /**
+   * This method builds a <code>TYPE_INT_RGB</code>-compatible <code>BufferedImage</code> directly
+   * on top of the flat pixel array. A packed raster is assembled over a <code>DataBufferInt</code>
+   * wrapping <code>PixelBuffer.pixels</code>, so no pixel data is copied. An indexed buffer is
+   * likewise wrapped as a <code>TYPE_BYTE_INDEXED</code> image over its palette indices.
+   *
+   * @return image <code>BufferedImage</code>
+   */
+  private BufferedImage wrapPixels() {
+
+    // Declarations
+    DirectColorModel colorModel;
+    DataBufferInt dataBuffer;
+    WritableRaster raster;
+
+    // Definitions
+    if (this.isIndexed()) {
+      raster = Raster.createInterleavedRaster(new DataBufferByte(this.indices,
+        this.indices.length), this.width, this.height, this.width, 1, new int[] {0},
+        new Point(0, 0));
+
+      return new BufferedImage(this.palette, raster, false, null);
+    }
+
+    colorModel = new DirectColorModel(24, RED_MASK, GREEN_MASK, BLUE_MASK);
+    dataBuffer = new DataBufferInt(this.pixels, this.pixels.length);
+    raster = Raster.createPackedRaster(dataBuffer, this.width, this.height, this.width,
+      new int[] {RED_MASK, GREEN_MASK, BLUE_MASK}, new Point(0, 0));
+
+    return new BufferedImage(colorModel, raster, false, null);
+  }
+}
@@ -0,0 +1,202 @@
+/**
+ * PixelKernels.java - Runtime selection between scalar and SIMD pixel loops
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+/**
+ * This class serves as the single entry point for the innermost per-pixel loops of the program,
+ * namely solid fills, row copies and bilinear resampling, each of which is implemented twice. The
+ * <code>ScalarKernels</code> implementation uses plain loops, while <code>VectorKernels</code> uses
+ * the incubating <code>jdk.incubator.vector</code> API to process a full SIMD register of pixels
+ * per instruction.
+ * <br />
+ * <br />
+ * The implementation is selected once, on first use. As the vector API is an incubator module, it
+ * is only present if the JVM was started with <tt>--add-modules jdk.incubator.vector</tt>; without
+ * it, or if <tt>-Dgraphicsprojectone.simd=false</tt> is given, the scalar loops are used. The two
+ * implementations must be interchangeable, producing identical output for every input, which
+ * <code>VectorKernelsTest</code> checks at build time rather than on every start.
+ *
+ * @see <a href="https://openjdk.org/jeps/414">JEP 414: Vector API</a>
+ * @author Andrew Eissen
+ */
+final class PixelKernels {
+
+  /** Whether the vector kernels may be used, via <tt>-Dgraphicsprojectone.simd=false</tt> */
+  private static final boolean SIMD =
+    Boolean.parseBoolean(System.getProperty("graphicsprojectone.simd", "true"));
+
+  /** Name of the module providing the vector API */
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  /** Implementation selected on first use */
+  private static final PixelKernels.Kernels KERNELS = PixelKernels.select();
+
+  /**
+   * Private constructor; this class holds only static utility methods.
+   */
+  private PixelKernels() {
+  }
+
+  // Getters
+
+  /**
+   * Returns whether the vector kernels were selected.
+   *
+   * @return vectorized <code>boolean</code>
+   */
+  protected static boolean isVectorized() {
+    return PixelKernels.KERNELS instanceof VectorKernels;
+  }
+
+  // Utility methods
+
+  /**
+   * Fills elements <tt>[from, to)</tt> of a pixel array with a single color.
+   *
+   * @param pixels <code>int[]</code>
+   * @param from <code>int</code> first element, inclusive
+   * @param to <code>int</code> last element, exclusive
+   * @param rgb <code>int</code>
+   * @return void
+   */
+  protected static void fill(int[] pixels, int from, int to, int rgb) {
+    PixelKernels.KERNELS.fill(pixels, from, to, rgb);
+  }
+
+  /**
+   * Fills elements <tt>[from, to)</tt> of a palette index array with a single index.
+   *
+   * @param indices <code>byte[]</code>
+   * @param from <code>int</code> first element, inclusive
+   * @param to <code>int</code> last element, exclusive
+   * @param index <code>byte</code>
+   * @return void
+   */
+  protected static void fill(byte[] indices, int from, int to, byte index) {
+    PixelKernels.KERNELS.fill(indices, from, to, index);
+  }
+
+  /**
+   * Copies a run of pixels from one array to another, as <code>System.arraycopy</code> does.
+   *
+   * @param source <code>int[]</code>
+   * @param sourceOffset <code>int</code>
+   * @param destination <code>int[]</code>
+   * @param destinationOffset <code>int</code>
+   * @param length <code>int</code>
+   * @return void
+   */
+  protected static void copy(int[] source, int sourceOffset, int[] destination,
+      int destinationOffset, int length) {
+    PixelKernels.KERNELS.copy(source, sourceOffset, destination, destinationOffset, length);
+  }
+
+  /**
+   * Samples a run of points from an image by bilinear interpolation, exactly as
+   * <code>AffineRasterizer.sampleBilinear</code> would sample each.
+   *
+   * @param pixels <code>int[]</code> source image
+   * @param width <code>int</code> source width
+   * @param height <code>int</code> source height
+   * @param sourceX <code>double[]</code> x coordinates of the points
+   * @param sourceY <code>double[]</code> y coordinates of the points
+   * @param from <code>int</code> first point, inclusive
+   * @param to <code>int</code> last point, exclusive
+   * @param destination <code>int[]</code>
+   * @param offset <code>int</code> element of <code>destination</code> receiving point 0
+   * @return void
+   */
+  protected static void sampleBilinear(int[] pixels, int width, int height, double[] sourceX,
+      double[] sourceY, int from, int to, int[] destination, int offset) {
+    PixelKernels.KERNELS.sampleBilinear(pixels, width, height, sourceX, sourceY, from, to,
+      destination, offset);
+  }
+
+  /**
+   * This method selects the kernels to use, preferring the vector kernels if the vector API
+   * module is present and they can be loaded.
+   *
+   * @return kernels <code>PixelKernels.Kernels</code>
+   */
+  private static PixelKernels.Kernels select() {
+    if (!PixelKernels.SIMD || ModuleLayer.boot().findModule(PixelKernels.VECTOR_MODULE)
+        .isEmpty()) {
+      return new ScalarKernels();
+    }
+
+    try {
+      return new VectorKernels();
+    } catch (LinkageError | RuntimeException ex) {
+
+      // Module present but unusable on this platform, e.g. with no vector shape of the width used
+      return new ScalarKernels();
+    }
+  }
+
+  // Kernels
+
+  /**
+   * Interface implemented by each set of kernels. Implementations must keep no state shared between
+   * calls, as they are called from every rendering thread at once.
+   *
+   * @author Andrew Eissen
+   */
+  interface Kernels {
+
+    /**
+     * See <code>PixelKernels.fill(int[], int, int, int)</code>
+     *
+     * @param pixels <code>int[]</code>
+     * @param from <code>int</code>
+     * @param to <code>int</code>
+     * @param rgb <code>int</code>
+     * @return void
+     */
+    void fill(int[] pixels, int from, int to, int rgb);
+
+    /**
+     * See <code>PixelKernels.fill(byte[], int, int, byte)</code>
+     *
+     * @param indices <code>byte[]</code>
+     * @param from <code>int</code>
+     * @param to <code>int</code>
+     * @param index <code>byte</code>
+     * @return void
+     */
+    void fill(byte[] indices, int from, int to, byte index);
+
+    /**
+     * See <code>PixelKernels.copy</code>
+     *
+     * @param source <code>int[]</code>
+     * @param sourceOffset <code>int</code>
+     * @param destination <code>int[]</code>
+     * @param destinationOffset <code>int</code>
+     * @param length <code>int</code>
+     * @return void
+     */
+    void copy(int[] source, int sourceOffset, int[] destination, int destinationOffset,
+      int length);
+
+    /**
+     * See <code>PixelKernels.sampleBilinear</code>. Points whose coordinates fall outside the
+     * image leave their destination element untouched.
+     *
+     * @param pixels <code>int[]</code>
+     * @param width <code>int</code>
+     * @param height <code>int</code>
+     * @param sourceX <code>double[]</code>
+     * @param sourceY <code>double[]</code>
+     * @param from <code>int</code>
+     * @param to <code>int</code>
+     * @param destination <code>int[]</code>
+     * @param offset <code>int</code>
+     * @return void
+     */
+    void sampleBilinear(int[] pixels, int width, int height, double[] sourceX, double[] sourceY,
+      int from, int to, int[] destination, int offset);
+  }
+}
@@ -0,0 +1,511 @@
+/**
+ * RawImageFile.java - Memory-mapped file of uncompressed pixels
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads and writes images in a simple raw format, so that an image generated once may
+ * be loaded on later runs rather than generated anew. The file holds a fixed header, followed by
+ * the palette of an indexed image, if any, followed by the pixels themselves, row by row, exactly
+ * as <code>PixelBuffer</code> holds them in memory:
+ * <br />
+ * <br />
+ * <tt>magic, version, width, height, layout, paletteSize, palette[paletteSize], pixels</tt>
+ * <br />
+ * <br />
+ * where every header field and palette entry is a big-endian <code>int</code>, and each pixel is
+ * either a packed RGB <code>int</code> or a single palette index <code>byte</code>, as given by
+ * the layout. As the pixels need no decoding, the file is read through
+ * <code>MappedByteBuffer</code>s, whose pages are only read from disk by the operating system as
+ * they are first touched. Loading an image into a <code>PixelBuffer</code> is thus a bulk copy,
+ * while <code>RawImageFile.fillTile</code> reads only the rows of a single tile, so that an image
+ * drawn as a <code>TiledImage</code> is paged in only where it is visible.
+ * <br />
+ * <br />
+ * As a single mapping may hold no more than <code>Integer.MAX_VALUE</code> bytes, the pixels are
+ * mapped as a series of bands of whole rows, each within that limit, so that no row is ever split
+ * between two mappings and the size of an image is bounded only by its dimensions. Files are
+ * written through a <code>FileChannel</code> to a temporary file beside the target and then moved
+ * into place, so that a reader never sees a partially written image. No mapping of the temporary
+ * file is ever made, as a file still mapped cannot be moved on every platform.
+ *
+ * @see java.nio.MappedByteBuffer
+ * @author Andrew Eissen
+ */
+final class RawImageFile {
+
+  /** Leading <code>int</code> identifying the format, the ASCII characters <tt>GP1R</tt> */
+  private static final int MAGIC = 0x47503152;
+
+  /** Version of the format written by this class */
+  private static final int VERSION = 1;
+
+  /** Layouts of the pixel data, either packed RGB values or 8-bit palette indices */
+  private static final int LAYOUT_RGB = 0;
+  private static final int LAYOUT_INDEXED = 1;
+
+  /** Number of <code>int</code> fields in the header */
+  private static final int HEADER_INTS = 6;
+
+  /** Largest number of bytes mapped by a single band of rows */
+  private static final long MAX_BAND_BYTES = Integer.MAX_VALUE;
+
+  /** Number of packed RGB pixels converted to bytes per write when writing a file */
+  private static final int WRITE_CHUNK_PIXELS = 1 << 16;
+
+  // Private class fields
+  private final int width, height, rowsPerBand;
+  private final IndexColorModel palette;
+  private final MappedByteBuffer[] bands;
+  private final IntBuffer[] bandInts;
+
+  /**
+   * Parameterized constructor, used by <code>RawImageFile.open</code>
+   *
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param palette <code>IndexColorModel</code>, or <code>null</code> if pixels are packed RGB
+   * @param rowsPerBand <code>int</code> number of rows mapped by every band but the last
+   * @param bands <code>MappedByteBuffer[]</code> mapping the pixels, a band of rows apiece
+   */
+  private RawImageFile(int width, int height, IndexColorModel palette, int rowsPerBand,
+      MappedByteBuffer[] bands) {
+    this.width = width;
+    this.height = height;
+    this.palette = palette;
+    this.rowsPerBand = rowsPerBand;
+    this.bands = bands;
+    this.bandInts = new IntBuffer[bands.length];
+
+    for (int band = 0; band < bands.length; band++) {
+      this.bandInts[band] = bands[band].asIntBuffer();
+    }
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>RawImageFile.width</code>
+   *
+   * @return width <code>int</code>
+   */
+  protected int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Getter for <code>RawImageFile.height</code>
+   *
+   * @return height <code>int</code>
+   */
+  protected int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Getter for <code>RawImageFile.palette</code>
+   *
+   * @return palette <code>IndexColorModel</code>, or <code>null</code> if pixels are packed RGB
+   */
+  protected IndexColorModel getPalette() {
+    return this.palette;
+  }
+
+  /**
+   * Returns whether the file holds palette indices rather than packed RGB values.
+   *
+   * @return indexed <code>boolean</code>
+   */
+  protected boolean isIndexed() {
+    return this.palette != null;
+  }
+
+  // Utility methods
+
+  /**
+   * This method maps the given file for reading. Only the header and palette are read here; the
+   * pixels are mapped a band of rows at a time and left to be paged in as they are used.
+   *
+   * @param path <code>Path</code> of the file
+   * @return image <code>RawImageFile</code>
+   * @throws IOException if the file cannot be read or is not a valid raw image
+   */
+  protected static RawImageFile open(Path path) throws IOException {
+
+    // Declarations
+    ByteBuffer header;
+    IndexColorModel palette;
+    MappedByteBuffer[] bands;
+    int width, height, layout, paletteSize, rowsPerBand;
+    int[] rgbs;
+    long offset, rowBytes;
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+      // Definitions
+      header = ByteBuffer.allocate(RawImageFile.HEADER_INTS * Integer.BYTES);
+      RawImageFile.readFully(channel, header, 0L, path);
+
+      if (header.getInt() != RawImageFile.MAGIC || header.getInt() != RawImageFile.VERSION) {
+        throw new IOException("Not a raw image file of version " + RawImageFile.VERSION + ": "
+          + path);
+      }
+
+      width = header.getInt();
+      height = header.getInt();
+      layout = header.getInt();
+      paletteSize = header.getInt();
+
+      if (width <= 0 || height <= 0 || (layout != RawImageFile.LAYOUT_RGB
+          && layout != RawImageFile.LAYOUT_INDEXED)) {
+        throw new IOException("Invalid raw image header: " + path);
+      } else if ((layout == RawImageFile.LAYOUT_RGB) ? paletteSize != 0
+          : paletteSize <= 0 || paletteSize > 256) {
+        throw new IOException("Invalid raw image palette size " + paletteSize + ": " + path);
+      }
+
+      offset = (long) (RawImageFile.HEADER_INTS + paletteSize) * Integer.BYTES;
+      rowBytes = (long) width * ((layout == RawImageFile.LAYOUT_RGB) ? Integer.BYTES : Byte.BYTES);
+
+      if (rowBytes > RawImageFile.MAX_BAND_BYTES) {
+        throw new IOException("Raw image rows too wide to map: " + path);
+      } else if (channel.size() != offset + rowBytes * height) {
+        throw new IOException("Truncated raw image file: " + path);
+      }
+
+      if (layout == RawImageFile.LAYOUT_INDEXED) {
+        header = ByteBuffer.allocate(paletteSize * Integer.BYTES);
+        RawImageFile.readFully(channel, header, RawImageFile.HEADER_INTS * Integer.BYTES, path);
+        rgbs = new int[paletteSize];
+        header.asIntBuffer().get(rgbs);
+        palette = new IndexColorModel(8, paletteSize, rgbs, 0, false, -1, DataBuffer.TYPE_BYTE);
+      } else {
+        palette = null;
+      }
+
+      // The mappings remain valid once the channel is closed
+      rowsPerBand = (int) Math.min(height, RawImageFile.MAX_BAND_BYTES / rowBytes);
+      bands = new MappedByteBuffer[(height + rowsPerBand - 1) / rowsPerBand];
+
+      for (int band = 0; band < bands.length; band++) {
+        bands[band] = channel.map(FileChannel.MapMode.READ_ONLY,
+          offset + (long) band * rowsPerBand * rowBytes,
+          Math.min(rowsPerBand, height - band * rowsPerBand) * rowBytes);
+      }
+    }
+
+    return new RawImageFile(width, height, palette, rowsPerBand, bands);
+  }
+
+  /**
+   * This method writes the given image to the given file in the raw format, replacing any file
+   * already there. Indexed buffers are written as palette indices, and others as packed RGB.
+   *
+   * @param image <code>PixelBuffer</code>
+   * @param path <code>Path</code> of the file
+   * @return void
+   * @throws IOException if the file cannot be written
+   */
+  protected static void write(PixelBuffer image, Path path) throws IOException {
+
+    // Declarations
+    RawImageFile.PixelWriter writer;
+
+    // Definitions
+    writer = (FileChannel channel, long offset) -> {
+      RawImageFile.writeRows(channel, offset, image);
+    };
+
+    RawImageFile.write(image.getWidth(), image.getHeight(), image.getPalette(), path, writer);
+  }
+
+  /**
+   * This method writes the image of the given generator to the given file in the raw format,
+   * replacing any file already there. Rather than generating the whole image first, the image is
+   * streamed by <code>ImageGenerators.stream</code> a band of rows at a time straight into the
+   * file, so that an image far larger than the heap may be written with no more memory
+   * than a single band.
+   *
+   * @param generator <code>ImageGenerator</code>
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param path <code>Path</code> of the file
+   * @return void
+   * @throws IOException if the file cannot be written
+   */
+  protected static void write(ImageGenerator generator, int width, int height, Path path)
+      throws IOException {
+
+    // Declarations
+    RawImageFile.PixelWriter writer;
+
+    // Definitions
+    writer = (FileChannel channel, long offset) -> {
+      ImageGenerators.stream(generator, width, height, true, (PixelBuffer band, int originY) -> {
+        RawImageFile.writeRows(channel, offset + (long) originY * width
+          * (band.isIndexed() ? Byte.BYTES : Integer.BYTES), band);
+      });
+    };
+
+    RawImageFile.write(width, height, generator.createPalette(), path, writer);
+  }
+
+  /**
+   * This method copies the whole image into a new <code>PixelBuffer</code>, indexed by the same
+   * palette if the file holds palette indices. The pixels are copied in bulk, a band at a time,
+   * without any conversion.
+   *
+   * @return image <code>PixelBuffer</code>
+   * @throws IllegalStateException if the image has more pixels than a single array may hold
+   */
+  protected PixelBuffer toPixelBuffer() {
+
+    // Declarations
+    PixelBuffer image;
+    int start;
+
+    // Definitions
+    if ((long) this.width * this.height > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Raw image too large for a single buffer: " + this.width
+        + " x " + this.height);
+    }
+
+    image = new PixelBuffer(this.width, this.height, this.palette);
+
+    for (int band = 0; band < this.bands.length; band++) {
+      start = band * this.rowsPerBand * this.width;
+
+      if (this.isIndexed()) {
+        this.bands[band].get(0, image.getIndices(), start, this.bands[band].capacity());
+      } else {
+        this.bandInts[band].get(0, image.getPixels(), start, this.bandInts[band].capacity());
+      }
+    }
+
+    return image;
+  }
+
+  /**
+   * This method fills a tile of a <code>TiledImage</code> backed by this file, reading only the
+   * part of each row the tile covers. It is thus suited for use as a
+   * <code>TiledImage.TileGenerator</code>, and may be called from several threads at once.
+   *
+   * @param tile <code>PixelBuffer</code> lying within the image
+   * @param originX <code>int</code> column of the image at the left edge of the tile
+   * @param originY <code>int</code> row of the image at the top edge of the tile
+   * @return void
+   */
+  protected void fillTile(PixelBuffer tile, int originX, int originY) {
+
+    // Declarations
+    int[] pixels, rgbs;
+    byte[] row;
+    int tileWidth, band, offset;
+
+    // Definitions; absolute bulk reads leave the shared buffers untouched between threads
+    pixels = tile.getPixels();
+    tileWidth = tile.getWidth();
+    rgbs = null;
+    row = null;
+
+    if (this.isIndexed()) {
+      rgbs = new int[this.palette.getMapSize()];
+      row = new byte[tileWidth];
+      this.palette.getRGBs(rgbs);
+    }
+
+    for (int y = 0; y < tile.getHeight(); y++) {
+      band = (originY + y) / this.rowsPerBand;
+      offset = ((originY + y) % this.rowsPerBand) * this.width + originX;
+
+      if (this.isIndexed()) {
+        this.bands[band].get(offset, row);
+
+        for (int x = 0; x < tileWidth; x++) {
+          pixels[y * tileWidth + x] = rgbs[row[x] & 0xFF];
+        }
+      } else {
+        this.bandInts[band].get(offset, pixels, y * tileWidth, tileWidth);
+      }
+    }
+  }
+
+  /**
+   * This method writes a raw image of the given size and palette to a temporary file beside the
+   * target, writing the header and palette and then handing the channel to the given writer for
+   * the pixels. The channel is closed, and the file forced to disk, before the file is moved into
+   * place.
+   *
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @param palette <code>IndexColorModel</code>, or <code>null</code> if pixels are packed RGB
+   * @param path <code>Path</code> of the file
+   * @param writer <code>RawImageFile.PixelWriter</code> writing the pixels
+   * @return void
+   * @throws IOException if the file cannot be written
+   */
+  private static void write(int width, int height, IndexColorModel palette, Path path,
+      RawImageFile.PixelWriter writer) throws IOException {
+
+    // Declarations
+    ByteBuffer header;
+    Path temporary;
+    int[] rgbs;
+    long rowBytes;
+
+    // Definitions
+    rgbs = new int[(palette != null) ? palette.getMapSize() : 0];
+    rowBytes = (long) width * ((palette != null) ? Byte.BYTES : Integer.BYTES);
+
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid image size: " + width + " x " + height);
+    } else if (rowBytes > RawImageFile.MAX_BAND_BYTES) {
+      throw new IOException("Raw image rows too wide to map: " + path);
+    }
+
+    temporary = Files.createTempFile(path.toAbsolutePath().getParent(),
+      path.getFileName().toString(), ".tmp");
+
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        header = ByteBuffer.allocate((RawImageFile.HEADER_INTS + rgbs.length) * Integer.BYTES);
+
+        if (palette != null) {
+          palette.getRGBs(rgbs);
+        }
+
+        header.putInt(RawImageFile.MAGIC).putInt(RawImageFile.VERSION)
+          .putInt(width).putInt(height)
+          .putInt((palette != null) ? RawImageFile.LAYOUT_INDEXED : RawImageFile.LAYOUT_RGB)
+          .putInt(rgbs.length);
+        header.asIntBuffer().put(rgbs);
+        header.clear();
+
+        RawImageFile.writeFully(channel, header, 0L);
+        writer.write(channel, header.capacity());
+        channel.force(false);
+      }
+
+      Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * This method writes every row of the given buffer into the channel from the given position,
+   * as palette indices if the buffer is indexed and as big-endian packed RGB values otherwise.
+   * The latter are converted to bytes a chunk at a time through a small scratch buffer.
+   *
+   * @param channel <code>FileChannel</code>
+   * @param position <code>long</code> position in the file of the buffer's first pixel
+   * @param rows <code>PixelBuffer</code>
+   * @return void
+   * @throws IOException if the file cannot be written
+   */
+  private static void writeRows(FileChannel channel, long position, PixelBuffer rows)
+      throws IOException {
+
+    // Declarations
+    ByteBuffer chunk;
+    int[] pixels;
+    int count;
+
+    if (rows.isIndexed()) {
+      RawImageFile.writeFully(channel, ByteBuffer.wrap(rows.getIndices()), position);
+      return;
+    }
+
+    // Definitions
+    chunk = ByteBuffer.allocate(RawImageFile.WRITE_CHUNK_PIXELS * Integer.BYTES);
+    pixels = rows.getPixels();
+
+    for (int index = 0; index < pixels.length; index += count) {
+      count = Math.min(RawImageFile.WRITE_CHUNK_PIXELS, pixels.length - index);
+      chunk.clear();
+      chunk.asIntBuffer().put(pixels, index, count);
+      chunk.limit(count * Integer.BYTES);
+      RawImageFile.writeFully(channel, chunk, position + (long) index * Integer.BYTES);
+    }
+  }
+
+  /**
+   * Writes the whole of the buffer to the channel at the given position.
+   *
+   * @param channel <code>FileChannel</code>
+   * @param buffer <code>ByteBuffer</code> positioned at zero
+   * @param position <code>long</code>
+   * @return void
+   * @throws IOException if the file cannot be written
+   */
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+  }
+
+  /**
+   * Reads from the channel at the given position until the buffer is full, then flips it.
+   *
+   * @param channel <code>FileChannel</code>
+   * @param buffer <code>ByteBuffer</code>
+   * @param position <code>long</code>
+   * @param path <code>Path</code> of the file, for error messages
+   * @return void
+   * @throws IOException if the file ends first
+   */
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Path path)
+      throws IOException {
+
+    // Declarations
+    int read;
+
+    while (buffer.hasRemaining()) {
+      read = channel.read(buffer, position + buffer.position());
+
+      if (read < 0) {
+        throw new IOException("Truncated raw image file: " + path);
+      }
+    }
+
+    buffer.flip();
+  }
+
+  // PixelWriter
+
+  /**
+   * Functional interface describing how the pixels of a raw image are written into its file.
+   *
+   * @author Andrew Eissen
+   */
+  @FunctionalInterface
+  interface PixelWriter {
+
+    /**
+     * Writes every pixel of the image into the given channel, using positioned writes.
+     *
+     * @param channel <code>FileChannel</code> of the file being written
+     * @param offset <code>long</code> position in the file of the first pixel
+     * @return void
+     * @throws IOException if the pixels cannot be written
+     */
+    void write(FileChannel channel, long offset) throws IOException;
+  }
+}
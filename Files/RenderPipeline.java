@@ -0,0 +1,223 @@
+/**
+ * RenderPipeline.java - Renders panel frames on worker threads and hands them over to Swing
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * This class moves the rendering of <code>ImagePanel</code> frames off the Event Dispatch Thread.
+ * Originally, every frame was rasterized inside <code>ImagePanel.paintComponent</code>, so that an
+ * expensive frame, as produced by a large image size, stalled the whole user GUI and left the
+ * "Start," "Pause," and "Clear" buttons unresponsive until painting had finished.
+ * <br />
+ * <br />
+ * Each snapshot submitted to the pipeline is instead rendered by a pool of worker threads, one
+ * panel per task, into the back buffer of each panel's <code>SwapChain</code>. Once every panel's
+ * frame is finished, all of the buffers are swapped in a single task on the Event Dispatch Thread,
+ * on which every panel is painted, so that no paint can fall between two swaps and the panels
+ * never show frames from different points in the cycle. The listener is then notified so that the
+ * panels may be repainted. Painting amounts to nothing more than blitting the front buffer.
+ * <br />
+ * <br />
+ * Snapshots are rendered one at a time on a dedicated coordinating thread. Should snapshots arrive
+ * faster than they can be rendered, only the most recent is kept, and any others still waiting
+ * are dropped and counted as coalesced. Panels are also re-rendered at the latest snapshot
+ * whenever they are resized.
+ *
+ * @author Andrew Eissen
+ */
+final class RenderPipeline {
+
+  // Private class fields
+  private final List<ImagePanel> panels;
+  private final Consumer<TransformSnapshot> listener;
+  private final ExecutorService coordinator, workers;
+  private final AtomicReference<TransformSnapshot> pending;
+  private final AtomicBoolean draining;
+  private final AtomicLong framesRendered, snapshotsCoalesced;
+  private volatile TransformSnapshot latest;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param panels <code>List</code> of panels, each of which must have a <code>SwapChain</code>
+   * @param listener <code>Consumer</code> invoked on the pipeline thread once frames are swapped
+   */
+  protected RenderPipeline(List<ImagePanel> panels, Consumer<TransformSnapshot> listener) {
+
+    // Declarations
+    AtomicInteger workerCount;
+
+    // Definitions
+    this.panels = new ArrayList<>(panels);
+    this.listener = listener;
+    this.pending = new AtomicReference<>();
+    this.draining = new AtomicBoolean();
+    this.framesRendered = new AtomicLong();
+    this.snapshotsCoalesced = new AtomicLong();
+    this.latest = TransformSnapshot.IDENTITY;
+    workerCount = new AtomicInteger();
+
+    this.coordinator = Executors.newSingleThreadExecutor((Runnable runnable) -> {
+      Thread thread = new Thread(runnable, "RenderPipeline");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.workers = Executors.newFixedThreadPool(Math.max(1, Math.min(this.panels.size(),
+        Runtime.getRuntime().availableProcessors())), (Runnable runnable) -> {
+      Thread thread = new Thread(runnable, "Renderer-" + workerCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    // Frames are rendered at the panel size, so render them afresh whenever that changes
+    this.panels.forEach((ImagePanel panel) -> {
+      panel.addComponentListener(new ComponentAdapter() {
+        @Override
+        public void componentResized(ComponentEvent e) {
+          RenderPipeline.this.submit(RenderPipeline.this.latest);
+        }
+      });
+    });
+  }
+
+  // Getters
+
+  /**
+   * Returns the number of snapshots whose frames have been rendered and swapped in.
+   *
+   * @return framesRendered <code>long</code>
+   */
+  protected long getFramesRendered() {
+    return this.framesRendered.get();
+  }
+
+  /**
+   * Returns the number of snapshots dropped unrendered in favor of a more recent snapshot.
+   *
+   * @return snapshotsCoalesced <code>long</code>
+   */
+  protected long getSnapshotsCoalesced() {
+    return this.snapshotsCoalesced.get();
+  }
+
+  // Utility methods
+
+  /**
+   * Queues the frames of the given snapshot for rendering, replacing any snapshot still waiting.
+   * Safe to call from any thread, and returns without waiting for rendering to begin.
+   *
+   * @param snapshot <code>TransformSnapshot</code>
+   * @return void
+   */
+  protected void submit(TransformSnapshot snapshot) {
+    this.latest = snapshot;
+
+    if (this.pending.getAndSet(snapshot) != null) {
+      this.snapshotsCoalesced.incrementAndGet();
+    }
+
+    if (this.draining.compareAndSet(false, true)) {
+      this.coordinator.execute(this::drain);
+    }
+  }
+
+  /**
+   * Stops the pipeline. Frames already being rendered are abandoned.
+   *
+   * @return void
+   */
+  protected void shutdown() {
+    this.coordinator.shutdownNow();
+    this.workers.shutdownNow();
+  }
+
+  /**
+   * This method renders pending snapshots on the coordinating thread until none remain. The check
+   * following the release of the <code>draining</code> flag catches any snapshot submitted after
+   * the queue was last found empty but before the flag was released.
+   *
+   * @return void
+   */
+  private void drain() {
+
+    // Declarations
+    TransformSnapshot snapshot;
+
+    do {
+      try {
+        while ((snapshot = this.pending.getAndSet(null)) != null) {
+          this.renderFrames(snapshot);
+        }
+      } finally {
+        this.draining.set(false);
+      }
+    } while (this.pending.get() != null && this.draining.compareAndSet(false, true));
+  }
+
+  /**
+   * This method renders every panel's frame for the given snapshot in parallel, waits for all of
+   * them to finish, then swaps every panel's buffers together on the Event Dispatch Thread before
+   * notifying the listener. The coordinating thread waits for the swap, so that no back buffer is
+   * rendered into again before it has been swapped. Panels that could not render a frame, such as
+   * those not yet laid out, keep their current front buffer.
+   *
+   * @param snapshot <code>TransformSnapshot</code>
+   * @return void
+   */
+  private void renderFrames(TransformSnapshot snapshot) {
+
+    // Declarations
+    List<Callable<Boolean>> tasks;
+    List<Future<Boolean>> results;
+    List<SwapChain> rendered;
+
+    // Definitions
+    tasks = new ArrayList<>();
+    rendered = new ArrayList<>();
+
+    this.panels.forEach((ImagePanel panel) -> {
+      tasks.add(() -> panel.renderNextFrame(snapshot));
+    });
+
+    try {
+      results = this.workers.invokeAll(tasks);
+
+      for (int index = 0; index < results.size(); index++) {
+        if (results.get(index).get()) {
+          rendered.add(this.panels.get(index).getSwapChain());
+        }
+      }
+
+      SwingUtilities.invokeAndWait(() -> rendered.forEach(SwapChain::swap));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Unable to render frame", ex.getCause());
+    } catch (InvocationTargetException ex) {
+      throw new IllegalStateException("Unable to swap frames", ex.getCause());
+    }
+
+    this.framesRendered.incrementAndGet();
+    this.listener.accept(snapshot);
+  }
+}
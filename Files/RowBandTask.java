@@ -0,0 +1,120 @@
+/**
+ * RowBandTask.java - Fork/join task splitting a <code>PixelBuffer</code> into bands of rows
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class is used to fill a <code>PixelBuffer</code> in parallel by recursively halving its
+ * rows into bands until each band is small enough to be filled directly by a single thread. The
+ * actual per-row work is delegated to a <code>RowBandTask.RowFiller</code>, allowing the same task
+ * to serve each of the image methods in <code>Application</code>.
+ * <br />
+ * <br />
+ * As every band writes to a disjoint range of rows in the flat pixel array, no synchronization
+ * between bands is required. Bands are kept above a minimum pixel count so that the overhead of
+ * forking does not outweigh the work done by small images.
+ *
+ * Extends <code>RecursiveAction</code>
+ * @see java.util.concurrent.RecursiveAction
+ * @author Andrew Eissen
+ */
+final class RowBandTask extends RecursiveAction {
+
+  /** Bands at or below this many pixels are filled directly rather than split further */
+  private static final int BAND_THRESHOLD = 1 << 16;
+
+  // Private class fields
+  private final PixelBuffer buffer;
+  private final RowBandTask.RowFiller filler;
+  private final int startRow, endRow;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param buffer <code>PixelBuffer</code> to be filled
+   * @param filler <code>RowBandTask.RowFiller</code> performing the per-row work
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   */
+  protected RowBandTask(PixelBuffer buffer, RowBandTask.RowFiller filler, int startRow,
+      int endRow) {
+    this.buffer = buffer;
+    this.filler = filler;
+    this.startRow = startRow;
+    this.endRow = endRow;
+  }
+
+  // Utility methods
+
+  /**
+   * This method fills every row of the buffer with the given filler. Buffers smaller than a single
+   * band are filled on the calling thread; larger buffers are split into bands across the common
+   * <code>ForkJoinPool</code>.
+   *
+   * @param buffer <code>PixelBuffer</code>
+   * @param filler <code>RowBandTask.RowFiller</code>
+   * @param parallel <code>boolean</code> whether bands may be filled on multiple threads
+   * @return void
+   */
+  protected static void fill(PixelBuffer buffer, RowBandTask.RowFiller filler, boolean parallel) {
+    if (parallel && buffer.getWidth() * (long) buffer.getHeight() > RowBandTask.BAND_THRESHOLD) {
+      ForkJoinPool.commonPool().invoke(new RowBandTask(buffer, filler, 0, buffer.getHeight()));
+    } else {
+      filler.fillRows(buffer, 0, buffer.getHeight());
+    }
+  }
+
+  /**
+   * This method implements the only required method of the <code>RecursiveAction</code> class.
+   * If the band is small enough or only a single row remains, the rows are filled directly;
+   * otherwise the band is split in two and both halves are forked.
+   *
+   * @return void
+   */
+  @Override
+  protected void compute() {
+
+    // Declarations
+    int rows, midRow;
+
+    // Definitions
+    rows = this.endRow - this.startRow;
+
+    if (rows <= 1 || rows * (long) this.buffer.getWidth() <= RowBandTask.BAND_THRESHOLD) {
+      this.filler.fillRows(this.buffer, this.startRow, this.endRow);
+    } else {
+      midRow = this.startRow + rows / 2;
+      RecursiveAction.invokeAll(
+        new RowBandTask(this.buffer, this.filler, this.startRow, midRow),
+        new RowBandTask(this.buffer, this.filler, midRow, this.endRow)
+      );
+    }
+  }
+
+  // RowFiller
+
+  /**
+   * Functional interface describing the work performed on a band of rows. Implementations must
+   * only write to rows within <tt>[startRow, endRow)</tt> so that bands may run concurrently.
+   *
+   * @author Andrew Eissen
+   */
+  @FunctionalInterface
+  interface RowFiller {
+
+    /**
+     * Fills rows <tt>[startRow, endRow)</tt> of the given buffer.
+     *
+     * @param buffer <code>PixelBuffer</code>
+     * @param startRow <code>int</code> first row, inclusive
+     * @param endRow <code>int</code> last row, exclusive
+     * @return void
+     */
+    void fillRows(PixelBuffer buffer, int startRow, int endRow);
+  }
+}
@@ -0,0 +1,321 @@
+/**
+ * RunLengthImage.java - Image stored as runs of a single color along each row
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.Arrays;
+
+/**
+ * This class holds an image as a run-length encoded list of scanlines. The procedural images are
+ * made up almost entirely of long runs of a single color, namely the quarters of the flag, the two
+ * halves of the triangle and the white field of the letter Z, so that each row of any of them is
+ * described by no more than three runs regardless of the image size. An 8192 pixel image that
+ * would occupy 256 MB as packed <code>int</code>s therefore takes a few hundred kilobytes.
+ * <br />
+ * <br />
+ * Each row is stored as a pair of arrays, the first holding the exclusive end column of each run
+ * and the second its color, such that the run at index <tt>i</tt> covers columns
+ * <tt>[ends[i - 1], ends[i])</tt>, the first run starting at column 0 and the last ending at the
+ * image width. <code>AffineRasterizer</code> draws such an image a run at a time, filling whole
+ * spans of the destination, whenever the transform maps rows onto rows; for anything else it
+ * falls back to a decoded <code>PixelBuffer</code>, which is built once and kept.
+ *
+ * @author Andrew Eissen
+ */
+final class RunLengthImage {
+
+  // Private class fields
+  private final int width, height;
+  private final int[][] runEnds, runColors;
+  private volatile PixelBuffer decoded;
+
+  /**
+   * Parameterized constructor. Every row must be given its runs via
+   * <code>RunLengthImage.setRow</code> before the image is drawn.
+   *
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   */
+  protected RunLengthImage(int width, int height) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid image dimensions: " + width + "x" + height);
+    }
+
+    this.width = width;
+    this.height = height;
+    this.runEnds = new int[height][];
+    this.runColors = new int[height][];
+  }
+
+  // Setters
+
+  /**
+   * Sets the runs of the given row. Empty runs, whose end equals that of the run before, are
+   * dropped, allowing generators to describe every row with the same fixed set of runs even where
+   * some of them vanish at the edges of the image. The arrays are kept rather than copied where
+   * no run is dropped.
+   *
+   * @param y <code>int</code> row
+   * @param ends <code>int[]</code> non-decreasing exclusive end columns, the last being the image
+   *     width
+   * @param colors <code>int[]</code> packed RGB color of each run
+   * @return void
+   * @throws IllegalArgumentException if the runs do not exactly cover the row
+   */
+  protected void setRow(int y, int[] ends, int[] colors) {
+
+    // Declarations
+    int count, previous;
+
+    if (ends.length == 0 || ends.length != colors.length || ends[ends.length - 1] != this.width) {
+      throw new IllegalArgumentException("Runs of row " + y + " do not cover the row");
+    }
+
+    // Definitions
+    count = 0;
+    previous = 0;
+
+    for (int end : ends) {
+      if (end < previous) {
+        throw new IllegalArgumentException("Runs of row " + y + " are out of order");
+      } else if (end > previous) {
+        count++;
+      }
+
+      previous = end;
+    }
+
+    if (count < ends.length) {
+      int[] keptEnds = new int[count];
+      int[] keptColors = new int[count];
+
+      count = 0;
+      previous = 0;
+
+      for (int index = 0; index < ends.length; index++) {
+        if (ends[index] > previous) {
+          keptEnds[count] = ends[index];
+          keptColors[count] = colors[index];
+          count++;
+        }
+
+        previous = ends[index];
+      }
+
+      ends = keptEnds;
+      colors = keptColors;
+    }
+
+    this.runEnds[y] = ends;
+    this.runColors[y] = colors;
+    this.decoded = null;
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>RunLengthImage.width</code>
+   *
+   * @return width <code>int</code>
+   */
+  protected int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Getter for <code>RunLengthImage.height</code>
+   *
+   * @return height <code>int</code>
+   */
+  protected int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Returns the exclusive end columns of the runs of the given row, without copying them.
+   *
+   * @param y <code>int</code> row
+   * @return ends <code>int[]</code>
+   */
+  protected int[] getRunEnds(int y) {
+    return this.runEnds[y];
+  }
+
+  /**
+   * Returns the colors of the runs of the given row, without copying them.
+   *
+   * @param y <code>int</code> row
+   * @return colors <code>int[]</code>
+   */
+  protected int[] getRunColors(int y) {
+    return this.runColors[y];
+  }
+
+  /**
+   * Returns the total number of runs in the image.
+   *
+   * @return runCount <code>long</code>
+   */
+  protected long getRunCount() {
+
+    // Declarations
+    long count;
+
+    // Definitions
+    count = 0;
+
+    for (int[] ends : this.runEnds) {
+      count += ends.length;
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns the approximate number of bytes occupied by the runs, at eight bytes per run.
+   *
+   * @return sizeInBytes <code>long</code>
+   */
+  protected long getSizeInBytes() {
+    return 8L * this.getRunCount();
+  }
+
+  /**
+   * Returns the image decoded into a <code>PixelBuffer</code>, decoding it on first request. The
+   * buffer is shared and must not be modified.
+   *
+   * @return decoded <code>PixelBuffer</code>
+   */
+  protected PixelBuffer getDecoded() {
+
+    // Declarations
+    PixelBuffer buffer;
+
+    // Definitions
+    buffer = this.decoded;
+
+    if (buffer == null) {
+      buffer = this.decode();
+      this.decoded = buffer;
+    }
+
+    return buffer;
+  }
+
+  // Utility methods
+
+  /**
+   * Decodes the image into a new <code>PixelBuffer</code>, filling each run as a single span.
+   *
+   * @return buffer <code>PixelBuffer</code>
+   */
+  protected PixelBuffer decode() {
+
+    // Declarations
+    PixelBuffer buffer;
+
+    // Definitions
+    buffer = new PixelBuffer(this.width, this.height);
+
+    RowBandTask.fill(buffer, (PixelBuffer rows, int startRow, int endRow) -> {
+      for (int y = startRow; y < endRow; y++) {
+        RunLengthImage.fillRuns(rows, y, this.runEnds[y], this.runColors[y]);
+      }
+    }, true);
+
+    return buffer;
+  }
+
+  /**
+   * This method fills a tile of a <code>TiledImage</code> backed by this image, clipping the runs
+   * of each row to the columns the tile covers. It is thus suited for use as a
+   * <code>TiledImage.TileGenerator</code>, allowing the procedural images to be drawn as tiles at
+   * sizes whose pixels would never fit in memory at once.
+   *
+   * @param tile <code>PixelBuffer</code> lying within the image
+   * @param originX <code>int</code> column of the image at the left edge of the tile
+   * @param originY <code>int</code> row of the image at the top edge of the tile
+   * @return void
+   */
+  protected void fillTile(PixelBuffer tile, int originX, int originY) {
+
+    // Declarations
+    int[] ends, colors;
+    int runStart, tileEnd;
+
+    // Definitions
+    tileEnd = originX + tile.getWidth();
+
+    for (int y = 0; y < tile.getHeight(); y++) {
+      ends = this.runEnds[originY + y];
+      colors = this.runColors[originY + y];
+      runStart = 0;
+
+      for (int index = 0; index < ends.length && runStart < tileEnd; index++) {
+        if (ends[index] > originX) {
+          tile.fillSpan(y, Math.max(runStart, originX) - originX,
+            Math.min(ends[index], tileEnd) - originX, colors[index]);
+        }
+
+        runStart = ends[index];
+      }
+    }
+  }
+
+  /**
+   * This method encodes any <code>PixelBuffer</code>, merging each stretch of identical pixels
+   * along a row into a single run.
+   *
+   * @param buffer <code>PixelBuffer</code>
+   * @return image <code>RunLengthImage</code>
+   */
+  protected static RunLengthImage encode(PixelBuffer buffer) {
+
+    // Declarations
+    RunLengthImage image;
+    int[] ends, colors;
+    int count, color;
+
+    // Definitions
+    image = new RunLengthImage(buffer.getWidth(), buffer.getHeight());
+    ends = new int[buffer.getWidth()];
+    colors = new int[buffer.getWidth()];
+
+    for (int y = 0; y < buffer.getHeight(); y++) {
+      count = 0;
+
+      for (int x = 0; x < buffer.getWidth(); x++) {
+        color = buffer.getRGB(x, y);
+
+        if (count > 0 && colors[count - 1] == color) {
+          ends[count - 1] = x + 1;
+        } else {
+          ends[count] = x + 1;
+          colors[count] = color;
+          count++;
+        }
+      }
+
+      image.setRow(y, Arrays.copyOf(ends, count), Arrays.copyOf(colors, count));
+    }
+
+    return image;
+  }
+
+  /**
+   * Fills a row of the given buffer with the given runs.
+   *
+   * @param buffer <code>PixelBuffer</code> as wide as the runs
+   * @param y <code>int</code> row
+   * @param ends <code>int[]</code>
+   * @param colors <code>int[]</code>
+   * @return void
+   */
+  private static void fillRuns(PixelBuffer buffer, int y, int[] ends, int[] colors) {
+    for (int index = 0; index < ends.length; index++) {
+      buffer.fillSpan(y, (index == 0) ? 0 : ends[index - 1], ends[index], colors[index]);
+    }
+  }
+}
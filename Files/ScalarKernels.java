@@ -0,0 +1,113 @@
+/**
+ * ScalarKernels.java - Plain loop implementations of the pixel kernels
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.Arrays;
+
+/**
+ * This class implements the pixel kernels of <code>PixelKernels</code> with ordinary loops, and
+ * serves both as the fallback where the vector API is unavailable and as the reference against
+ * which <code>VectorKernels</code> is checked. Fills and copies defer to <code>Arrays.fill</code>
+ * and <code>System.arraycopy</code>, which the JIT compiler already turns into vector code of its
+ * own.
+ *
+ * @author Andrew Eissen
+ */
+final class ScalarKernels implements PixelKernels.Kernels {
+
+  /**
+   * Default constructor
+   */
+  protected ScalarKernels() {
+  }
+
+  // Utility methods
+
+  /**
+   * Fills elements <tt>[from, to)</tt> of a pixel array with a single color.
+   *
+   * @param pixels <code>int[]</code>
+   * @param from <code>int</code> first element, inclusive
+   * @param to <code>int</code> last element, exclusive
+   * @param rgb <code>int</code>
+   * @return void
+   */
+  @Override
+  public void fill(int[] pixels, int from, int to, int rgb) {
+    if (from < to) {
+      Arrays.fill(pixels, from, to, rgb);
+    }
+  }
+
+  /**
+   * Fills elements <tt>[from, to)</tt> of a palette index array with a single index.
+   *
+   * @param indices <code>byte[]</code>
+   * @param from <code>int</code> first element, inclusive
+   * @param to <code>int</code> last element, exclusive
+   * @param index <code>byte</code>
+   * @return void
+   */
+  @Override
+  public void fill(byte[] indices, int from, int to, byte index) {
+    if (from < to) {
+      Arrays.fill(indices, from, to, index);
+    }
+  }
+
+  /**
+   * Copies a run of pixels from one array to another.
+   *
+   * @param source <code>int[]</code>
+   * @param sourceOffset <code>int</code>
+   * @param destination <code>int[]</code>
+   * @param destinationOffset <code>int</code>
+   * @param length <code>int</code>
+   * @return void
+   */
+  @Override
+  public void copy(int[] source, int sourceOffset, int[] destination, int destinationOffset,
+      int length) {
+    System.arraycopy(source, sourceOffset, destination, destinationOffset, length);
+  }
+
+  /**
+   * Samples points <tt>[from, to)</tt> one at a time via
+   * <code>AffineRasterizer.sampleBilinear</code>, skipping those whose containing pixel lies
+   * outside the image.
+   *
+   * @param pixels <code>int[]</code> source image
+   * @param width <code>int</code> source width
+   * @param height <code>int</code> source height
+   * @param sourceX <code>double[]</code> x coordinates of the points
+   * @param sourceY <code>double[]</code> y coordinates of the points
+   * @param from <code>int</code> first point, inclusive
+   * @param to <code>int</code> last point, exclusive
+   * @param destination <code>int[]</code>
+   * @param offset <code>int</code> element of <code>destination</code> receiving point 0
+   * @return void
+   */
+  @Override
+  public void sampleBilinear(int[] pixels, int width, int height, double[] sourceX,
+      double[] sourceY, int from, int to, int[] destination, int offset) {
+
+    // Declarations
+    int u, v;
+
+    for (int index = from; index < to; index++) {
+      u = (int) Math.floor(sourceX[index]);
+      v = (int) Math.floor(sourceY[index]);
+
+      // Same bounds check as the nearest-neighbor lookup, on the pixel containing the point
+      if (u < 0 || v < 0 || u >= width || v >= height) {
+        continue;
+      }
+
+      destination[offset + index] = AffineRasterizer.sampleBilinear(pixels, width, height,
+        sourceX[index], sourceY[index]);
+    }
+  }
+}
@@ -0,0 +1,331 @@
+/**
+ * Simulation.java - Steps the transformation cycle on its own thread
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * This class replaces the <code>javax.swing.Timer</code> that once drove the animation. Originally,
+ * the timer's listener mutated a single shared <code>AffineTransform</code> in place on the Event
+ * Dispatch Thread while every <code>ImagePanel</code> read and concatenated that same object during
+ * painting. The simulation now steps the cycle on a dedicated background thread that alone owns the
+ * simulation clock, and publishes the transform reached by each step as an immutable
+ * <code>TransformSnapshot</code> through an <code>AtomicReference</code>.
+ * <br />
+ * <br />
+ * Steps are taken on a fixed timestep scheduled against <code>System.nanoTime</code> rather than
+ * by the timer, whose timing drifted with the load on the Event Dispatch Thread. Every deadline is
+ * computed from the time the simulation was started, so lateness never accumulates, and should a
+ * step wake after later deadlines have also passed, the clock simply jumps ahead over the missed
+ * steps. Lateness, jitter and missed deadlines are recorded in a
+ * <code>FrameTimingStatistics</code>.
+ * <br />
+ * <br />
+ * Rather than jumping from one frame of the cycle to the next once per period, the simulation may
+ * be given a frame rate, e.g. 60 or 120 Hz, at which to step. The transform is then tweened
+ * between the precompiled <code>TransformScript</code> keyframes by
+ * <code>TransformScript.interpolate</code> for smooth motion, each keyframe still being reached at
+ * the same time as before. At a frame rate of zero, the simulation steps once per period and only
+ * ever publishes keyframes.
+ * <br />
+ * <br />
+ * Painting code reads the latest snapshot without locking and therefore never blocks on, or
+ * observes a half-updated matrix from, the simulation. Each time a keyframe is reached, the
+ * keyframe listener is handed its snapshot, typically to log its message on the Event Dispatch
+ * Thread; after every step, the frame listener is handed the snapshot to be shown. The public
+ * surface mirrors that of the old <code>Timer</code>, namely <code>start</code>, <code>stop</code>
+ * and <code>isRunning</code>, so that the <code>Application</code> button handler may continue to
+ * invoke them by name.
+ *
+ * @see java.util.concurrent.atomic.AtomicReference
+ * @author Andrew Eissen
+ */
+final class Simulation {
+
+  // Private class fields
+  private final TransformScript script;
+  private final int ticksPerKeyframe;
+  private final long tickNanos;
+  private final Consumer<TransformSnapshot> keyframeListener, frameListener;
+  private final AtomicReference<TransformSnapshot> snapshot;
+  private final FrameTimingStatistics statistics;
+  private final ExecutorService executor;
+  private Future<?> steppingTask;
+  private long runsStarted;
+  private volatile LatencyHistogram stepLatency;
+
+  // Simulation state, confined to the simulation thread
+  private long tick;
+  private TransformSnapshot keyframe;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param script <code>TransformScript</code> cycle to be performed
+   * @param periodMillis <code>long</code> delay between keyframes in milliseconds
+   * @param frameRate <code>int</code> steps per second, or <tt>0</tt> for one step per keyframe
+   * @param keyframeListener <code>Consumer</code> invoked with each keyframe reached
+   * @param frameListener <code>Consumer</code> invoked with each newly published snapshot
+   */
+  protected Simulation(TransformScript script, long periodMillis, int frameRate,
+      Consumer<TransformSnapshot> keyframeListener, Consumer<TransformSnapshot> frameListener) {
+    if (periodMillis <= 0 || frameRate < 0) {
+      throw new IllegalArgumentException("Invalid timing: " + periodMillis + " ms, " + frameRate
+        + " Hz");
+    }
+
+    this.script = script;
+    this.ticksPerKeyframe = (frameRate == 0)
+      ? 1
+      : (int) Math.max(1, Math.round(periodMillis * frameRate / 1000.0));
+    this.tickNanos = periodMillis * 1_000_000L / this.ticksPerKeyframe;
+    this.keyframeListener = keyframeListener;
+    this.frameListener = frameListener;
+    this.snapshot = new AtomicReference<>(TransformSnapshot.IDENTITY);
+    this.statistics = new FrameTimingStatistics(this.tickNanos);
+    this.tick = 0;
+    this.keyframe = TransformSnapshot.IDENTITY;
+    this.executor = Executors.newSingleThreadExecutor((Runnable runnable) -> {
+      Thread thread = new Thread(runnable, "Simulation");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  // Setters
+
+  /**
+   * Setter for <code>Simulation.stepLatency</code>, the histogram in which the time taken by each
+   * step, from the lookup of keyframes to the publishing of the snapshot, is recorded.
+   *
+   * @param stepLatency <code>LatencyHistogram</code>
+   * @return void
+   */
+  protected void setStepLatency(LatencyHistogram stepLatency) {
+    this.stepLatency = stepLatency;
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>Simulation.script</code>
+   *
+   * @return script <code>TransformScript</code>
+   */
+  protected TransformScript getScript() {
+    return this.script;
+  }
+
+  /**
+   * Returns the number of ticks taken to step from one keyframe to the next.
+   *
+   * @return ticksPerKeyframe <code>int</code>
+   */
+  protected int getTicksPerKeyframe() {
+    return this.ticksPerKeyframe;
+  }
+
+  /**
+   * Returns the length of a single tick in nanoseconds.
+   *
+   * @return tickNanos <code>long</code>
+   */
+  protected long getTickNanos() {
+    return this.tickNanos;
+  }
+
+  /**
+   * Returns the most recently published snapshot. Safe to call from any thread.
+   *
+   * @return snapshot <code>TransformSnapshot</code>
+   */
+  protected TransformSnapshot getSnapshot() {
+    return this.snapshot.get();
+  }
+
+  /**
+   * Getter for <code>Simulation.statistics</code>
+   *
+   * @return statistics <code>FrameTimingStatistics</code>
+   */
+  protected FrameTimingStatistics getStatistics() {
+    return this.statistics;
+  }
+
+  /**
+   * Getter for <code>Simulation.stepLatency</code>
+   *
+   * @return stepLatency <code>LatencyHistogram</code>, or <code>null</code> if none was set
+   */
+  protected LatencyHistogram getStepLatency() {
+    return this.stepLatency;
+  }
+
+  // Utility methods
+
+  /**
+   * Begins stepping the simulation, with the first step taken after one tick. Has no effect if the
+   * simulation is already running.
+   *
+   * @return void
+   */
+  protected synchronized void start() {
+
+    // Declaration
+    long run;
+
+    if (!this.isRunning()) {
+      run = ++this.runsStarted;
+      this.steppingTask = this.executor.submit(() -> this.run(run));
+    }
+  }
+
+  /**
+   * Stops stepping the simulation. A step already in progress is allowed to complete, and the
+   * simulation resumes from where it left off when next started.
+   *
+   * @return void
+   */
+  protected synchronized void stop() {
+    if (this.isRunning()) {
+      this.steppingTask.cancel(true);
+      this.steppingTask = null;
+    }
+  }
+
+  /**
+   * Returns whether the simulation is currently being stepped.
+   *
+   * @return running <code>boolean</code>
+   */
+  protected synchronized boolean isRunning() {
+    return this.steppingTask != null;
+  }
+
+  /**
+   * This method is the body of the simulation thread while running. It parks until the deadline of
+   * the next tick, measured from the time it was started, then advances the simulation by however
+   * many ticks have come due. Stopping the simulation interrupts the thread, ending the loop, as
+   * does an exception thrown by a step, which is handed to <code>Simulation.fail</code>.
+   *
+   * @param run <code>long</code> number of this run, counted by <code>Simulation.start</code>
+   * @return void
+   */
+  private void run(long run) {
+
+    // Declarations
+    long origin, performed, deadline, now, due, previousTick;
+
+    // Definitions
+    origin = System.nanoTime();
+    performed = 0;
+    previousTick = origin;
+
+    while (!Thread.currentThread().isInterrupted()) {
+      deadline = origin + (performed + 1) * this.tickNanos;
+
+      while ((now = System.nanoTime()) < deadline) {
+        LockSupport.parkNanos(deadline - now);
+
+        if (Thread.currentThread().isInterrupted()) {
+          return;
+        }
+      }
+
+      due = (now - origin) / this.tickNanos;
+      this.statistics.record(now - deadline, (performed == 0) ? -1 : now - previousTick,
+        due - performed - 1);
+      previousTick = now;
+
+      try {
+        this.step(due - performed);
+      } catch (RuntimeException ex) {
+        this.fail(run, ex);
+        return;
+      }
+      performed = due;
+    }
+  }
+
+  /**
+   * This method ends the run of a simulation whose step threw, as otherwise the exception would
+   * vanish into the unread <code>Future</code> of the stepping task while <code>isRunning</code>
+   * went on reporting it as running, leaving the "Start" button unable to restart it. The
+   * exception is reported on the standard error stream and the stepping task is cleared, unless
+   * the simulation was stopped and started again in the meantime, the task then being a later
+   * run's.
+   *
+   * @param run <code>long</code> number of the run that failed
+   * @param ex <code>RuntimeException</code> thrown by a step or one of its listeners
+   * @return void
+   */
+  private synchronized void fail(long run, RuntimeException ex) {
+    System.err.println("Error: " + ex);
+    ex.printStackTrace();
+
+    if (run == this.runsStarted) {
+      this.steppingTask = null;
+    }
+  }
+
+  /**
+   * This method advances the simulation clock by the given number of ticks, as
+   * <code>Application.handleTransformation</code> once advanced the frame counter on the Event
+   * Dispatch Thread. As the cumulative transform of every keyframe was computed when the script
+   * was compiled, each keyframe passed along the way is simply looked up and handed to the keyframe
+   * listener. Should more than a whole cycle have been skipped, only the final cycle's keyframes
+   * are reported. The snapshot to be shown is then either the keyframe just reached or, between
+   * keyframes, the transform tweened towards the next.
+   *
+   * @param ticks <code>long</code> number of ticks to advance by, at least one
+   * @return void
+   */
+  protected void step(long ticks) {
+
+    // Declarations
+    long startNanos, start, end, firstKeyframe;
+    int next;
+    double alpha;
+    TransformSnapshot published;
+
+    // Definitions
+    startNanos = System.nanoTime();
+    start = this.tick;
+    end = start + ticks;
+    firstKeyframe = Math.max(start / this.ticksPerKeyframe + 1,
+      end / this.ticksPerKeyframe - this.script.getLength() + 1);
+
+    // Report each keyframe passed, the nth keyframe being reached at tick n * ticksPerKeyframe
+    for (long count = firstKeyframe; count * this.ticksPerKeyframe <= end; count++) {
+      this.keyframe = this.script.getFrame((int) ((count - 1) % this.script.getLength()));
+      this.keyframeListener.accept(this.keyframe);
+    }
+
+    this.tick = end;
+    alpha = (end % this.ticksPerKeyframe) / (double) this.ticksPerKeyframe;
+
+    if (alpha == 0.0) {
+      published = this.keyframe;
+    } else {
+      next = (int) ((end / this.ticksPerKeyframe) % this.script.getLength());
+      published = new TransformSnapshot(this.script.interpolate(this.keyframe, next, alpha), next,
+        "", false);
+    }
+
+    // Publish the new snapshot, then let the listener know
+    this.snapshot.set(published);
+    this.frameListener.accept(published);
+
+    if (this.getStepLatency() != null) {
+      this.getStepLatency().record(System.nanoTime() - startNanos);
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/**
+ * SizeBoundedCache.java - Least recently used cache bounded by the total size of its values
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class is the cache underlying <code>FrameCache</code>, <code>TileCache</code> and
+ * <code>ImageLoader</code>. It is bounded by the total number of bytes held by its values rather
+ * than by their number, as the rendered frames, tiles and decoded images held by those classes
+ * vary greatly in size, and evicts the least recently used value once the bound is exceeded.
+ * <br />
+ * <br />
+ * The size of each value is measured by the given function once, when it is added, and that same
+ * size is refunded when it is evicted or replaced, so that the running total stays exact even
+ * should a value later change size. Whether a value larger than the whole cache is retained is
+ * left to the owner: a frame cache has no use for one, whereas a tile or image just made is about
+ * to be drawn and ought not to be made again at once. Hit, miss and eviction counts are kept for
+ * diagnostic purposes.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @see java.util.LinkedHashMap
+ * @author Andrew Eissen
+ */
+final class SizeBoundedCache<K, V> {
+
+  // Private class fields
+  private final long maxBytes;
+  private final ToLongFunction<? super V> sizer;
+  private final boolean retainNewest;
+  private final LinkedHashMap<K, SizeBoundedCache.Entry<V>> entries;
+  private final AtomicLong hits, misses, evictions;
+  private long currentBytes;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param maxBytes <code>long</code> maximum total size of the cached values
+   * @param sizer <code>ToLongFunction</code> returning the size of a value in bytes
+   * @param retainNewest <code>boolean</code> whether the value just added is kept even if it
+   *     alone exceeds the bound
+   */
+  protected SizeBoundedCache(long maxBytes, ToLongFunction<? super V> sizer,
+      boolean retainNewest) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("Invalid cache size: " + maxBytes);
+    }
+
+    this.maxBytes = maxBytes;
+    this.sizer = sizer;
+    this.retainNewest = retainNewest;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true); // Access order for LRU iteration
+    this.hits = new AtomicLong();
+    this.misses = new AtomicLong();
+    this.evictions = new AtomicLong();
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>SizeBoundedCache.maxBytes</code>
+   *
+   * @return maxBytes <code>long</code>
+   */
+  protected long getMaxBytes() {
+    return this.maxBytes;
+  }
+
+  /**
+   * Returns the total size in bytes of the values currently cached.
+   *
+   * @return currentBytes <code>long</code>
+   */
+  protected synchronized long getCurrentBytes() {
+    return this.currentBytes;
+  }
+
+  /**
+   * Returns the number of values currently cached.
+   *
+   * @return size <code>int</code>
+   */
+  protected synchronized int getSize() {
+    return this.entries.size();
+  }
+
+  /**
+   * Returns the number of lookups that found a cached value.
+   *
+   * @return hits <code>long</code>
+   */
+  protected long getHits() {
+    return this.hits.get();
+  }
+
+  /**
+   * Returns the number of lookups that found no cached value.
+   *
+   * @return misses <code>long</code>
+   */
+  protected long getMisses() {
+    return this.misses.get();
+  }
+
+  /**
+   * Returns the number of values evicted to keep the cache within its bound.
+   *
+   * @return evictions <code>long</code>
+   */
+  protected long getEvictions() {
+    return this.evictions.get();
+  }
+
+  // Utility methods
+
+  /**
+   * Looks up the value for the given key, marking it as most recently used if present.
+   *
+   * @param key <code>K</code>
+   * @return value <code>V</code>, or <code>null</code> if not cached
+   */
+  protected synchronized V get(K key) {
+
+    // Declarations
+    SizeBoundedCache.Entry<V> entry;
+
+    // Definitions
+    entry = this.entries.get(key);
+
+    if (entry != null) {
+      this.hits.incrementAndGet();
+      return entry.value;
+    } else {
+      this.misses.incrementAndGet();
+      return null;
+    }
+  }
+
+  /**
+   * Adds a value to the cache, replacing any held for the same key, then evicts least recently
+   * used values until the cache is back within its bound. The value just added is evicted last,
+   * and only if the cache was not told to retain it.
+   *
+   * @param key <code>K</code>
+   * @param value <code>V</code>
+   * @return void
+   */
+  protected synchronized void put(K key, V value) {
+
+    // Declarations
+    SizeBoundedCache.Entry<V> entry, previous;
+    Iterator<SizeBoundedCache.Entry<V>> iterator;
+    int retained;
+
+    // Definitions
+    entry = new SizeBoundedCache.Entry<>(value, this.sizer.applyAsLong(value));
+    previous = this.entries.put(key, entry);
+    this.currentBytes += entry.bytes;
+    retained = this.retainNewest ? 1 : 0;
+
+    if (previous != null) {
+      this.currentBytes -= previous.bytes;
+    }
+
+    iterator = this.entries.values().iterator();
+
+    while (this.currentBytes > this.maxBytes && this.entries.size() > retained) {
+      this.currentBytes -= iterator.next().bytes;
+      iterator.remove();
+      this.evictions.incrementAndGet();
+    }
+  }
+
+  /**
+   * Removes every value from the cache. The hit, miss and eviction counts are retained.
+   *
+   * @return void
+   */
+  protected synchronized void clear() {
+    this.entries.clear();
+    this.currentBytes = 0;
+  }
+
+  // Entry
+
+  /**
+   * A cached value together with the size it was charged when added.
+   *
+   * @param <V> value type
+   * @author Andrew Eissen
+   */
+  private static final class Entry<V> {
+
+    // Private class fields
+    private final V value;
+    private final long bytes;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param value <code>V</code>
+     * @param bytes <code>long</code> size charged for the value
+     */
+    private Entry(V value, long bytes) {
+      this.value = value;
+      this.bytes = bytes;
+    }
+  }
+}
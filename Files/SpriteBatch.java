@@ -0,0 +1,489 @@
+/**
+ * SpriteBatch.java - Renderer of many transformed copies of a few shared images in a single pass
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class draws a large number of instances, i.e. copies of a handful of shared source images
+ * each under a transform of its own, into a single destination buffer. Drawing every instance as
+ * an <code>ImagePanel</code> of its own, or even rasterizing each into the destination in turn via
+ * <code>AffineRasterizer.rasterize</code>, would pay the cost of a Swing component or of a pass
+ * over the destination per instance, which soon dominates once there are tens of thousands of
+ * instances only a few pixels across.
+ * <br />
+ * <br />
+ * Instances are instead held in flat arrays, namely the index of the image and the six
+ * coefficients of the inverse transform of each, alongside its bounding rows and columns in the
+ * destination, such that no object is kept per instance. Before each frame, the instances are
+ * sorted into bins of <code>SpriteBatch.BIN_ROWS</code> destination rows by the rows they cover,
+ * in order of index. Destination rows are then split into bands by <code>RowBandTask</code>, each
+ * band clearing its rows to the background and drawing only the instances binned over them, so
+ * that bands may be drawn on several cores at once without any locking. As each row is drawn by a
+ * single band, and within it instances are drawn in order of index, later instances are always
+ * drawn over earlier ones, exactly as if the instances were drawn one after another.
+ * <br />
+ * <br />
+ * Each instance is drawn by inverse mapping as in <code>AffineRasterizer</code>, so that a single
+ * instance is drawn exactly as the general path of that class would draw it. A batch is not safe
+ * for use by several threads at once, and must not be modified while a frame is being rendered.
+ *
+ * @see AffineRasterizer
+ * @author Andrew Eissen
+ */
+final class SpriteBatch {
+
+  /** Number of destination rows covered by each bin into which instances are sorted */
+  private static final int BIN_ROWS = 16;
+
+  /** Default instance count and frame dimensions of the headless entry point */
+  private static final int DEFAULT_INSTANCES = 10000;
+  private static final int DEFAULT_FRAME_WIDTH = 1280;
+  private static final int DEFAULT_FRAME_HEIGHT = 720;
+
+  // Private class fields
+  private final PixelBuffer[] images;
+  private final int[][] imagePixels;
+  private final int[] imageIndices, bounds;
+  private final double[] inverses;
+  private int count;
+  private int[] binStarts, binInstances;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param images <code>List</code> of the images shared by the instances
+   * @param capacity <code>int</code> greatest number of instances
+   */
+  protected SpriteBatch(List<PixelBuffer> images, int capacity) {
+    if (images.isEmpty()) {
+      throw new IllegalArgumentException("No images for sprite batch");
+    } else if (capacity < 0) {
+      throw new IllegalArgumentException("Invalid instance capacity: " + capacity);
+    }
+
+    this.images = images.toArray(new PixelBuffer[0]);
+    this.imagePixels = new int[this.images.length][];
+    this.imageIndices = new int[capacity];
+    this.bounds = new int[4 * capacity];
+    this.inverses = new double[6 * capacity];
+    this.binStarts = new int[1];
+    this.binInstances = new int[0];
+
+    // Indexed images are expanded now rather than by the first band to draw them
+    for (int image = 0; image < this.images.length; image++) {
+      this.imagePixels[image] = this.images[image].getPixels();
+    }
+  }
+
+  // Setters
+
+  /**
+   * Setter for <code>SpriteBatch.count</code>, the number of instances drawn, these being the
+   * instances numbered <tt>[0, count)</tt>.
+   *
+   * @param count <code>int</code>
+   * @return void
+   */
+  protected void setCount(int count) {
+    if (count < 0 || count > this.getCapacity()) {
+      throw new IllegalArgumentException("Invalid instance count: " + count);
+    }
+
+    this.count = count;
+  }
+
+  /**
+   * Sets the image and transform of the given instance. The inverse of the transform and the
+   * bounds of the transformed image are computed here once, rather than for every band drawn. An
+   * instance whose transform cannot be inverted is collapsed to nothing and draws no pixels,
+   * mirroring <code>Graphics2D</code>.
+   *
+   * @param instance <code>int</code> index of the instance
+   * @param image <code>int</code> index of the image in the list given on construction
+   * @param transform <code>AffineTransform</code> from image to destination space, not retained
+   * @return void
+   */
+  protected void setInstance(int instance, int image, AffineTransform transform) {
+
+    // Declarations
+    AffineTransform inverse;
+    double[] matrix, corners;
+    double minX, minY, maxX, maxY;
+    int base;
+
+    if (instance < 0 || instance >= this.getCapacity()) {
+      throw new IllegalArgumentException("Invalid instance: " + instance);
+    } else if (image < 0 || image >= this.images.length) {
+      throw new IllegalArgumentException("Invalid image: " + image);
+    }
+
+    // Definitions
+    this.imageIndices[instance] = image;
+    base = 4 * instance;
+
+    try {
+      inverse = transform.createInverse();
+    } catch (NoninvertibleTransformException ex) {
+      Arrays.fill(this.bounds, base, base + 4, 0);
+      return;
+    }
+
+    matrix = new double[6];
+    inverse.getMatrix(matrix);
+    System.arraycopy(matrix, 0, this.inverses, 6 * instance, 6);
+
+    // Corners of the image, transformed into destination space in place
+    corners = new double[] {
+      0, 0,
+      this.images[image].getWidth(), 0,
+      0, this.images[image].getHeight(),
+      this.images[image].getWidth(), this.images[image].getHeight()
+    };
+    transform.transform(corners, 0, corners, 0, 4);
+    minX = Math.min(Math.min(corners[0], corners[2]), Math.min(corners[4], corners[6]));
+    maxX = Math.max(Math.max(corners[0], corners[2]), Math.max(corners[4], corners[6]));
+    minY = Math.min(Math.min(corners[1], corners[3]), Math.min(corners[5], corners[7]));
+    maxY = Math.max(Math.max(corners[1], corners[3]), Math.max(corners[5], corners[7]));
+
+    // Grown by a pixel on every side to absorb edge rounding, as with ImagePanel bounds
+    this.bounds[base] = (int) Math.floor(minX) - 1;
+    this.bounds[base + 1] = (int) Math.floor(minY) - 1;
+    this.bounds[base + 2] = (int) Math.ceil(maxX) + 1;
+    this.bounds[base + 3] = (int) Math.ceil(maxY) + 1;
+  }
+
+  // Getters
+
+  /**
+   * Returns the greatest number of instances the batch may hold.
+   *
+   * @return capacity <code>int</code>
+   */
+  protected int getCapacity() {
+    return this.imageIndices.length;
+  }
+
+  /**
+   * Getter for <code>SpriteBatch.count</code>
+   *
+   * @return count <code>int</code>
+   */
+  protected int getCount() {
+    return this.count;
+  }
+
+  /**
+   * Returns the number of images shared by the instances.
+   *
+   * @return imageCount <code>int</code>
+   */
+  protected int getImageCount() {
+    return this.images.length;
+  }
+
+  // Utility methods
+
+  /**
+   * This method lays every instance out on a grid filling a destination of the given size, in
+   * rows from the top left, and derives the transform of each from the transformation cycle.
+   * Instance <code>i</code> shows image <tt>i % imageCount</tt> under the cycle transform
+   * <tt>cycle[(frame + i) % cycle.length]</tt>, so that neighboring instances are at successive
+   * steps of the cycle. Each is drawn as an <code>ImagePanel</code> twice as large as the largest
+   * image would show it, via <code>ImagePanel.createViewTransform</code>, scaled down to fit its
+   * cell of the grid. Given a cycle of a single transform, as when following the animation, every
+   * instance is shown under that transform.
+   *
+   * @param cycle <code>AffineTransform[]</code> animation transforms of the cycle
+   * @param frame <code>int</code> step of the cycle shown by instance 0
+   * @param width <code>int</code> width of the destination
+   * @param height <code>int</code> height of the destination
+   * @return void
+   */
+  protected void arrange(AffineTransform[] cycle, int frame, int width, int height) {
+
+    // Declarations
+    AffineTransform[][] views;
+    AffineTransform placement;
+    int columns, rows, span, image;
+    double cellWidth, cellHeight, scale;
+
+    if (this.count == 0) {
+      return;
+    }
+
+    // Definitions
+    columns = (int) Math.max(1, Math.ceil(Math.sqrt(this.count * (double) width / height)));
+    rows = (this.count + columns - 1) / columns;
+    cellWidth = width / (double) columns;
+    cellHeight = height / (double) rows;
+    span = 0;
+
+    for (PixelBuffer source : this.images) {
+      span = Math.max(span, 2 * Math.max(source.getWidth(), source.getHeight()));
+    }
+
+    scale = Math.min(cellWidth, cellHeight) / span;
+    views = new AffineTransform[this.images.length][cycle.length];
+    placement = new AffineTransform();
+
+    for (image = 0; image < this.images.length; image++) {
+      for (int step = 0; step < cycle.length; step++) {
+        views[image][step] = ImagePanel.createViewTransform(span, span,
+          this.images[image].getWidth(), this.images[image].getHeight(), cycle[step]);
+      }
+    }
+
+    for (int instance = 0; instance < this.count; instance++) {
+      image = instance % this.images.length;
+      placement.setToTranslation((instance % columns) * cellWidth,
+        (instance / columns) * cellHeight);
+      placement.scale(scale, scale);
+      placement.concatenate(views[image][Math.floorMod(frame + instance, cycle.length)]);
+      this.setInstance(instance, image, placement);
+    }
+  }
+
+  /**
+   * This method renders every instance into the destination, overwriting every pixel. The
+   * instances are first sorted into bins by row, after which the rows of the destination are
+   * cleared to the background and drawn a band at a time.
+   *
+   * @param destination <code>PixelBuffer</code> packed RGB frame
+   * @param background <code>Color</code>
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @param parallel <code>boolean</code> whether bands may be drawn across cores
+   * @return void
+   */
+  protected void render(PixelBuffer destination, Color background,
+      AffineRasterizer.Sampling sampling, boolean parallel) {
+
+    // Declarations
+    int rgb;
+
+    // Definitions
+    rgb = background.getRGB();
+    this.binInstances(destination.getHeight());
+
+    RowBandTask.fill(destination, (PixelBuffer buffer, int startRow, int endRow) -> {
+      this.drawRows(buffer, rgb, sampling, startRow, endRow);
+    }, parallel);
+  }
+
+  /**
+   * This method sorts the instances into bins of <code>SpriteBatch.BIN_ROWS</code> rows by a
+   * counting sort, each instance being listed in every bin its bounds overlap. Instances lying
+   * wholly outside the destination are left out. As instances are visited in order of index, each
+   * bin lists its instances in that order too.
+   *
+   * @param height <code>int</code> height of the destination
+   * @return void
+   */
+  private void binInstances(int height) {
+
+    // Declarations
+    int bins, top, bottom, base;
+    int[] cursors;
+
+    // Definitions
+    bins = (height + SpriteBatch.BIN_ROWS - 1) / SpriteBatch.BIN_ROWS;
+
+    if (this.binStarts.length != bins + 1) {
+      this.binStarts = new int[bins + 1];
+    } else {
+      Arrays.fill(this.binStarts, 0);
+    }
+
+    // Count the instances of each bin, offset by one for the prefix sums below
+    for (int instance = 0; instance < this.count; instance++) {
+      base = 4 * instance;
+      top = Math.max(0, this.bounds[base + 1]);
+      bottom = Math.min(height, this.bounds[base + 3]);
+
+      for (int bin = top / SpriteBatch.BIN_ROWS; top < bottom
+          && bin <= (bottom - 1) / SpriteBatch.BIN_ROWS; bin++) {
+        this.binStarts[bin + 1]++;
+      }
+    }
+
+    for (int bin = 0; bin < bins; bin++) {
+      this.binStarts[bin + 1] += this.binStarts[bin];
+    }
+
+    if (this.binInstances.length < this.binStarts[bins]) {
+      this.binInstances = new int[this.binStarts[bins]];
+    }
+
+    cursors = Arrays.copyOf(this.binStarts, bins);
+
+    for (int instance = 0; instance < this.count; instance++) {
+      base = 4 * instance;
+      top = Math.max(0, this.bounds[base + 1]);
+      bottom = Math.min(height, this.bounds[base + 3]);
+
+      for (int bin = top / SpriteBatch.BIN_ROWS; top < bottom
+          && bin <= (bottom - 1) / SpriteBatch.BIN_ROWS; bin++) {
+        this.binInstances[cursors[bin]++] = instance;
+      }
+    }
+  }
+
+  /**
+   * This method clears destination rows <tt>[startRow, endRow)</tt> to the background and draws
+   * over them every instance binned over them, bin by bin.
+   *
+   * @param destination <code>PixelBuffer</code>
+   * @param rgb <code>int</code> packed background color
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   * @return void
+   */
+  private void drawRows(PixelBuffer destination, int rgb, AffineRasterizer.Sampling sampling,
+      int startRow, int endRow) {
+
+    // Declarations
+    int[] pixels, span;
+    int width, binTop;
+
+    // Definitions
+    pixels = destination.getPixels();
+    width = destination.getWidth();
+    span = new int[2];
+    Arrays.fill(pixels, startRow * width, endRow * width, rgb);
+
+    for (int bin = startRow / SpriteBatch.BIN_ROWS; bin * SpriteBatch.BIN_ROWS < endRow; bin++) {
+      binTop = bin * SpriteBatch.BIN_ROWS;
+
+      for (int entry = this.binStarts[bin]; entry < this.binStarts[bin + 1]; entry++) {
+        this.drawInstance(this.binInstances[entry], pixels, width, sampling,
+          Math.max(startRow, binTop), Math.min(endRow, binTop + SpriteBatch.BIN_ROWS), span);
+      }
+    }
+  }
+
+  /**
+   * This method draws the part of an instance lying on destination rows
+   * <tt>[startRow, endRow)</tt>, as <code>AffineRasterizer</code> draws an image under a general
+   * transform. The span of columns covered on each row is solved for up front, and the source
+   * coordinates are stepped from column to column.
+   *
+   * @param instance <code>int</code>
+   * @param dstPixels <code>int[]</code>
+   * @param dstWidth <code>int</code>
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @param startRow <code>int</code> first row, inclusive
+   * @param endRow <code>int</code> last row, exclusive
+   * @param span <code>int[]</code> scratch array receiving each row's covered columns
+   * @return void
+   */
+  private void drawInstance(int instance, int[] dstPixels, int dstWidth,
+      AffineRasterizer.Sampling sampling, int startRow, int endRow, int[] span) {
+
+    // Declarations
+    int[] srcPixels;
+    int image, srcWidth, srcHeight, base, rowOffset, u, v;
+    double stepX, stepY, centerY, sourceX, sourceY;
+    boolean bilinear;
+
+    // Definitions
+    image = this.imageIndices[instance];
+    srcPixels = this.imagePixels[image];
+    srcWidth = this.images[image].getWidth();
+    srcHeight = this.images[image].getHeight();
+    base = 6 * instance;
+    stepX = this.inverses[base];
+    stepY = this.inverses[base + 1];
+    bilinear = sampling == AffineRasterizer.Sampling.BILINEAR;
+
+    for (int y = Math.max(startRow, this.bounds[4 * instance + 1]);
+        y < Math.min(endRow, this.bounds[4 * instance + 3]); y++) {
+      centerY = y + 0.5;
+
+      // Source coordinates of the center of column 0 on this row
+      sourceX = this.inverses[base + 2] * centerY + this.inverses[base + 4] + 0.5 * stepX;
+      sourceY = this.inverses[base + 3] * centerY + this.inverses[base + 5] + 0.5 * stepY;
+
+      if (!AffineRasterizer.coveredSpan(sourceX, sourceY, stepX, stepY, srcWidth, srcHeight,
+          dstWidth, span)) {
+        continue;
+      }
+
+      sourceX += span[0] * stepX;
+      sourceY += span[0] * stepY;
+      rowOffset = y * dstWidth;
+
+      for (int x = span[0]; x < span[1]; x++, sourceX += stepX, sourceY += stepY) {
+        u = (int) Math.floor(sourceX);
+        v = (int) Math.floor(sourceY);
+
+        // Guard against rounding at the very edges of the solved span
+        if (u < 0 || v < 0 || u >= srcWidth || v >= srcHeight) {
+          continue;
+        }
+
+        dstPixels[rowOffset + x] = (bilinear)
+          ? AffineRasterizer.sampleBilinear(srcPixels, srcWidth, srcHeight, sourceX, sourceY)
+          : srcPixels[v * srcWidth + u];
+      }
+    }
+  }
+
+  /**
+   * Headless entry point. Generates the three images, lays out the given number of instances of
+   * them over a frame of the given size, each at its own step of the cycle given by
+   * <code>Application.loadTransformScript</code>, and renders every step of the cycle in turn,
+   * reporting the average time taken per frame.
+   *
+   * @param args <code>String[]</code> optional <tt>instances [frameWidth frameHeight
+   *     [imageSize]]</tt>
+   * @return void
+   */
+  public static void main(String[] args) {
+
+    // Declarations
+    int instances, frameWidth, frameHeight, imageSize;
+    AffineTransform[] cycle;
+    AffineRasterizer.Sampling sampling;
+    SpriteBatch batch;
+    PixelBuffer frame;
+    long startTime, elapsedTime;
+
+    // No display is required or wanted
+    System.setProperty("java.awt.headless", "true");
+
+    // Definitions
+    instances = (args.length > 0) ? Integer.parseInt(args[0]) : SpriteBatch.DEFAULT_INSTANCES;
+    frameWidth = (args.length > 2) ? Integer.parseInt(args[1]) : SpriteBatch.DEFAULT_FRAME_WIDTH;
+    frameHeight = (args.length > 2)
+      ? Integer.parseInt(args[2])
+      : SpriteBatch.DEFAULT_FRAME_HEIGHT;
+    imageSize = (args.length > 3) ? Integer.parseInt(args[3]) : 25;
+    cycle = Application.loadTransformScript().toAffineTransforms();
+    sampling = (Application.getSamplingConstant() != null)
+      ? Application.getSamplingConstant()
+      : AffineRasterizer.Sampling.NEAREST;
+    batch = new SpriteBatch(Application.loadImages(imageSize), instances);
+    frame = new PixelBuffer(frameWidth, frameHeight);
+    batch.setCount(instances);
+
+    startTime = System.nanoTime();
+
+    for (int step = 0; step < cycle.length; step++) {
+      batch.arrange(cycle, step, frameWidth, frameHeight);
+      batch.render(frame, Color.WHITE, sampling, true);
+    }
+
+    elapsedTime = System.nanoTime() - startTime;
+
+    System.out.printf("Rendered %d frames of %d instances at %dx%d in %.2f ms per frame%n",
+      cycle.length, instances, frameWidth, frameHeight, elapsedTime / 1e6 / cycle.length);
+  }
+}
@@ -0,0 +1,223 @@
+/**
+ * SpriteCanvas.java - Single panel showing every instance of a sprite batch
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.geom.AffineTransform;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+/**
+ * This class shows every instance of a <code>SpriteBatch</code> in a single panel, taking the
+ * place of the three <code>ImagePanel</code>s when the GUI is to show many copies of the images
+ * at once. However many instances there are, the GUI holds just the one component, painting of
+ * which amounts to blitting the front buffer of its <code>SwapChain</code>.
+ * <br />
+ * <br />
+ * Frames are rendered off the Event Dispatch Thread, on a thread of the canvas's own, the bands of
+ * each frame being drawn across the common <code>ForkJoinPool</code> by
+ * <code>SpriteBatch.render</code>. As with <code>RenderPipeline</code>, should snapshots arrive
+ * faster than frames can be rendered, only the most recent is rendered. Every instance follows the
+ * animation, each being laid out in a cell of its own by <code>SpriteBatch.arrange</code>.
+ *
+ * Extends <code>JPanel</code>
+ * @see javax.swing.JPanel
+ * @author Andrew Eissen
+ */
+final class SpriteCanvas extends JPanel {
+
+  // Private class fields
+  private final SpriteBatch batch;
+  private final SwapChain swapChain;
+  private final ExecutorService renderer;
+  private final AtomicReference<TransformSnapshot> pending;
+  private AffineRasterizer.Sampling sampling;
+  private LatencyHistogram renderLatency;
+  private volatile TransformSnapshot latest;
+  private volatile int renderWidth, renderHeight;
+  private volatile Color renderBackground;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param batch <code>SpriteBatch</code> whose instances are shown, all of which are drawn
+   */
+  protected SpriteCanvas(SpriteBatch batch) {
+    this.batch = batch;
+    this.batch.setCount(batch.getCapacity());
+    this.swapChain = new SwapChain();
+    this.pending = new AtomicReference<>();
+    this.latest = TransformSnapshot.IDENTITY;
+    this.renderer = Executors.newSingleThreadExecutor((Runnable runnable) -> {
+      Thread thread = new Thread(runnable, "SpriteCanvas");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.setSampling(AffineRasterizer.Sampling.NEAREST);
+  }
+
+  // Setters
+
+  /**
+   * Setter for <code>SpriteCanvas.sampling</code>. A <code>null</code> sampling, as when no
+   * software sampling was selected, draws the instances with nearest-neighbor sampling.
+   *
+   * @param sampling <code>AffineRasterizer.Sampling</code>
+   * @return void
+   */
+  protected void setSampling(AffineRasterizer.Sampling sampling) {
+    this.sampling = (sampling != null) ? sampling : AffineRasterizer.Sampling.NEAREST;
+  }
+
+  /**
+   * Setter for <code>SpriteCanvas.renderLatency</code>, the histogram in which the time taken to
+   * render each frame is recorded.
+   *
+   * @param renderLatency <code>LatencyHistogram</code>
+   * @return void
+   */
+  protected void setRenderLatency(LatencyHistogram renderLatency) {
+    this.renderLatency = renderLatency;
+  }
+
+  /**
+   * This method overrides the default implemented in the base <code>Component</code> class, through
+   * which every change to the canvas's size passes. The new size is recorded for the render thread
+   * as in <code>ImagePanel.setBounds</code>, and the latest snapshot is rendered afresh at it.
+   *
+   * @param x <code>int</code>
+   * @param y <code>int</code>
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @return void
+   */
+  @Override
+  public void setBounds(int x, int y, int width, int height) {
+    super.setBounds(x, y, width, height);
+
+    if (width != this.renderWidth || height != this.renderHeight) {
+      this.renderWidth = width;
+      this.renderHeight = height;
+      this.submit(this.latest);
+    }
+  }
+
+  /**
+   * This method overrides the default implemented in the base <code>JComponent</code> class,
+   * recording the new background for the render thread as in
+   * <code>ImagePanel.setBackground</code>.
+   *
+   * @param background <code>Color</code>
+   * @return void
+   */
+  @Override
+  public void setBackground(Color background) {
+    super.setBackground(background);
+    this.renderBackground = background;
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>SpriteCanvas.batch</code>
+   *
+   * @return batch <code>SpriteBatch</code>
+   */
+  protected SpriteBatch getBatch() {
+    return this.batch;
+  }
+
+  /**
+   * Getter for <code>SpriteCanvas.sampling</code>
+   *
+   * @return sampling <code>AffineRasterizer.Sampling</code>
+   */
+  protected AffineRasterizer.Sampling getSampling() {
+    return this.sampling;
+  }
+
+  /**
+   * Getter for <code>SpriteCanvas.renderLatency</code>
+   *
+   * @return renderLatency <code>LatencyHistogram</code>, or <code>null</code> if none was set
+   */
+  protected LatencyHistogram getRenderLatency() {
+    return this.renderLatency;
+  }
+
+  // Utility methods
+
+  /**
+   * Queues a frame of the given snapshot for rendering, replacing any snapshot still waiting. Safe
+   * to call from any thread, and returns without waiting for rendering to begin. A rendering task
+   * is only queued when no snapshot was waiting, as one already queued renders the latest.
+   *
+   * @param snapshot <code>TransformSnapshot</code>
+   * @return void
+   */
+  protected void submit(TransformSnapshot snapshot) {
+    this.latest = snapshot;
+
+    if (this.pending.getAndSet(snapshot) == null) {
+      this.renderer.execute(this::renderPending);
+    }
+  }
+
+  /**
+   * This method overrides the default implemented in the base <code>JPanel</code> Swing class,
+   * blitting the frame most recently rendered, if any.
+   *
+   * @param g <code>Graphics</code>
+   * @return void
+   */
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+    this.swapChain.drawFront(g, this);
+  }
+
+  /**
+   * This method renders the snapshot waiting, if any, into the back buffer of the swap chain on the
+   * render thread, then swaps the buffers and has the canvas repainted on the Event Dispatch
+   * Thread. Only the size and background recorded for the render thread are read, and nothing is
+   * rendered until the canvas has been given a size.
+   *
+   * @return void
+   */
+  private void renderPending() {
+
+    // Declarations
+    TransformSnapshot snapshot;
+    PixelBuffer backBuffer;
+    int width, height;
+    long start;
+
+    // Definitions
+    snapshot = this.pending.getAndSet(null);
+    width = this.renderWidth;
+    height = this.renderHeight;
+
+    if (snapshot == null || width <= 0 || height <= 0) {
+      return;
+    }
+
+    start = System.nanoTime();
+    backBuffer = this.swapChain.getBackBuffer(width, height);
+    this.batch.arrange(new AffineTransform[] {snapshot.toAffineTransform()}, 0, width, height);
+    this.batch.render(backBuffer, this.renderBackground, this.getSampling(), true);
+    this.swapChain.swap();
+
+    if (this.getRenderLatency() != null) {
+      this.getRenderLatency().record(System.nanoTime() - start);
+    }
+
+    SwingUtilities.invokeLater(this::repaint);
+  }
+}
@@ -0,0 +1,184 @@
+/**
+ * StatusLog.java - Bounded status log updated in batches on the Event Dispatch Thread
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+
+/**
+ * This class stands between the user GUI status log and the code writing to it. Originally,
+ * <code>Application.addLogEntry</code> appended each entry to the <code>JTextArea</code> directly,
+ * so that the log grew without limit over a long session and every entry cost a separate update
+ * and relayout of the text area.
+ * <br />
+ * <br />
+ * Entries may now be added from any thread. They are collected in a ring buffer holding at most
+ * as many entries as the log may show, the oldest being overwritten should more arrive before the
+ * log is next updated, and a single update is scheduled on the Event Dispatch Thread for the lot.
+ * However many entries arrive within a frame, the text area is therefore touched once, after which
+ * its oldest lines are trimmed so that it never holds more than the configured number of lines.
+ * <br />
+ * <br />
+ * Entries may also be copied to a file through an <code>AsyncLogWriter</code>, which writes them
+ * on a thread of its own so that logging never waits on the disk.
+ *
+ * @author Andrew Eissen
+ */
+final class StatusLog {
+
+  // Private class fields
+  private final JTextArea textArea;
+  private final int maxLines;
+  private final AsyncLogWriter fileWriter;
+  private final String[] pending;
+  private final AtomicBoolean updateScheduled;
+  private final AtomicLong entriesDropped;
+  private int pendingStart, pendingCount;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param textArea <code>JTextArea</code> in which the log is shown
+   * @param maxLines <code>int</code> greatest number of lines shown
+   * @param fileWriter <code>AsyncLogWriter</code> to which entries are copied, or <code>null</code>
+   */
+  protected StatusLog(JTextArea textArea, int maxLines, AsyncLogWriter fileWriter) {
+    if (maxLines <= 0) {
+      throw new IllegalArgumentException("Invalid line limit: " + maxLines);
+    }
+
+    this.textArea = textArea;
+    this.maxLines = maxLines;
+    this.fileWriter = fileWriter;
+    this.pending = new String[maxLines];
+    this.updateScheduled = new AtomicBoolean();
+    this.entriesDropped = new AtomicLong();
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>StatusLog.maxLines</code>
+   *
+   * @return maxLines <code>int</code>
+   */
+  protected int getMaxLines() {
+    return this.maxLines;
+  }
+
+  /**
+   * Getter for <code>StatusLog.fileWriter</code>
+   *
+   * @return fileWriter <code>AsyncLogWriter</code>, or <code>null</code>
+   */
+  protected AsyncLogWriter getFileWriter() {
+    return this.fileWriter;
+  }
+
+  /**
+   * Returns the number of entries overwritten in the ring buffer before they could be shown.
+   *
+   * @return entriesDropped <code>long</code>
+   */
+  protected long getEntriesDropped() {
+    return this.entriesDropped.get();
+  }
+
+  // Utility methods
+
+  /**
+   * Adds an entry to the log, to be shown on the next update. Safe to call from any thread, and
+   * returns without waiting for the entry to be shown or written to file.
+   *
+   * @param message <code>String</code>
+   * @return void
+   */
+  protected void append(String message) {
+    synchronized (this.pending) {
+      this.pending[(this.pendingStart + this.pendingCount) % this.pending.length] = message;
+
+      if (this.pendingCount < this.pending.length) {
+        this.pendingCount++;
+      } else {
+        this.pendingStart = (this.pendingStart + 1) % this.pending.length;
+        this.entriesDropped.incrementAndGet();
+      }
+    }
+
+    if (this.getFileWriter() != null) {
+      this.getFileWriter().write(message);
+    }
+
+    if (this.updateScheduled.compareAndSet(false, true)) {
+      SwingUtilities.invokeLater(this::update);
+    }
+  }
+
+  /**
+   * Removes every entry from the log, including any not yet shown. Must be called on the Event
+   * Dispatch Thread. Entries already copied to file are unaffected.
+   *
+   * @return void
+   */
+  protected void clear() {
+    synchronized (this.pending) {
+      this.pendingStart = 0;
+      this.pendingCount = 0;
+    }
+
+    this.textArea.setText("");
+  }
+
+  /**
+   * This method shows every entry added since the last update in a single append to the text
+   * area, then trims the oldest lines beyond the limit. It is run on the Event Dispatch Thread.
+   * The scheduling flag is released before the entries are taken, so that an entry added while
+   * the update is underway schedules another rather than going unshown.
+   *
+   * @return void
+   */
+  private void update() {
+
+    // Declarations
+    StringBuilder batch;
+    int excess;
+
+    // Definitions
+    this.updateScheduled.set(false);
+    batch = new StringBuilder();
+
+    synchronized (this.pending) {
+      for (int index = 0; index < this.pendingCount; index++) {
+        batch.append(this.pending[(this.pendingStart + index) % this.pending.length]).append('\n');
+        this.pending[(this.pendingStart + index) % this.pending.length] = null;
+      }
+
+      this.pendingStart = 0;
+      this.pendingCount = 0;
+    }
+
+    if (batch.length() == 0) {
+      return;
+    }
+
+    this.textArea.append(batch.toString());
+
+    // Each entry ends in a newline, leaving an empty final line that is not counted
+    excess = this.textArea.getLineCount() - 1 - this.getMaxLines();
+
+    if (excess > 0) {
+      try {
+        this.textArea.replaceRange("", 0, this.textArea.getLineEndOffset(excess - 1));
+      } catch (BadLocationException ex) {
+        throw new IllegalStateException("Unable to trim status log", ex);
+      }
+    }
+  }
+}
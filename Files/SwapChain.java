@@ -0,0 +1,149 @@
+/**
+ * SwapChain.java - Front and back frame buffers handed between render threads and Swing
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.ImageObserver;
+
+/**
+ * This class holds the pair of frame buffers through which a <code>RenderPipeline</code> hands
+ * finished frames over to an <code>ImagePanel</code>. The next frame is rendered off the Event
+ * Dispatch Thread into the back buffer while the panel continues to paint the front buffer, after
+ * which <code>SwapChain.swap</code> exchanges the two so that the new frame is shown on the next
+ * paint.
+ * <br />
+ * <br />
+ * Painting the front buffer and swapping are performed under the same lock. A swap therefore never
+ * occurs partway through a paint, and once a swap has completed no paint can still be reading the
+ * buffer that has just become the back buffer, so the render thread may safely overwrite it. As
+ * both operations amount to no more than a reference exchange or a single blit, neither side waits
+ * on the other for long.
+ * <br />
+ * <br />
+ * Alongside each buffer is kept the bounding rectangle of the image drawn into it, allowing the
+ * panel to repaint only the region that changed between frames and the render thread to clear only
+ * the region left over from the frame the back buffer last held.
+ *
+ * @author Andrew Eissen
+ */
+final class SwapChain {
+
+  // Private class fields
+  private final Object lock;
+  private PixelBuffer front, back;
+  private Rectangle frontBounds, backBounds;
+
+  /**
+   * Default constructor
+   */
+  protected SwapChain() {
+    this.lock = new Object();
+  }
+
+  // Setters
+
+  /**
+   * Records the bounds of the image just drawn into the back buffer. Must only be called by the
+   * thread rendering the next frame.
+   *
+   * @param backBounds <code>Rectangle</code>, which is not copied
+   * @return void
+   */
+  protected void setBackBounds(Rectangle backBounds) {
+    synchronized (this.lock) {
+      this.backBounds = backBounds;
+    }
+  }
+
+  // Getters
+
+  /**
+   * Returns the back buffer into which the next frame is to be rendered, reallocating it if its
+   * size no longer matches the given dimensions. Must only be called by the thread rendering the
+   * next frame, and never between <code>SwapChain.swap</code> and the completion of that frame.
+   *
+   * @param width <code>int</code>
+   * @param height <code>int</code>
+   * @return back <code>PixelBuffer</code>
+   */
+  protected PixelBuffer getBackBuffer(int width, int height) {
+    synchronized (this.lock) {
+      if (this.back == null || this.back.getWidth() != width || this.back.getHeight() != height) {
+        this.back = new PixelBuffer(width, height);
+        this.backBounds = null;
+      }
+
+      return this.back;
+    }
+  }
+
+  /**
+   * Returns the bounds of the image last drawn into the back buffer, or <code>null</code> if the
+   * buffer has never been drawn into and so must be cleared in full.
+   *
+   * @return backBounds <code>Rectangle</code>
+   */
+  protected Rectangle getBackBounds() {
+    synchronized (this.lock) {
+      return this.backBounds;
+    }
+  }
+
+  /**
+   * Returns the bounds of the image in the front buffer, or <code>null</code> if no frame has been
+   * swapped to the front yet.
+   *
+   * @return frontBounds <code>Rectangle</code>
+   */
+  protected Rectangle getFrontBounds() {
+    synchronized (this.lock) {
+      return this.frontBounds;
+    }
+  }
+
+  // Utility methods
+
+  /**
+   * Publishes the frame just rendered into the back buffer by exchanging the two buffers.
+   *
+   * @return void
+   */
+  protected void swap() {
+
+    // Declarations
+    PixelBuffer previous;
+    Rectangle previousBounds;
+
+    synchronized (this.lock) {
+      previous = this.front;
+      previousBounds = this.frontBounds;
+      this.front = this.back;
+      this.frontBounds = this.backBounds;
+      this.back = previous;
+      this.backBounds = previousBounds;
+    }
+  }
+
+  /**
+   * Draws the front buffer untransformed at the origin of the given graphics context. Has no effect
+   * if no frame has been swapped to the front yet.
+   *
+   * @param g <code>Graphics</code>
+   * @param observer <code>ImageObserver</code>
+   * @return drawn <code>boolean</code> whether a frame was drawn
+   */
+  protected boolean drawFront(Graphics g, ImageObserver observer) {
+    synchronized (this.lock) {
+      if (this.front == null) {
+        return false;
+      }
+
+      g.drawImage(this.front.getBufferedImage(), 0, 0, observer);
+      return true;
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/**
+ * TileCache.java - Size-bounded LRU cache of the tiles of a TiledImage
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+/**
+ * This class holds the tiles of a <code>TiledImage</code> that have been generated or loaded, so
+ * that the tiles under the visible part of an image need only be produced once while it stays in
+ * view. As with <code>FrameCache</code>, the tiles are held in a <code>SizeBoundedCache</code>,
+ * bounded by the total number of bytes held by its tiles and evicting the least recently used tile
+ * once the bound is exceeded, such that the heap needed to draw an image depends on the size of
+ * the view rather than that of the image.
+ * <br />
+ * <br />
+ * Tiles are keyed by their column and row packed into a single <code>long</code>. Hit, miss and
+ * eviction counts are kept for diagnostic purposes.
+ *
+ * @see SizeBoundedCache
+ * @author Andrew Eissen
+ */
+final class TileCache {
+
+  // Private class fields
+  private final SizeBoundedCache<Long, PixelBuffer> tiles;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param maxBytes <code>long</code> maximum total size of the cached tiles
+   */
+  protected TileCache(long maxBytes) {
+    this.tiles = new SizeBoundedCache<>(maxBytes, PixelBuffer::getSizeInBytes, true);
+  }
+
+  // Getters
+
+  /**
+   * Returns the maximum total size in bytes of the cached tiles.
+   *
+   * @return maxBytes <code>long</code>
+   */
+  protected long getMaxBytes() {
+    return this.tiles.getMaxBytes();
+  }
+
+  /**
+   * Returns the total size in bytes of the tiles currently cached.
+   *
+   * @return currentBytes <code>long</code>
+   */
+  protected long getCurrentBytes() {
+    return this.tiles.getCurrentBytes();
+  }
+
+  /**
+   * Returns the number of tiles currently cached.
+   *
+   * @return size <code>int</code>
+   */
+  protected int getSize() {
+    return this.tiles.getSize();
+  }
+
+  /**
+   * Returns the number of lookups that found a cached tile.
+   *
+   * @return hits <code>long</code>
+   */
+  protected long getHits() {
+    return this.tiles.getHits();
+  }
+
+  /**
+   * Returns the number of lookups that found no cached tile.
+   *
+   * @return misses <code>long</code>
+   */
+  protected long getMisses() {
+    return this.tiles.getMisses();
+  }
+
+  /**
+   * Returns the number of tiles evicted to keep the cache within its bound.
+   *
+   * @return evictions <code>long</code>
+   */
+  protected long getEvictions() {
+    return this.tiles.getEvictions();
+  }
+
+  // Utility methods
+
+  /**
+   * Looks up the tile at the given column and row, marking it as most recently used if present.
+   *
+   * @param column <code>int</code>
+   * @param row <code>int</code>
+   * @return tile <code>PixelBuffer</code>, or <code>null</code> if not cached
+   */
+  protected PixelBuffer get(int column, int row) {
+    return this.tiles.get(TileCache.keyOf(column, row));
+  }
+
+  /**
+   * Adds a tile to the cache, then evicts least recently used tiles until the cache is back within
+   * its bound. The tile just added is never evicted, so that it may always be drawn.
+   *
+   * @param column <code>int</code>
+   * @param row <code>int</code>
+   * @param tile <code>PixelBuffer</code>
+   * @return void
+   */
+  protected void put(int column, int row, PixelBuffer tile) {
+    this.tiles.put(TileCache.keyOf(column, row), tile);
+  }
+
+  /**
+   * Removes every tile from the cache. The hit, miss and eviction counts are retained.
+   *
+   * @return void
+   */
+  protected void clear() {
+    this.tiles.clear();
+  }
+
+  /**
+   * Packs a tile column and row into a single key.
+   *
+   * @param column <code>int</code>
+   * @param row <code>int</code>
+   * @return key <code>long</code>
+   */
+  private static long keyOf(int column, int row) {
+    return ((long) row << 32) | (column & 0xFFFFFFFFL);
+  }
+}
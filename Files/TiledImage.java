@@ -0,0 +1,169 @@
+/**
+ * TiledImage.java - Virtual image whose pixels are produced a tile at a time on demand
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+/**
+ * This class describes an image too large to be held in memory at once, such as one of 32768 x
+ * 32768 pixels, whose four gigabytes of packed pixels would exceed any reasonable heap. The image
+ * is instead divided into square tiles, each of which is produced by a
+ * <code>TiledImage.TileGenerator</code> only when some pixel of it is actually drawn, and held in
+ * a <code>TileCache</code> of bounded size until evicted to make room for others.
+ * <br />
+ * <br />
+ * <code>AffineRasterizer</code> draws such an image by mapping each destination pixel back into
+ * the image as it does for a <code>PixelBuffer</code>, fetching the tile under each source point
+ * as it goes. Only those tiles under the visible part of the transformed image are therefore ever
+ * produced. Tile sizes must be powers of two so that the tile holding a pixel is found by shifts
+ * alone.
+ *
+ * @author Andrew Eissen
+ */
+final class TiledImage {
+
+  // Private class fields
+  private final int width, height, tileSize, tileShift;
+  private final TiledImage.TileGenerator generator;
+  private final TileCache tileCache;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param width <code>int</code> width of the whole image in pixels
+   * @param height <code>int</code> height of the whole image in pixels
+   * @param tileSize <code>int</code> width and height of each tile, a power of two
+   * @param generator <code>TiledImage.TileGenerator</code> producing the pixels of each tile
+   * @param tileCache <code>TileCache</code> holding the tiles produced
+   */
+  protected TiledImage(int width, int height, int tileSize, TiledImage.TileGenerator generator,
+      TileCache tileCache) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid image dimensions: " + width + "x" + height);
+    } else if (tileSize <= 0 || Integer.bitCount(tileSize) != 1) {
+      throw new IllegalArgumentException("Tile size must be a power of two: " + tileSize);
+    }
+
+    this.width = width;
+    this.height = height;
+    this.tileSize = tileSize;
+    this.tileShift = Integer.numberOfTrailingZeros(tileSize);
+    this.generator = generator;
+    this.tileCache = tileCache;
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>TiledImage.width</code>
+   *
+   * @return width <code>int</code>
+   */
+  protected int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Getter for <code>TiledImage.height</code>
+   *
+   * @return height <code>int</code>
+   */
+  protected int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Getter for <code>TiledImage.tileSize</code>
+   *
+   * @return tileSize <code>int</code>
+   */
+  protected int getTileSize() {
+    return this.tileSize;
+  }
+
+  /**
+   * Returns <tt>log2(tileSize)</tt>, by which pixel coordinates are shifted to obtain the column
+   * or row of their tile.
+   *
+   * @return tileShift <code>int</code>
+   */
+  protected int getTileShift() {
+    return this.tileShift;
+  }
+
+  /**
+   * Getter for <code>TiledImage.tileCache</code>
+   *
+   * @return tileCache <code>TileCache</code>
+   */
+  protected TileCache getTileCache() {
+    return this.tileCache;
+  }
+
+  /**
+   * Returns the tile at the given column and row, producing it if it is not cached. Tiles along
+   * the right and bottom edges of the image are cut short to fit. If two threads ask for the same
+   * uncached tile at once, both produce it and the latter is kept, which is harmless as tiles are
+   * never modified once produced.
+   *
+   * @param column <code>int</code>
+   * @param row <code>int</code>
+   * @return tile <code>PixelBuffer</code>
+   */
+  protected PixelBuffer getTile(int column, int row) {
+
+    // Declarations
+    PixelBuffer tile;
+    int originX, originY;
+
+    // Definitions
+    tile = this.getTileCache().get(column, row);
+
+    if (tile == null) {
+      originX = column << this.tileShift;
+      originY = row << this.tileShift;
+      tile = new PixelBuffer(Math.min(this.tileSize, this.width - originX),
+        Math.min(this.tileSize, this.height - originY));
+
+      this.generator.generate(tile, originX, originY);
+      this.getTileCache().put(column, row, tile);
+    }
+
+    return tile;
+  }
+
+  /**
+   * Returns the RGB value of the pixel at the given coordinates, producing its tile if needed.
+   *
+   * @param x <code>int</code> column
+   * @param y <code>int</code> row
+   * @return rgb <code>int</code>
+   */
+  protected int getRGB(int x, int y) {
+    return this.getTile(x >> this.tileShift, y >> this.tileShift)
+      .getRGB(x & (this.tileSize - 1), y & (this.tileSize - 1));
+  }
+
+  // TileGenerator
+
+  /**
+   * Functional interface describing how the pixels of a tile are produced, be they generated
+   * procedurally or read from a file. Implementations may be called from several threads at once.
+   *
+   * @author Andrew Eissen
+   */
+  @FunctionalInterface
+  interface TileGenerator {
+
+    /**
+     * Fills the given tile, whose top left pixel lies at the given coordinates of the whole image.
+     *
+     * @param tile <code>PixelBuffer</code> to be filled in full
+     * @param originX <code>int</code>
+     * @param originY <code>int</code>
+     * @return void
+     */
+    void generate(PixelBuffer tile, int originX, int originY);
+  }
+}
@@ -0,0 +1,335 @@
+/**
+ * TransformScript.java - Transformation cycle compiled from a plain text script
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.geom.AffineTransform;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class replaces the pair of <code>switch</code> statements once found in
+ * <code>Application.performTransformation</code> and <code>Application.testTransformation</code>,
+ * along with the maximum frame constants that had to be kept in step with them by hand. The
+ * operations of a cycle are instead read from a small text script, one operation per line:
+ * <br />
+ * <br />
+ * <tt>translate &lt;dx&gt; &lt;dy&gt; | message</tt><br />
+ * <tt>rotate &lt;degrees&gt; | message</tt><br />
+ * <tt>scale &lt;sx&gt; &lt;sy&gt; | message</tt><br />
+ * <tt>shear &lt;shx&gt; &lt;shy&gt; | message</tt><br />
+ * <tt>reset | message</tt>
+ * <br />
+ * <br />
+ * Each operation is concatenated with the transform left by the operation before it, exactly as
+ * the <code>switch</code> cases once modified a single shared <code>AffineTransform</code>, with
+ * positive rotations being counterclockwise. The optional message following the <tt>|</tt> is the
+ * text shown in the user GUI log for that frame, defaulting to the operation itself. As with the
+ * final case of the old methods, whose freshly reset transform was the one read when the panels
+ * were next painted, <tt>reset</tt> returns the transform to the identity on the frame it is
+ * performed on. Blank lines and lines beginning with <tt>#</tt> are ignored.
+ * <br />
+ * <br />
+ * The script is compiled once, on loading, into an array holding the cumulative transform and
+ * message of every frame, so that stepping the cycle is an array lookup no matter how long the
+ * script grows. The number of frames is simply the number of operations. The operations themselves
+ * are also retained so that <code>TransformScript.interpolate</code> may tween smoothly from one
+ * frame to the next by performing a fraction of each.
+ *
+ * @author Andrew Eissen
+ */
+final class TransformScript {
+
+  // Private class fields
+  private final TransformSnapshot[] frames;
+  private final TransformScript.Step[] steps;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param frames <code>TransformSnapshot[]</code> compiled frames of the cycle
+   * @param steps <code>TransformScript.Step[]</code> operation performed to reach each frame
+   */
+  private TransformScript(TransformSnapshot[] frames, TransformScript.Step[] steps) {
+    this.frames = frames;
+    this.steps = steps;
+  }
+
+  // Getters
+
+  /**
+   * Returns the number of frames in the cycle.
+   *
+   * @return length <code>int</code>
+   */
+  protected int getLength() {
+    return this.frames.length;
+  }
+
+  /**
+   * Returns the compiled frame at the given point in the cycle.
+   *
+   * @param frameCounter <code>int</code> from <tt>0</tt> to <tt>getLength() - 1</tt>
+   * @return frame <code>TransformSnapshot</code>
+   */
+  protected TransformSnapshot getFrame(int frameCounter) {
+    return this.frames[frameCounter];
+  }
+
+  // Utility methods
+
+  /**
+   * Returns a new, independent copy of the cumulative transform of every frame in the cycle.
+   *
+   * @return transforms <code>AffineTransform[]</code> indexed by frame
+   */
+  protected AffineTransform[] toAffineTransforms() {
+
+    // Declarations
+    AffineTransform[] transforms;
+
+    // Definitions
+    transforms = new AffineTransform[this.frames.length];
+
+    for (int frame = 0; frame < transforms.length; frame++) {
+      transforms[frame] = this.frames[frame].toAffineTransform();
+    }
+
+    return transforms;
+  }
+
+  /**
+   * This method returns the transform partway through the tween from a previously shown frame
+   * towards the given frame. If the previous frame is the one from which the operation of the
+   * given frame was compiled, the corresponding fraction of that operation is performed, so that
+   * a rotation turns through intermediate angles rather than shrinking as its matrix coefficients
+   * would if blended. Otherwise, as when tweening into a <tt>reset</tt>, which has no fraction to
+   * perform, or when the cycle wraps around after one, the six coefficients are blended linearly
+   * from the previous frame towards the given frame, so that a reset glides back to the identity.
+   *
+   * @param from <code>TransformSnapshot</code> frame shown at the start of the tween
+   * @param frameCounter <code>int</code> frame shown at the end of the tween
+   * @param alpha <code>double</code> progress from <tt>0.0</tt> to <tt>1.0</tt>
+   * @return affineTransform <code>AffineTransform</code>
+   */
+  protected AffineTransform interpolate(TransformSnapshot from, int frameCounter, double alpha) {
+
+    // Declarations
+    TransformScript.Step step;
+    AffineTransform start, affineTransform;
+    double[] startMatrix, endMatrix;
+
+    // Definitions
+    step = this.steps[frameCounter];
+    start = from.toAffineTransform();
+
+    if (start.equals(step.base) && !step.operation.equals("reset")) {
+      affineTransform = new AffineTransform(step.base);
+
+      switch (step.operation) {
+        case "translate":
+          affineTransform.translate(step.x * alpha, step.y * alpha);
+          break;
+        case "rotate":
+          affineTransform.rotate(step.x * alpha * Math.PI / 180.0);
+          break;
+        case "scale":
+          affineTransform.scale(1.0 + (step.x - 1.0) * alpha, 1.0 + (step.y - 1.0) * alpha);
+          break;
+        case "shear":
+          affineTransform.shear(step.x * alpha, step.y * alpha);
+          break;
+        default:
+          break;
+      }
+
+      return affineTransform;
+    }
+
+    startMatrix = new double[6];
+    endMatrix = new double[6];
+    start.getMatrix(startMatrix);
+    this.frames[frameCounter].toAffineTransform().getMatrix(endMatrix);
+
+    for (int index = 0; index < startMatrix.length; index++) {
+      startMatrix[index] += (endMatrix[index] - startMatrix[index]) * alpha;
+    }
+
+    return new AffineTransform(startMatrix);
+  }
+
+  /**
+   * Loads and compiles the script stored alongside this class under the given resource name.
+   *
+   * @param resourceName <code>String</code> e.g. <tt>transformations.txt</tt>
+   * @return script <code>TransformScript</code>
+   * @throws IOException if the resource cannot be read
+   */
+  protected static TransformScript loadResource(String resourceName) throws IOException {
+    try (InputStream stream = TransformScript.class.getResourceAsStream(resourceName)) {
+      if (stream == null) {
+        throw new IOException("No such script resource: " + resourceName);
+      }
+
+      return TransformScript.compile(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * Loads and compiles the script in the given file.
+   *
+   * @param path <code>Path</code>
+   * @return script <code>TransformScript</code>
+   * @throws IOException if the file cannot be read
+   */
+  protected static TransformScript loadFile(Path path) throws IOException {
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      return TransformScript.compile(reader);
+    }
+  }
+
+  /**
+   * This method compiles a script into the cumulative transform of each of its frames. The
+   * operations are applied in order to a single working transform, copying it after each.
+   *
+   * @param reader <code>Reader</code> supplying the script text
+   * @return script <code>TransformScript</code>
+   * @throws IOException if the script cannot be read
+   * @throws IllegalArgumentException if the script is empty or a line is malformed
+   */
+  protected static TransformScript compile(Reader reader) throws IOException {
+
+    // Declarations
+    BufferedReader lines;
+    List<TransformSnapshot> frames;
+    List<TransformScript.Step> steps;
+    AffineTransform affineTransform, base;
+    String line, operation, message;
+    String[] arguments;
+    int separator, lineNumber;
+
+    // Definitions
+    lines = new BufferedReader(reader);
+    frames = new ArrayList<>();
+    steps = new ArrayList<>();
+    affineTransform = new AffineTransform();
+    lineNumber = 0;
+
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+
+      // Split the operation from its log message, if any
+      separator = line.indexOf('|');
+      operation = ((separator < 0) ? line : line.substring(0, separator)).trim();
+      message = (separator < 0) ? operation : line.substring(separator + 1).trim();
+      arguments = operation.split("\\s+");
+
+      base = new AffineTransform(affineTransform);
+
+      try {
+        switch (arguments[0]) {
+          case "translate":
+            TransformScript.checkArguments(arguments, 2);
+            affineTransform.translate(Double.parseDouble(arguments[1]),
+              Double.parseDouble(arguments[2]));
+            break;
+          case "rotate":
+            TransformScript.checkArguments(arguments, 1);
+            affineTransform.rotate(Double.parseDouble(arguments[1]) * Math.PI / 180.0);
+            break;
+          case "scale":
+            TransformScript.checkArguments(arguments, 2);
+            affineTransform.scale(Double.parseDouble(arguments[1]),
+              Double.parseDouble(arguments[2]));
+            break;
+          case "shear":
+            TransformScript.checkArguments(arguments, 2);
+            affineTransform.shear(Double.parseDouble(arguments[1]),
+              Double.parseDouble(arguments[2]));
+            break;
+          case "reset":
+            TransformScript.checkArguments(arguments, 0);
+            affineTransform.setToIdentity();
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown operation \"" + arguments[0] + "\"");
+        }
+      } catch (IllegalArgumentException ex) {
+        throw new IllegalArgumentException("Line " + lineNumber + ": " + ex.getMessage(), ex);
+      }
+
+      frames.add(new TransformSnapshot(affineTransform, frames.size(), message));
+      steps.add(new TransformScript.Step(arguments[0], base,
+        (arguments.length > 1) ? Double.parseDouble(arguments[1]) : 0.0,
+        (arguments.length > 2) ? Double.parseDouble(arguments[2]) : 0.0));
+    }
+
+    if (frames.isEmpty()) {
+      throw new IllegalArgumentException("Script contains no operations");
+    }
+
+    return new TransformScript(frames.toArray(new TransformSnapshot[0]),
+      steps.toArray(new TransformScript.Step[0]));
+  }
+
+  /**
+   * Ensures that an operation was given the number of arguments it requires.
+   *
+   * @param arguments <code>String[]</code> operation name followed by its arguments
+   * @param count <code>int</code> required number of arguments
+   * @return void
+   * @throws IllegalArgumentException if the count does not match
+   */
+  private static void checkArguments(String[] arguments, int count) {
+    if (arguments.length != count + 1) {
+      throw new IllegalArgumentException("\"" + arguments[0] + "\" takes " + count
+        + " argument(s), found " + (arguments.length - 1));
+    }
+  }
+
+  // Step
+
+  /**
+   * Immutable record of a single compiled operation, holding the transform it was performed on
+   * along with its name and arguments.
+   *
+   * @author Andrew Eissen
+   */
+  private static final class Step {
+
+    // Private class fields
+    private final String operation;
+    private final AffineTransform base;
+    private final double x, y;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param operation <code>String</code> e.g. <tt>rotate</tt>
+     * @param base <code>AffineTransform</code> transform before the operation, not copied
+     * @param x <code>double</code> first argument, or <tt>0.0</tt>
+     * @param y <code>double</code> second argument, or <tt>0.0</tt>
+     */
+    private Step(String operation, AffineTransform base, double x, double y) {
+      this.operation = operation;
+      this.base = base;
+      this.x = x;
+      this.y = y;
+    }
+  }
+}
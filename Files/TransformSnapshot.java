@@ -0,0 +1,112 @@
+/**
+ * TransformSnapshot.java - Immutable snapshot of the animation transform
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.geom.AffineTransform;
+
+/**
+ * This class is an immutable copy of the animation transform as it stood after a given frame of the
+ * transformation cycle, along with the frame number and the description of the operation performed.
+ * Snapshots taken partway between two frames of the cycle, as when the animation is tweened, are
+ * not considered keyframes.
+ * Since <code>AffineTransform</code> is itself mutable, the six matrix coefficients are copied on
+ * construction, and every call to <code>TransformSnapshot.toAffineTransform</code> returns a fresh
+ * instance.
+ * <br />
+ * <br />
+ * Snapshots are published by <code>Simulation</code> through an
+ * <code>AtomicReference</code>. As all fields are <code>final</code>, a painting thread that reads
+ * a snapshot is guaranteed to see a complete matrix, never one that is halfway through being
+ * updated by the next step of the simulation.
+ *
+ * @author Andrew Eissen
+ */
+final class TransformSnapshot {
+
+  /** Snapshot published before the first frame of the cycle has been performed */
+  protected static final TransformSnapshot IDENTITY =
+    new TransformSnapshot(new AffineTransform(), -1, "");
+
+  // Private class fields
+  private final double scaleX, shearY, shearX, scaleY, translateX, translateY;
+  private final int frameCounter;
+  private final String message;
+  private final boolean keyframe;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param affineTransform <code>AffineTransform</code> copied on construction
+   * @param frameCounter <code>int</code> frame of the cycle after which the copy was taken
+   * @param message <code>String</code> description of the operation performed
+   */
+  protected TransformSnapshot(AffineTransform affineTransform, int frameCounter, String message) {
+    this(affineTransform, frameCounter, message, true);
+  }
+
+  /**
+   * Parameterized constructor
+   *
+   * @param affineTransform <code>AffineTransform</code> copied on construction
+   * @param frameCounter <code>int</code> frame of the cycle after which the copy was taken, or
+   *     towards which the transform is being tweened
+   * @param message <code>String</code> description of the operation performed
+   * @param keyframe <code>boolean</code> false if taken partway between two frames
+   */
+  protected TransformSnapshot(AffineTransform affineTransform, int frameCounter, String message,
+      boolean keyframe) {
+    this.scaleX = affineTransform.getScaleX();
+    this.shearY = affineTransform.getShearY();
+    this.shearX = affineTransform.getShearX();
+    this.scaleY = affineTransform.getScaleY();
+    this.translateX = affineTransform.getTranslateX();
+    this.translateY = affineTransform.getTranslateY();
+    this.frameCounter = frameCounter;
+    this.message = message;
+    this.keyframe = keyframe;
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>TransformSnapshot.frameCounter</code>
+   *
+   * @return frameCounter <code>int</code>
+   */
+  protected int getFrameCounter() {
+    return this.frameCounter;
+  }
+
+  /**
+   * Getter for <code>TransformSnapshot.message</code>
+   *
+   * @return message <code>String</code>
+   */
+  protected String getMessage() {
+    return this.message;
+  }
+
+  /**
+   * Getter for <code>TransformSnapshot.keyframe</code>
+   *
+   * @return keyframe <code>boolean</code>
+   */
+  protected boolean isKeyframe() {
+    return this.keyframe;
+  }
+
+  // Utility methods
+
+  /**
+   * Returns a new, independent <code>AffineTransform</code> holding the snapshot's matrix.
+   *
+   * @return affineTransform <code>AffineTransform</code>
+   */
+  protected AffineTransform toAffineTransform() {
+    return new AffineTransform(this.scaleX, this.shearY, this.shearX, this.scaleY,
+      this.translateX, this.translateY);
+  }
+}
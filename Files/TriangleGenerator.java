@@ -0,0 +1,84 @@
+/**
+ * TriangleGenerator.java - Image generator of the blue triangle
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.image.IndexColorModel;
+
+/**
+ * This class generates the triangle shown by the center image panel, a blue right triangle filling
+ * the lower right half of a white square. Each row is simply a white span followed by a blue span
+ * whose boundary moves one pixel left per row.
+ * <br />
+ * <br />
+ * This class is public only so that <code>ServiceLoader</code> may instantiate it.
+ *
+ * @author Andrew Eissen
+ */
+public final class TriangleGenerator implements ImageGenerator {
+
+  /** Palette indices of the colors of the triangle */
+  private static final int WHITE = 0;
+  private static final int BLUE = 1;
+
+  /**
+   * Default constructor, required by <code>ServiceLoader</code>
+   */
+  public TriangleGenerator() {
+  }
+
+  // Getters
+
+  /**
+   * Returns the name by which the generator is looked up.
+   *
+   * @return name <code>String</code> <tt>triangle</tt>
+   */
+  @Override
+  public String getName() {
+    return "triangle";
+  }
+
+  // Utility methods
+
+  /**
+   * Returns a palette of white and blue, in that order.
+   *
+   * @return palette <code>IndexColorModel</code>
+   */
+  @Override
+  public IndexColorModel createPalette() {
+    return PixelBuffer.createPalette(Color.WHITE, Color.BLUE);
+  }
+
+  /**
+   * Fills the given rows of the triangle.
+   *
+   * @param destination <code>PixelBuffer</code>
+   * @param startRow <code>int</code> first row of the destination, inclusive
+   * @param endRow <code>int</code> last row of the destination, exclusive
+   * @param originY <code>int</code> row of the image held by row 0 of the destination
+   * @param imageHeight <code>int</code> height of the whole image
+   * @return void
+   */
+  @Override
+  public void fillRows(PixelBuffer destination, int startRow, int endRow, int originY,
+      int imageHeight) {
+
+    // Declarations
+    int width, boundary;
+
+    // Definitions
+    width = destination.getWidth();
+
+    for (int y = startRow; y < endRow; y++) {
+      boundary = Math.max(0, width - (originY + y) - 1);
+
+      destination.fillIndexSpan(y, 0, boundary, TriangleGenerator.WHITE);
+      destination.fillIndexSpan(y, boundary, width, TriangleGenerator.BLUE);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/**
+ * VectorImage.java - Resolution-independent image made up of filled shapes
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class holds an image as an ordered list of filled shapes rather than as pixels. The flag,
+ * triangle and letter Z are simple geometry, and so rather than rasterize them at a fixed size and
+ * then resample the pixels under every transform, which turns each pixel into a visible block once
+ * the image is scaled up, their outlines are kept as <code>Path2D</code> objects and filled
+ * directly under the current transform. The result is sharp at any size and transform, and no
+ * bitmap need be generated or stored at all.
+ * <br />
+ * <br />
+ * Shapes are given in the same coordinate space as the pixels of the equivalent
+ * <code>PixelBuffer</code>, spanning <tt>[0, width] x [0, height]</tt> with y increasing
+ * downwards, so that the view transform built by <code>ImagePanel.createViewTransform</code> may
+ * be used for either. They are filled in the order added, later shapes painting over earlier ones.
+ *
+ * @author Andrew Eissen
+ */
+final class VectorImage {
+
+  // Private class fields
+  private final int width, height;
+  private final List<Shape> shapes;
+  private final List<Color> colors;
+
+  /**
+   * Parameterized constructor
+   *
+   * @param width <code>int</code> nominal width of the image in pixels
+   * @param height <code>int</code> nominal height of the image in pixels
+   */
+  protected VectorImage(int width, int height) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid image dimensions: " + width + "x" + height);
+    }
+
+    this.width = width;
+    this.height = height;
+    this.shapes = new ArrayList<>();
+    this.colors = new ArrayList<>();
+  }
+
+  // Getters
+
+  /**
+   * Getter for <code>VectorImage.width</code>
+   *
+   * @return width <code>int</code>
+   */
+  protected int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Getter for <code>VectorImage.height</code>
+   *
+   * @return height <code>int</code>
+   */
+  protected int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Returns the number of shapes making up the image.
+   *
+   * @return shapeCount <code>int</code>
+   */
+  protected int getShapeCount() {
+    return this.shapes.size();
+  }
+
+  // Utility methods
+
+  /**
+   * Adds a shape, to be filled with the given color over any shapes added before it.
+   *
+   * @param shape <code>Shape</code> in image coordinates
+   * @param color <code>Color</code>
+   * @return void
+   */
+  protected void addShape(Shape shape, Color color) {
+    this.shapes.add(shape);
+    this.colors.add(color);
+  }
+
+  /**
+   * Adds a closed polygon through the given vertices, given as alternating x and y coordinates.
+   *
+   * @param color <code>Color</code>
+   * @param coordinates <code>double[]</code>
+   * @return void
+   */
+  protected void addPolygon(Color color, double... coordinates) {
+
+    // Declarations
+    Path2D.Double path;
+
+    if (coordinates.length < 6 || coordinates.length % 2 != 0) {
+      throw new IllegalArgumentException("Invalid polygon coordinates");
+    }
+
+    // Definitions
+    path = new Path2D.Double();
+    path.moveTo(coordinates[0], coordinates[1]);
+
+    for (int index = 2; index < coordinates.length; index += 2) {
+      path.lineTo(coordinates[index], coordinates[index + 1]);
+    }
+
+    path.closePath();
+    this.addShape(path, color);
+  }
+
+  /**
+   * This method fills every shape of the image under the given view transform. The transform of
+   * the <code>Graphics2D</code> passed is restored before returning.
+   *
+   * @param g2 <code>Graphics2D</code>
+   * @param viewTransform <code>AffineTransform</code> from image to device coordinates
+   * @return void
+   */
+  protected void draw(Graphics2D g2, AffineTransform viewTransform) {
+
+    // Declarations
+    AffineTransform savedTransform;
+
+    // Definitions
+    savedTransform = g2.getTransform();
+
+    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    g2.transform(viewTransform);
+
+    for (int index = 0; index < this.shapes.size(); index++) {
+      g2.setColor(this.colors.get(index));
+      g2.fill(this.shapes.get(index));
+    }
+
+    g2.setTransform(savedTransform);
+  }
+}
@@ -0,0 +1,217 @@
+/**
+ * VectorKernelsTest.java - Checks the SIMD pixel kernels against the scalar kernels
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that <code>VectorKernels</code> and <code>ScalarKernels</code> are
+ * interchangeable, as <code>PixelKernels</code> assumes when selecting between them. Each kernel
+ * is run by both implementations over identical, randomly filled inputs, covering runs shorter
+ * than a vector, unaligned offsets and the scalar tail left after the last full vector, and the
+ * outputs are required to match element for element.
+ * <br />
+ * <br />
+ * The vector API module must be present, which the surefire configuration of the application
+ * module ensures via <tt>--add-modules jdk.incubator.vector</tt>.
+ *
+ * @author Andrew Eissen
+ */
+final class VectorKernelsTest {
+
+  /** Length of the arrays filled, copied and sampled into */
+  private static final int LENGTH = 1200;
+
+  // Private class fields
+  private ScalarKernels scalar;
+  private VectorKernels vector;
+  private Random random;
+
+  /**
+   * Creates both sets of kernels and a seeded random source before each test.
+   *
+   * @return void
+   */
+  @BeforeEach
+  void setUp() {
+    this.scalar = new ScalarKernels();
+    this.vector = new VectorKernels();
+    this.random = new Random(1);
+  }
+
+  /**
+   * Fills of <code>int</code> pixels, from empty runs to runs many vectors long, at every offset
+   * within a vector.
+   *
+   * @return void
+   */
+  @Test
+  void fillsPixelsAsScalar() {
+
+    // Declarations
+    int[] expected, actual;
+
+    for (int from = 0; from < 20; from++) {
+      for (int length : new int[] {0, 1, 3, 7, 8, 15, 16, 17, 64, 255, 1000}) {
+        expected = this.random.ints(VectorKernelsTest.LENGTH).toArray();
+        actual = expected.clone();
+
+        this.scalar.fill(expected, from, from + length, 0xFF336699);
+        this.vector.fill(actual, from, from + length, 0xFF336699);
+        assertArrayEquals(expected, actual, "from " + from + ", length " + length);
+      }
+    }
+  }
+
+  /**
+   * Fills of <code>byte</code> palette indices, whose vectors hold four times as many lanes.
+   *
+   * @return void
+   */
+  @Test
+  void fillsIndicesAsScalar() {
+
+    // Declarations
+    byte[] expected, actual;
+
+    for (int from = 0; from < 70; from++) {
+      for (int length : new int[] {0, 1, 31, 32, 33, 63, 64, 65, 500, 1000}) {
+        expected = new byte[VectorKernelsTest.LENGTH + 100];
+        this.random.nextBytes(expected);
+        actual = expected.clone();
+
+        this.scalar.fill(expected, from, from + length, (byte) 0xA5);
+        this.vector.fill(actual, from, from + length, (byte) 0xA5);
+        assertArrayEquals(expected, actual, "from " + from + ", length " + length);
+      }
+    }
+  }
+
+  /**
+   * Copies between distinct arrays, both below <code>VectorKernels.COPY_THRESHOLD</code>, where
+   * the vector loop is used, and at or above it, where <code>System.arraycopy</code> is.
+   *
+   * @return void
+   */
+  @Test
+  void copiesAsScalar() {
+
+    // Declarations
+    int[] source, expected, actual;
+    int sourceOffset, destinationOffset;
+
+    source = this.random.ints(VectorKernelsTest.LENGTH).toArray();
+
+    for (int length : new int[] {0, 1, 5, 8, 13, 16, 100,
+        VectorKernels.COPY_THRESHOLD - 1, VectorKernels.COPY_THRESHOLD,
+        VectorKernels.COPY_THRESHOLD + 1, 1000}) {
+      for (int trial = 0; trial < 20; trial++) {
+        sourceOffset = this.random.nextInt(VectorKernelsTest.LENGTH - length + 1);
+        destinationOffset = this.random.nextInt(VectorKernelsTest.LENGTH - length + 1);
+        expected = this.random.ints(VectorKernelsTest.LENGTH).toArray();
+        actual = expected.clone();
+
+        this.scalar.copy(source, sourceOffset, expected, destinationOffset, length);
+        this.vector.copy(source, sourceOffset, actual, destinationOffset, length);
+        assertArrayEquals(expected, actual, "length " + length + ", trial " + trial);
+      }
+    }
+  }
+
+  /**
+   * Copies within a single array whose source and destination runs overlap, in either direction,
+   * which must behave as <code>System.arraycopy</code> does, as if through a temporary copy.
+   *
+   * @return void
+   */
+  @Test
+  void copiesOverlappingRunsAsScalar() {
+
+    // Declarations
+    int[] expected, actual;
+
+    for (int length : new int[] {1, 9, 16, 100, VectorKernels.COPY_THRESHOLD - 1,
+        VectorKernels.COPY_THRESHOLD, 600}) {
+      for (int shift : new int[] {-17, -8, -1, 0, 1, 3, 8, 17}) {
+        expected = this.random.ints(VectorKernelsTest.LENGTH).toArray();
+        actual = expected.clone();
+
+        this.scalar.copy(expected, 100, expected, 100 + shift, length);
+        this.vector.copy(actual, 100, actual, 100 + shift, length);
+        assertArrayEquals(expected, actual, "length " + length + ", shift " + shift);
+      }
+    }
+  }
+
+  /**
+   * Bilinear sampling of points well inside the image, on and just within its edges, and beyond
+   * every edge, over runs that begin at every offset within a vector and end partway through one,
+   * so that both the vector lanes and the scalar tail are exercised.
+   *
+   * @return void
+   */
+  @Test
+  void samplesBilinearAsScalar() {
+
+    // Declarations
+    int[] image, expected, actual;
+    double[] sourceX, sourceY, edgesX, edgesY;
+    int width, height;
+
+    for (int trial = 0; trial < 50; trial++) {
+      width = 1 + this.random.nextInt(40);
+      height = 1 + this.random.nextInt(40);
+      image = this.random.ints(width * height).toArray();
+      sourceX = new double[VectorKernelsTest.LENGTH];
+      sourceY = new double[VectorKernelsTest.LENGTH];
+      edgesX = VectorKernelsTest.edgesOf(width);
+      edgesY = VectorKernelsTest.edgesOf(height);
+
+      for (int index = 0; index < sourceX.length; index++) {
+        if (index % 3 == 0) {
+
+          // On, just inside or just beyond an edge of the image
+          sourceX[index] = edgesX[this.random.nextInt(edgesX.length)];
+          sourceY[index] = edgesY[this.random.nextInt(edgesY.length)];
+        } else {
+
+          // Anywhere within two pixels of the image
+          sourceX[index] = this.random.nextDouble() * (width + 4) - 2;
+          sourceY[index] = this.random.nextDouble() * (height + 4) - 2;
+        }
+      }
+
+      for (int from = 0; from < 20; from++) {
+        for (int length : new int[] {0, 1, 7, 8, 9, 31, 100, 501}) {
+          expected = this.random.ints(VectorKernelsTest.LENGTH + 50).toArray();
+          actual = expected.clone();
+
+          this.scalar.sampleBilinear(image, width, height, sourceX, sourceY, from,
+            from + length, expected, 50);
+          this.vector.sampleBilinear(image, width, height, sourceX, sourceY, from,
+            from + length, actual, 50);
+          assertArrayEquals(expected, actual, "trial " + trial + ", from " + from
+            + ", length " + length);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns coordinates on, just within and just beyond both edges of an axis of the given size.
+   *
+   * @param size <code>int</code> width or height of the image
+   * @return edges <code>double[]</code>
+   */
+  private static double[] edgesOf(int size) {
+    return new double[] {-2.0, -0.5, -1e-9, 0.0, 0.5, 1.0, size - 1.0, size - 0.5, size - 1e-9,
+      size, size + 0.5};
+  }
+}
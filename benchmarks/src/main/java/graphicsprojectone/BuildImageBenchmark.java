@@ -0,0 +1,89 @@
+/**
+ * BuildImageBenchmark.java - JMH benchmarks for attaching image data to a BufferedImage
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures <code>ImagePanel.buildImage</code>, the step that makes an image method's
+ * pixel data available to the panel as a <code>BufferedImage</code>. A second benchmark repeats the
+ * original approach of copying every pixel into a <code>TYPE_INT_RGB</code> image via
+ * <code>setRGB</code>, serving as a baseline against which the flat buffer may be compared.
+ *
+ * @see <a href="https://github.com/openjdk/jmh">OpenJDK JMH</a>
+ * @author Andrew Eissen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class BuildImageBenchmark {
+
+  /** Width and height of the generated images in pixels */
+  @Param({"25", "512", "2048"})
+  private int imageSize;
+
+  // Benchmark state
+  private PixelBuffer pixelBuffer;
+  private ImagePanel imagePanel;
+  private BufferedImage copyTarget;
+
+  /**
+   * Generates the flag image once per trial and attaches it to a new panel.
+   *
+   * @return void
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.pixelBuffer = Application.buildFlag(this.imageSize, true);
+    this.imagePanel = new ImagePanel(() -> TransformSnapshot.IDENTITY, this.pixelBuffer);
+    this.copyTarget = new BufferedImage(this.imageSize, this.imageSize,
+      BufferedImage.TYPE_INT_RGB);
+  }
+
+  /**
+   * Benchmark for <code>ImagePanel.buildImage</code>
+   *
+   * @return bufferedImage <code>BufferedImage</code>
+   */
+  @Benchmark
+  public BufferedImage buildImage() {
+    this.imagePanel.buildImage();
+    return this.imagePanel.getBufferedImage();
+  }
+
+  /**
+   * Baseline benchmark copying every pixel into a separate image via <code>setRGB</code>, as
+   * <code>ImagePanel.buildImage</code> originally did.
+   *
+   * @return copyTarget <code>BufferedImage</code>
+   */
+  @Benchmark
+  public BufferedImage setRGBCopy() {
+    for (int y = 0; y < this.imageSize; y++) {
+      for (int x = 0; x < this.imageSize; x++) {
+        this.copyTarget.setRGB(x, y, this.pixelBuffer.getRGB(x, y));
+      }
+    }
+
+    return this.copyTarget;
+  }
+}
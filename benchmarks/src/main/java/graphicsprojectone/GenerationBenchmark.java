@@ -0,0 +1,75 @@
+/**
+ * GenerationBenchmark.java - JMH benchmarks for the procedural image methods
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the time taken by <code>Application.buildFlag</code>,
+ * <code>Application.buildTriangle</code> and <code>Application.buildLetterZ</code> to generate a
+ * complete image, both on the calling thread and split into row bands across the common
+ * <code>ForkJoinPool</code>. Each generated buffer is returned to JMH so that the work is not
+ * eliminated as dead code.
+ *
+ * @see <a href="https://github.com/openjdk/jmh">OpenJDK JMH</a>
+ * @author Andrew Eissen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class GenerationBenchmark {
+
+  /** Width and height of the generated images in pixels */
+  @Param({"25", "512", "2048", "8192"})
+  private int imageSize;
+
+  /** Whether the image methods may fill rows in bands across cores */
+  @Param({"false", "true"})
+  private boolean parallel;
+
+  /**
+   * Benchmark for <code>Application.buildFlag</code>
+   *
+   * @return builtImage <code>PixelBuffer</code>
+   */
+  @Benchmark
+  public PixelBuffer buildFlag() {
+    return Application.buildFlag(this.imageSize, this.parallel);
+  }
+
+  /**
+   * Benchmark for <code>Application.buildTriangle</code>
+   *
+   * @return builtImage <code>PixelBuffer</code>
+   */
+  @Benchmark
+  public PixelBuffer buildTriangle() {
+    return Application.buildTriangle(this.imageSize, this.parallel);
+  }
+
+  /**
+   * Benchmark for <code>Application.buildLetterZ</code>
+   *
+   * @return builtImage <code>PixelBuffer</code>
+   */
+  @Benchmark
+  public PixelBuffer buildLetterZ() {
+    return Application.buildLetterZ(this.imageSize, this.parallel);
+  }
+}
@@ -0,0 +1,115 @@
+/**
+ * KernelBenchmark.java - JMH benchmarks comparing the scalar and SIMD pixel kernels
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures each of the <code>ScalarKernels</code> and <code>VectorKernels</code> pixel
+ * kernels over a single row of a frame, the bilinear kernel sampling a rotated row of a flag.
+ * Before measuring, the two implementations are checked against each other over random inputs,
+ * and the trial fails should they disagree.
+ *
+ * @see <a href="https://github.com/openjdk/jmh">OpenJDK JMH</a>
+ * @author Andrew Eissen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djava.awt.headless=true", "--add-modules",
+  "jdk.incubator.vector"})
+public class KernelBenchmark {
+
+  /** Number of pixels per row */
+  @Param({"64", "1024", "8192"})
+  private int rowLength;
+
+  /** Kernels being measured */
+  @Param({"scalar", "vector"})
+  private String kernelsName;
+
+  // Benchmark state
+  private PixelKernels.Kernels kernels;
+  private PixelBuffer source;
+  private int[] row, copySource;
+  private double[] sourceX, sourceY;
+
+  /**
+   * Builds the kernels, source image, row and sample points. That both kernels agree is checked by
+   * <code>VectorKernelsTest</code> in the application module.
+   *
+   * @return void
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+
+    // Declarations
+    double angle;
+
+    // Definitions
+    this.kernels = ("vector".equals(this.kernelsName)) ? new VectorKernels() : new ScalarKernels();
+    this.source = Application.buildFlag(512, true);
+    this.row = new int[this.rowLength];
+    this.copySource = new Random(1).ints(this.rowLength).toArray();
+    this.sourceX = new double[this.rowLength];
+    this.sourceY = new double[this.rowLength];
+    angle = 0.3;
+
+    for (int x = 0; x < this.rowLength; x++) {
+      this.sourceX[x] = 256 + (x - this.rowLength / 2) * 0.5 * Math.cos(angle);
+      this.sourceY[x] = 256 + (x - this.rowLength / 2) * 0.5 * Math.sin(angle);
+    }
+  }
+
+  /**
+   * Benchmark for <code>PixelKernels.Kernels.fill</code>
+   *
+   * @return row <code>int[]</code>
+   */
+  @Benchmark
+  public int[] fill() {
+    this.kernels.fill(this.row, 0, this.rowLength, 0xFF00FF00);
+    return this.row;
+  }
+
+  /**
+   * Benchmark for <code>PixelKernels.Kernels.copy</code>
+   *
+   * @return row <code>int[]</code>
+   */
+  @Benchmark
+  public int[] copy() {
+    this.kernels.copy(this.copySource, 0, this.row, 0, this.rowLength);
+    return this.row;
+  }
+
+  /**
+   * Benchmark for <code>PixelKernels.Kernels.sampleBilinear</code>
+   *
+   * @return row <code>int[]</code>
+   */
+  @Benchmark
+  public int[] sampleBilinear() {
+    this.kernels.sampleBilinear(this.source.getPixels(), this.source.getWidth(),
+      this.source.getHeight(), this.sourceX, this.sourceY, 0, this.rowLength, this.row, 0);
+    return this.row;
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * PaintBenchmark.java - JMH benchmarks for headless painting of an <code>ImagePanel</code>
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures <code>ImagePanel.paintComponent</code> for every step of the cycle performed
+ * by the application's transformation script. No window is opened; instead, the panel is
+ * sized by hand and painted into the <code>Graphics2D</code> of an offscreen
+ * <code>BufferedImage</code> the size of the default application window.
+ * <br />
+ * <br />
+ * For each step, the panel is painted at the compiled keyframe of that step, exactly as published
+ * by <code>Simulation</code> by the time the panel is painted.
+ *
+ * @see <a href="https://github.com/openjdk/jmh">OpenJDK JMH</a>
+ * @author Andrew Eissen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class PaintBenchmark {
+
+  /** Dimensions of the offscreen target, matching the default application window */
+  private static final int TARGET_WIDTH = 640;
+  private static final int TARGET_HEIGHT = 480;
+
+  /** Width and height of the generated images in pixels */
+  @Param({"25", "512", "2048"})
+  private int imageSize;
+
+  /** Frame of the transformation cycle being painted */
+  @Param({"0", "1", "2", "3", "4"})
+  private int step;
+
+  // Benchmark state
+  private TransformSnapshot snapshot;
+  private ImagePanel imagePanel;
+  private BufferedImage target;
+  private Graphics2D graphics;
+
+  /**
+   * Builds the transform for the current step, the panel, and the offscreen target.
+   *
+   * @return void
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.snapshot = Application.loadTransformScript().getFrame(this.step);
+    this.imagePanel = new ImagePanel(() -> this.snapshot,
+      Application.buildFlag(this.imageSize, true));
+    this.imagePanel.setBackground(Color.WHITE);
+    this.imagePanel.setSize(PaintBenchmark.TARGET_WIDTH, PaintBenchmark.TARGET_HEIGHT);
+
+    this.target = new BufferedImage(PaintBenchmark.TARGET_WIDTH, PaintBenchmark.TARGET_HEIGHT,
+      BufferedImage.TYPE_INT_RGB);
+    this.graphics = this.target.createGraphics();
+  }
+
+  /**
+   * Releases the offscreen <code>Graphics2D</code>.
+   *
+   * @return void
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    this.graphics.dispose();
+  }
+
+  /**
+   * Benchmark for <code>ImagePanel.paintComponent</code>
+   *
+   * @return target <code>BufferedImage</code>
+   */
+  @Benchmark
+  public BufferedImage paintComponent() {
+    this.imagePanel.paintComponent(this.graphics);
+    return this.target;
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * RasterizeBenchmark.java - JMH benchmarks for the software affine rasterizer
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.geom.AffineTransform;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures <code>AffineRasterizer.rasterize</code> for every step of the cycle performed
+ * by the application's transformation script, using the same view transform as
+ * <code>ImagePanel.paintComponent</code>. The destination is sized to fit the image at twice its
+ * size so that the whole transformed image is rasterized at each step.
+ *
+ * @see <a href="https://github.com/openjdk/jmh">OpenJDK JMH</a>
+ * @author Andrew Eissen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class RasterizeBenchmark {
+
+  /** Width and height of the generated images in pixels */
+  @Param({"25", "512", "2048"})
+  private int imageSize;
+
+  /** Frame of the transformation cycle being rasterized */
+  @Param({"0", "1", "2", "3", "4"})
+  private int step;
+
+  /** Sampling method used by the rasterizer */
+  @Param({"NEAREST", "BILINEAR"})
+  private String samplingName;
+
+  /** Whether destination rows may be rasterized in bands across cores */
+  @Param({"false", "true"})
+  private boolean parallel;
+
+  // Benchmark state
+  private AffineRasterizer.Sampling sampling;
+  private PixelBuffer source;
+  private RunLengthImage runs;
+  private PixelBuffer destination;
+  private AffineTransform viewTransform;
+
+  /**
+   * Builds the source image, destination and view transform for the current step.
+   *
+   * @return void
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+
+    // Declarations
+    AffineTransform affineTransform;
+
+    // Definitions
+    affineTransform = Application.loadTransformScript().getFrame(this.step).toAffineTransform();
+
+    this.sampling = AffineRasterizer.Sampling.valueOf(this.samplingName);
+    this.source = Application.buildFlag(this.imageSize, true);
+    this.runs = Application.buildFlagRuns(this.imageSize);
+    this.destination = new PixelBuffer(2 * this.imageSize + 40, 2 * this.imageSize + 40);
+    this.viewTransform = ImagePanel.createViewTransform(this.destination.getWidth(),
+      this.destination.getHeight(), this.imageSize, this.imageSize, affineTransform);
+  }
+
+  /**
+   * Benchmark for <code>AffineRasterizer.rasterize</code>
+   *
+   * @return destination <code>PixelBuffer</code>
+   */
+  @Benchmark
+  public PixelBuffer rasterize() {
+    AffineRasterizer.rasterize(this.source, this.destination, this.viewTransform, this.sampling,
+      this.parallel);
+    return this.destination;
+  }
+
+  /**
+   * Benchmark for <code>AffineRasterizer.rasterize</code> drawing the run-length encoded flag
+   *
+   * @return destination <code>PixelBuffer</code>
+   */
+  @Benchmark
+  public PixelBuffer rasterizeRunLength() {
+    AffineRasterizer.rasterize(this.runs, this.destination, this.viewTransform, this.sampling,
+      this.parallel);
+    return this.destination;
+  }
+}
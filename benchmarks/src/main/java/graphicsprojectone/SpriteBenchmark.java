@@ -0,0 +1,96 @@
+/**
+ * SpriteBenchmark.java - JMH benchmarks for the instanced sprite renderer
+ * Begun 10/17/26
+ * @author Andrew Eissen
+ */
+package graphicsprojectone;
+
+import java.awt.Color;
+import java.awt.geom.AffineTransform;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures <code>SpriteBatch</code> drawing many instances of the three images into a
+ * single 1280 x 720 frame, each instance at its own step of the application's transformation
+ * cycle as laid out by <code>SpriteBatch.arrange</code>.
+ *
+ * @see <a href="https://github.com/openjdk/jmh">OpenJDK JMH</a>
+ * @author Andrew Eissen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class SpriteBenchmark {
+
+  /** Number of instances drawn */
+  @Param({"10000", "100000"})
+  private int instances;
+
+  /** Sampling method used for every instance */
+  @Param({"NEAREST", "BILINEAR"})
+  private String samplingName;
+
+  /** Whether bands of rows may be drawn across cores */
+  @Param({"false", "true"})
+  private boolean parallel;
+
+  // Benchmark state
+  private AffineRasterizer.Sampling sampling;
+  private AffineTransform[] cycle;
+  private SpriteBatch batch;
+  private PixelBuffer destination;
+
+  /**
+   * Builds the images, the batch and the destination, and lays the instances out.
+   *
+   * @return void
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.sampling = AffineRasterizer.Sampling.valueOf(this.samplingName);
+    this.cycle = Application.loadTransformScript().toAffineTransforms();
+    this.batch = new SpriteBatch(Application.loadImages(25), this.instances);
+    this.batch.setCount(this.instances);
+    this.destination = new PixelBuffer(1280, 720);
+    this.batch.arrange(this.cycle, 0, this.destination.getWidth(),
+      this.destination.getHeight());
+  }
+
+  /**
+   * Benchmark for <code>SpriteBatch.arrange</code>
+   *
+   * @return batch <code>SpriteBatch</code>
+   */
+  @Benchmark
+  public SpriteBatch arrange() {
+    this.batch.arrange(this.cycle, 1, this.destination.getWidth(),
+      this.destination.getHeight());
+    return this.batch;
+  }
+
+  /**
+   * Benchmark for <code>SpriteBatch.render</code>
+   *
+   * @return destination <code>PixelBuffer</code>
+   */
+  @Benchmark
+  public PixelBuffer render() {
+    this.batch.render(this.destination, Color.WHITE, this.sampling, this.parallel);
+    return this.destination;
+  }
+}